@@ -17,18 +17,103 @@
 package net.astromc.libreui.api;
 
 import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.live.LiveBook;
+import net.astromc.libreui.api.book.variant.LocalizedBook;
+import net.astromc.libreui.api.book.variant.VariantBook;
+import net.astromc.libreui.api.book.virtual.VirtualBook;
 import org.bukkit.entity.Player;
 
+import java.util.Optional;
+
 /**
  * LibreUI service
  */
 public interface LibreUI {
     /**
      * Displays the specified <tt>book</tt> object to the
-     * given <tt>player</tt>.
+     * given <tt>player</tt>. If the book has pending lazy
+     * pages, they are fetched concurrently first, and the book
+     * is displayed on the main thread once they are done.
      *
      * @param player player displaying the book to
      * @param book   the book being displayed
      */
     void openBook(Player player, Book book);
+
+    /**
+     * Displays the current snapshot of the specified <tt>book</tt>
+     * to the given <tt>player</tt>. The player is tracked as a viewer
+     * of the live book, and whenever the book renders a new snapshot
+     * with different content, it is re-sent to the player, for as
+     * long as the player is considered to be viewing it, and at most
+     * for the configured maximum viewing time.
+     *
+     * @param player player displaying the book to
+     * @param book   the live book being displayed
+     */
+    void openBook(Player player, LiveBook book);
+
+    /**
+     * Stops re-sending the live book last displayed to the given
+     * <tt>player</tt>, as the client does not report closing a book.
+     * This should be invoked once the player is known to have closed
+     * the book, or before the player is shown something else.
+     *
+     * @param player player no longer viewing a live book
+     */
+    void stopViewingLiveBook(Player player);
+
+    /**
+     * Displays the variant of the specified <tt>book</tt> for the
+     * given <tt>player</tt>, as resolved by {@link VariantBook#resolve(Player)}.
+     *
+     * @param player player displaying the book to
+     * @param book   the variant book being displayed
+     */
+    void openBook(Player player, VariantBook<?> book);
+
+    /**
+     * Displays the specified <tt>book</tt> translated to the client
+     * locale of the given <tt>player</tt>, as resolved by {@link
+     * LocalizedBook#resolve(Player)}.
+     *
+     * @param player player displaying the book to
+     * @param book   the localized book being displayed
+     */
+    void openBook(Player player, LocalizedBook book);
+
+    /**
+     * Displays the first window of the specified virtual <tt>book</tt>
+     * to the given <tt>player</tt>.
+     *
+     * @param player player displaying the book to
+     * @param book   the virtual book being displayed
+     */
+    void openBook(Player player, VirtualBook<?> book);
+
+    /**
+     * Displays the specified <tt>window</tt> of the virtual <tt>book</tt>
+     * to the given <tt>player</tt>, as returned by {@link
+     * VirtualBook#getWindow(int)}.
+     *
+     * @param player player displaying the book to
+     * @param book   the virtual book being displayed
+     * @param window the index of the window being displayed
+     * @throws IndexOutOfBoundsException if the window is out of bounds
+     */
+    void openBook(Player player, VirtualBook<?> book, int window) throws IndexOutOfBoundsException;
+
+    /**
+     * Returns the book defined by the <tt>name</tt> in the book
+     * definition files of LibreUI. Definition files are reloaded
+     * whenever they change, hence the book should be retrieved
+     * again for every open, rather than being held on to. A
+     * {@link Book#copy() copy} of the defined book is returned,
+     * which may be modified freely.
+     *
+     * @param name the name of the book
+     * @return the defined book, or an empty {@link Optional} if
+     * no book is defined by the name
+     */
+    Optional<Book> getDefinedBook(String name);
 }
@@ -16,9 +16,12 @@
 
 package net.astromc.libreui.api.book;
 
+import net.astromc.libreui.api.book.page.FrozenComponent;
 import net.astromc.libreui.api.book.page.ImmutablePage;
+import net.astromc.libreui.api.book.page.LazyPage;
 import net.astromc.libreui.api.book.page.Page;
-import net.astromc.libreui.utils.CachedSupplier;
+import net.astromc.libreui.utils.ReleasingCachedSupplier;
+import net.astromc.libreui.utils.ContentHashes;
 import net.md_5.bungee.api.chat.BaseComponent;
 
 import java.util.ArrayList;
@@ -26,6 +29,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
@@ -39,7 +44,11 @@ import static net.astromc.libreui.api.book.BookSerializer.serializeToString;
  * same book object. The JSON representation is lazily
  * generated when requested, if no cache is available.
  * The generated representation will automatically become
- * the new cached value, until it is invalidated.
+ * the new cached value, until it is invalidated. Cached
+ * representations which are not used for a while may be
+ * released, as described by {@link ReleasingCachedSupplier},
+ * as the pages keep holding their own JSON representation,
+ * and the book is generated again by joining them.
  * <p/>
  *
  * All {@link Page}s added to this book will implicitly
@@ -49,6 +58,28 @@ import static net.astromc.libreui.api.book.BookSerializer.serializeToString;
  * and retain proper cache invalidation.
  * <p/>
  *
+ * {@link LazyPage}s are the exception, as they are not modifiable,
+ * and are added as they are. While a book has pending lazy pages,
+ * its JSON representation is not cached, as it would contain the
+ * placeholders. The pending pages are fetched concurrently by
+ * {@link Book#fetchPendingPages()}. Lazy pages resolved since they
+ * were accounted are accounted again by their fetched content, and
+ * validated against the limits, the next time the book is used, so
+ * the content hash and the size of the book always reflect the pages
+ * it displays. A fetched page exceeding the limits is replaced by its
+ * placeholder in the book, rather than rejecting the modification.
+ * <p/>
+ *
+ * The encoded size of the book is accounted incrementally, and
+ * every modification is validated against the {@link BookLimits} of the
+ * book, without serializing the book. The limits are specified when the
+ * book is built, and default to the {@link BookLimits#current() current}
+ * limits at that time. Modifications
+ * exceeding the limits are rejected with an {@link IllegalStateException},
+ * leaving the book unchanged. Lazy pages are accounted by the size of
+ * the page they display, as described below.
+ * <p/>
+ *
  * All modification operations such as adding, removing,
  * or modifying pages will effectively invalidate the JSON
  * representation of this book. Modifying pages in this
@@ -64,6 +95,20 @@ import static net.astromc.libreui.api.book.BookSerializer.serializeToString;
  * in this class specification.
  * <p/>
  *
+ * Books are equal if they contain equal pages in the same order.
+ * A 64-bit content hash, the sum of the page hashes mixed with their
+ * positions, is maintained incrementally on every modification, see
+ * {@link ContentHashes#mix(long, int)}. Appending, setting and removing
+ * the last page updates it in constant time, while inserting or removing
+ * other pages re-mixes the pages after it. As books are mutable, a book
+ * must not be modified while it is used as a key.
+ * <p/>
+ *
+ * Multiple modifications may be applied as a single transaction,
+ * using {@link Book#edit(Consumer)}, which serializes every modified
+ * page once, and invalidates the book once.
+ * <p/>
+ *
  * Methods modifying the structure of this book, or its
  * contained {@link Page}s has a Builder like syntax,
  * returning the same book object. This is to allow chained
@@ -79,11 +124,35 @@ import static net.astromc.libreui.api.book.BookSerializer.serializeToString;
  */
 public final class Book {
     private final List<Page> pages;
+    private final BookLimits limits;
+
+    private final ReleasingCachedSupplier<String> serialised = ReleasingCachedSupplier.of(() -> serializeToString(this));
+
+    /**
+     * Whether this book may contain unresolved {@link LazyPage}s.
+     * Set when a lazy page is added, and cleared once no pending
+     * pages are found, as lazy pages never become pending again.
+     */
+    private boolean mayHavePendingPages;
+
+    /**
+     * The encoded lengths of the pages, as accounted when they
+     * were assigned, by the same indexes as the pages.
+     */
+    private final List<Integer> pageLengths = new ArrayList<>();
+    private long pagesEncodedLength;
 
-    private final CachedSupplier<String> serialised = CachedSupplier.of(() -> serializeToString(this));
+    /**
+     * The content hashes of the pages, as accounted when they were
+     * assigned, or when their lazy pages were last accounted, by the
+     * same indexes as the pages.
+     */
+    private final List<Long> pageHashes = new ArrayList<>();
+    private long contentHash;
 
-    private Book(List<Page> pages) {
+    private Book(List<Page> pages, BookLimits limits) {
         this.pages = pages;
+        this.limits = limits;
     }
 
     /**
@@ -91,10 +160,21 @@ public final class Book {
      *
      * @param page page to added
      * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
      */
-    public Book addPage(Page page) {
-        Page assignedPage = page.immutableCopy();
+    public Book addPage(Page page) throws IllegalStateException {
+        Page assignedPage = this.assign(page);
+        int length = assignedPage.getEncodedLength();
+
+        this.checkPageLimits(length);
+        this.checkLimits(this.pages.size() + 1, this.pagesEncodedLength + length);
+
+        long pageHash = assignedPage.getContentHash();
+        this.contentHash += ContentHashes.mix(pageHash, this.pages.size());
         this.pages.add(assignedPage);
+        this.pageHashes.add(pageHash);
+        this.pageLengths.add(length);
+        this.pagesEncodedLength += length;
 
         this.invalidateCache();
         return this;
@@ -105,23 +185,42 @@ public final class Book {
      *
      * @param pages pages to add
      * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
      */
-    public Book addPages(Page... pages) {
-        boolean modified = false;
+    public Book addPages(Page... pages) throws IllegalStateException {
+        if (pages.length == 0) {
+            return this;
+        }
+
+        List<Page> assignedPages = new ArrayList<>(pages.length);
+        List<Integer> lengths = new ArrayList<>(pages.length);
+        long addedLength = 0;
 
         for (Page page : pages) {
             Objects.requireNonNull(page, "page");
 
-            Page assignedPage = page.immutableCopy();
-            this.pages.add(assignedPage);
+            Page assignedPage = this.assign(page);
+            int length = assignedPage.getEncodedLength();
 
-            modified = true;
+            this.checkPageLimits(length);
+            assignedPages.add(assignedPage);
+            lengths.add(length);
+            addedLength += length;
         }
 
-        if (modified) {
-            this.invalidateCache();
+        this.checkLimits(this.pages.size() + assignedPages.size(), this.pagesEncodedLength + addedLength);
+
+        for (Page assignedPage : assignedPages) {
+            long pageHash = assignedPage.getContentHash();
+            this.contentHash += ContentHashes.mix(pageHash, this.pages.size());
+            this.pages.add(assignedPage);
+            this.pageHashes.add(pageHash);
         }
 
+        this.pageLengths.addAll(lengths);
+        this.pagesEncodedLength += addedLength;
+
+        this.invalidateCache();
         return this;
     }
 
@@ -144,10 +243,22 @@ public final class Book {
      * @param index index to insert at
      * @param page page inserted
      * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
      */
-    public Book insertPage(int index, Page page) {
-        Page assignedPage = page.immutableCopy();
+    public Book insertPage(int index, Page page) throws IllegalStateException {
+        Page assignedPage = this.assign(page);
+        int length = assignedPage.getEncodedLength();
+
+        this.checkPageLimits(length);
+        this.checkLimits(this.pages.size() + 1, this.pagesEncodedLength + length);
+
+        long pageHash = assignedPage.getContentHash();
         this.pages.add(index, assignedPage);
+        this.pageHashes.add(index, pageHash);
+        this.remixContentHash(index + 1, -1);
+        this.contentHash += ContentHashes.mix(pageHash, index);
+        this.pageLengths.add(index, length);
+        this.pagesEncodedLength += length;
 
         this.invalidateCache();
         return this;
@@ -161,6 +272,10 @@ public final class Book {
      */
     public Book removePage(int index) {
         this.pages.remove(index);
+        this.pagesEncodedLength -= this.pageLengths.remove(index);
+
+        this.contentHash -= ContentHashes.mix(this.pageHashes.remove(index), index);
+        this.remixContentHash(index, 1);
 
         this.invalidateCache();
         return this;
@@ -172,10 +287,11 @@ public final class Book {
      * @param index index to assign the page
      * @param page the page being set
      * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
      */
-    public Book setPage(int index, Page page) {
-        Page assignedPage = page.immutableCopy();
-        this.pages.set(index, assignedPage);
+    public Book setPage(int index, Page page) throws IllegalStateException {
+        Page assignedPage = this.assign(page);
+        this.replacePage(index, assignedPage);
 
         this.invalidateCache();
         return this;
@@ -183,20 +299,77 @@ public final class Book {
 
     /**
      * Modifies the page at <tt>index</tt> using the <tt>componentOperator</tt>.
+     * The operator is given a mutable copy of the page component, and the
+     * component it returns is adopted by the new page without copying,
+     * hence it must not be modified afterwards.
      *
      * @param index the index of the page
      * @param componentOperator the component operator
      * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
      */
-    public Book modifyPage(int index, UnaryOperator<BaseComponent> componentOperator) {
+    public Book modifyPage(int index, UnaryOperator<BaseComponent> componentOperator) throws IllegalStateException {
         Page page = this.pages.get(index);
 
         BaseComponent pageComponent = page.getBackingComponent();
         BaseComponent modifiedComponent = componentOperator.apply(pageComponent);
 
-        Page assignedPage = ImmutablePage.newInstanceFromComponent(modifiedComponent);
+        Page assignedPage = ImmutablePage.newInstance(FrozenComponent.adopt(modifiedComponent));
+
+        this.replacePage(index, assignedPage);
+
+        this.invalidateCache();
+        return this;
+    }
+
+    /**
+     * Applies the modifications recorded by the <tt>editor</tt> as a
+     * single transaction, as described by {@link BookEditor}. Modified
+     * pages are serialized once, and the cached JSON representation is
+     * invalidated once, when the transaction is committed.
+     *
+     * @param editor the editor recording the modifications
+     * @return this book instance
+     * @throws IllegalStateException if the book would exceed its limits
+     */
+    public Book edit(Consumer<BookEditor> editor) throws IllegalStateException {
+        this.accountResolvedPages();
+
+        BookEditor bookEditor = new BookEditor(this.pages, this.pageLengths);
+        editor.accept(bookEditor);
+
+        List<Page> pages = bookEditor.commit();
+        List<Integer> lengths = new ArrayList<>(pages.size());
+        List<Long> hashes = new ArrayList<>(pages.size());
+        long pagesEncodedLength = 0;
+        long contentHash = 0;
+
+        for (int index = 0; index < pages.size(); index++) {
+            Page page = pages.get(index);
+            int length = bookEditor.getEncodedLength(index);
+            long pageHash = page.getContentHash();
+
+            if (page instanceof LazyPage) {
+                this.mayHavePendingPages = true;
+            }
+
+            this.checkPageLimits(length);
+            lengths.add(length);
+            hashes.add(pageHash);
+            pagesEncodedLength += length;
+            contentHash += ContentHashes.mix(pageHash, index);
+        }
+
+        this.checkLimits(pages.size(), pagesEncodedLength);
 
-        this.pages.set(index, assignedPage);
+        this.pages.clear();
+        this.pages.addAll(pages);
+        this.pageLengths.clear();
+        this.pageLengths.addAll(lengths);
+        this.pageHashes.clear();
+        this.pageHashes.addAll(hashes);
+        this.pagesEncodedLength = pagesEncodedLength;
+        this.contentHash = contentHash;
 
         this.invalidateCache();
         return this;
@@ -221,10 +394,325 @@ public final class Book {
         return pages.get(index);
     }
 
+    /**
+     * Returns the number of pages in this book.
+     *
+     * @return the number of pages
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Returns a copy of this book, holding the same immutable pages,
+     * which may be modified without affecting this book. The pages are
+     * neither copied, nor validated again, and the accounted size and
+     * content hash are copied along, so nothing is serialized.
+     *
+     * @return a copy of this book
+     */
+    public Book copy() {
+        this.accountResolvedPages();
+
+        Book copy = new Book(new ArrayList<>(this.pages), this.limits);
+        copy.mayHavePendingPages = this.mayHavePendingPages;
+        copy.pageLengths.addAll(this.pageLengths);
+        copy.pagesEncodedLength = this.pagesEncodedLength;
+        copy.pageHashes.addAll(this.pageHashes);
+        copy.contentHash = this.contentHash;
+
+        return copy;
+    }
+
+    /**
+     * Returns the {@link BookLimits} this book is validated against.
+     *
+     * @return the limits of this book
+     */
+    public BookLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns the UTF-8 encoded length of the JSON representation
+     * of this book, as accounted incrementally, without serializing
+     * the book.
+     *
+     * @return the encoded length of this book in bytes
+     */
+    public long getEncodedLength() {
+        this.accountResolvedPages();
+        return BookSerializer.getEncodedLength(this.pages.size(), this.pagesEncodedLength);
+    }
+
+    /**
+     * Returns the 64-bit content hash of this book, which is
+     * maintained incrementally as described in the class documentation.
+     *
+     * @return the content hash of this book
+     */
+    public long getContentHash() {
+        this.accountResolvedPages();
+        return this.contentHash;
+    }
+
+    /**
+     * Returns whether the <tt>obj</tt> is a book containing
+     * equal pages in the same order. The content hashes are
+     * compared first, so unequal books are rejected in constant time.
+     *
+     * @param obj the object being compared
+     * @return true if the object is an equal book
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof Book)) {
+            return false;
+        }
+
+        Book other = (Book) obj;
+        return this.getContentHash() == other.getContentHash()
+                && this.pages.size() == other.pages.size()
+                && this.pages.equals(other.pages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.getContentHash());
+    }
+
     public String getJsonRepresentation() {
+        if (this.hasPendingPages()) {
+            return serializeToString(this);
+        }
+
         return this.serialised.get();
     }
 
+    /**
+     * Returns whether this book contains {@link LazyPage}s,
+     * whose content has not been fetched yet.
+     *
+     * @return true if this book has pending pages
+     */
+    public boolean hasPendingPages() {
+        return this.accountResolvedPages();
+    }
+
+    /**
+     * Fetches all pending {@link LazyPage}s of this book concurrently,
+     * as described by {@link LazyPage#fetch()}. The returned future
+     * is completed once every fetch has either completed, failed or
+     * timed out, thus it is bounded by the slowest page rather than
+     * the sum of all pages. The fetched pages are accounted, and
+     * validated against the {@link BookLimits} of this book, the next time
+     * this book is used, such as by {@link Book#getJsonRepresentation()},
+     * so this book is not modified by the threads completing the fetches.
+     *
+     * @return a future completed with this book, once all fetches are done
+     */
+    public CompletableFuture<Book> fetchPendingPages() {
+        if (!this.hasPendingPages()) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        CompletableFuture<?>[] fetches = this.pages.stream()
+                .filter(LazyPage.class::isInstance)
+                .map(LazyPage.class::cast)
+                .filter(page -> !page.isResolved())
+                .map(LazyPage::fetch)
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(fetches).thenApply(ignored -> this);
+    }
+
+    /**
+     * Returns the page assigned to this book for the specified
+     * <tt>page</tt>, which is its immutable copy.
+     *
+     * @param page the page being added
+     * @return the page to assign
+     */
+    private Page assign(Page page) {
+        this.accountResolvedPages();
+
+        if (page instanceof LazyPage) {
+            this.mayHavePendingPages = true;
+        }
+
+        return page.immutableCopy();
+    }
+
+    /**
+     * Replaces the page at <tt>index</tt> with the already assigned
+     * <tt>page</tt>, after validating the resulting size.
+     *
+     * @param index the index of the page
+     * @param page the assigned page
+     */
+    private void replacePage(int index, Page page) {
+        this.accountResolvedPages();
+
+        int length = page.getEncodedLength();
+        long pagesEncodedLength = this.pagesEncodedLength - this.pageLengths.get(index) + length;
+
+        this.checkPageLimits(length);
+        this.checkLimits(this.pages.size(), pagesEncodedLength);
+
+        long pageHash = page.getContentHash();
+        this.pages.set(index, page);
+        this.contentHash += ContentHashes.mix(pageHash, index)
+                - ContentHashes.mix(this.pageHashes.set(index, pageHash), index);
+
+        this.pageLengths.set(index, length);
+        this.pagesEncodedLength = pagesEncodedLength;
+    }
+
+    /**
+     * Accounts the {@link LazyPage}s resolved since they were last
+     * accounted, by the content hash and the encoded length of their
+     * fetched page, and returns whether this book still has pending
+     * pages. A fetched page which would make this book exceed its
+     * {@link BookLimits} is replaced by its placeholder in
+     * this book, as the client would reject the whole book. Nothing
+     * is scanned once no pending pages are found, as lazy pages never
+     * become pending again.
+     *
+     * @return true if this book has pending pages
+     */
+    private boolean accountResolvedPages() {
+        if (!this.mayHavePendingPages) {
+            return false;
+        }
+
+        boolean pending = false;
+        boolean changed = false;
+
+        for (int index = 0; index < this.pages.size(); index++) {
+            Page page = this.pages.get(index);
+
+            if (!(page instanceof LazyPage)) {
+                continue;
+            } else if (!((LazyPage) page).isResolved()) {
+                pending = true;
+                continue;
+            }
+
+            long pageHash = page.getContentHash();
+            int length = page.getEncodedLength();
+
+            if (pageHash == this.pageHashes.get(index) && length == this.pageLengths.get(index)) {
+                continue;
+            }
+
+            long pagesEncodedLength = this.pagesEncodedLength - this.pageLengths.get(index) + length;
+
+            if (!this.isWithinLimits(this.pages.size(), length, pagesEncodedLength)) {
+                page = ((LazyPage) page).getPlaceholder();
+                pageHash = page.getContentHash();
+                length = page.getEncodedLength();
+                pagesEncodedLength = this.pagesEncodedLength - this.pageLengths.get(index) + length;
+
+                this.pages.set(index, page);
+            }
+
+            this.contentHash += ContentHashes.mix(pageHash, index)
+                    - ContentHashes.mix(this.pageHashes.set(index, pageHash), index);
+            this.pageLengths.set(index, length);
+            this.pagesEncodedLength = pagesEncodedLength;
+            changed = true;
+        }
+
+        if (changed) {
+            this.invalidateCache();
+        }
+
+        this.mayHavePendingPages = pending;
+        return pending;
+    }
+
+    /**
+     * Re-mixes the content hashes of the pages from <tt>fromIndex</tt>
+     * after they have been moved, as they were previously mixed with
+     * their index plus <tt>previousOffset</tt>.
+     *
+     * @param fromIndex the index of the first moved page
+     * @param previousOffset the offset of the previous indexes
+     */
+    private void remixContentHash(int fromIndex, int previousOffset) {
+        for (int index = fromIndex; index < this.pages.size(); index++) {
+            long pageHash = this.pageHashes.get(index);
+            this.contentHash += ContentHashes.mix(pageHash, index) - ContentHashes.mix(pageHash, index + previousOffset);
+        }
+    }
+
+    /**
+     * Validates a page of <tt>encodedLength</tt> bytes against the
+     * {@link BookLimits} of this book.
+     *
+     * @param encodedLength the encoded length of the page
+     * @throws IllegalStateException if the page exceeds the limits
+     */
+    private void checkPageLimits(int encodedLength) throws IllegalStateException {
+        if (encodedLength > this.limits.getMaximumPageBytes()) {
+            throw new IllegalStateException(
+                    "JSON formatted Page exceeds max size (" + this.limits.getMaximumPageBytes() + " bytes)");
+        }
+    }
+
+    /**
+     * Validates a book with <tt>pageCount</tt> pages, whose encoded
+     * lengths sum up to <tt>pagesEncodedLength</tt>, against the
+     * {@link BookLimits} of this book.
+     *
+     * @param pageCount the number of pages
+     * @param pagesEncodedLength the sum of the encoded lengths of the pages
+     * @throws IllegalStateException if the book exceeds the limits
+     */
+    private void checkLimits(int pageCount, long pagesEncodedLength) throws IllegalStateException {
+        BookLimits limits = this.limits;
+
+        if (pageCount > limits.getMaximumPages()) {
+            throw new IllegalStateException(
+                    "Book exceeds max pages (" + limits.getMaximumPages() + ")");
+        }
+
+        if (BookSerializer.getEncodedLength(pageCount, pagesEncodedLength) > limits.getMaximumBookBytes()) {
+            throw new IllegalStateException(
+                    "Book exceeds max size (" + limits.getMaximumBookBytes() + " bytes)");
+        }
+
+        BookLimits.NbtAccounting nbtAccounting = limits.getNbtAccounting();
+
+        if (nbtAccounting.getChargedBytes(pageCount, pagesEncodedLength) > nbtAccounting.getMaximumBytes()) {
+            throw new IllegalStateException(
+                    "Book exceeds max NBT size (" + nbtAccounting.getMaximumBytes() + " charged bytes)");
+        }
+    }
+
+    /**
+     * Returns whether a book with <tt>pageCount</tt> pages, whose encoded
+     * lengths sum up to <tt>pagesEncodedLength</tt>, and whose changed
+     * page is <tt>pageEncodedLength</tt> bytes, is within the {@link
+     * BookLimits} of this book.
+     *
+     * @param pageCount the number of pages
+     * @param pageEncodedLength the encoded length of the changed page
+     * @param pagesEncodedLength the sum of the encoded lengths of the pages
+     * @return true if the book is within the limits
+     */
+    private boolean isWithinLimits(int pageCount, int pageEncodedLength, long pagesEncodedLength) {
+        BookLimits limits = this.limits;
+
+        return pageEncodedLength <= limits.getMaximumPageBytes()
+                && pageCount <= limits.getMaximumPages()
+                && BookSerializer.getEncodedLength(pageCount, pagesEncodedLength) <= limits.getMaximumBookBytes()
+                && limits.getNbtAccounting().getChargedBytes(pageCount, pagesEncodedLength)
+                <= limits.getNbtAccounting().getMaximumBytes();
+    }
+
     /**
      * Invalidates the cached JSON representation of this book.
      */
@@ -241,6 +729,7 @@ public final class Book {
     public static class Builder {
         private Page frontPage;
         private List<Page> additionalPages;
+        private BookLimits limits;
 
         /**
          * Constructs a new {@link Book.Builder} with a predefined
@@ -303,6 +792,18 @@ public final class Book {
             return this;
         }
 
+        /**
+         * Sets the {@link BookLimits} the book is validated against,
+         * instead of the {@link BookLimits#current() current} limits.
+         *
+         * @param limits the limits of the book
+         * @return this builder instance
+         */
+        public Builder limits(BookLimits limits) {
+            this.limits = Objects.requireNonNull(limits);
+            return this;
+        }
+
         /**
          * Constructs a new {@link Book} object, with the
          * <tt>frontPage</tt> and <tt>additionalPages</tt> of
@@ -310,15 +811,13 @@ public final class Book {
          * is converted to immutable copies.
          *
          * @return a new {@link Book} object
+         * @throws IllegalStateException if the book exceeds its {@link BookLimits}
          */
-        public Book build() {
-            List<Page> pages = new ArrayList<>();
-
-            pages.add(this.frontPage);
-            pages.addAll(this.additionalPages);
+        public Book build() throws IllegalStateException {
+            Book book = new Book(new ArrayList<>(), this.limits != null ? this.limits : BookLimits.current());
 
-            Book book = new Book(pages);
-            book.pages.replaceAll(Page::immutableCopy);
+            book.addPage(this.frontPage);
+            book.addPages(this.additionalPages.toArray(new Page[this.additionalPages.size()]));
 
             return book;
         }
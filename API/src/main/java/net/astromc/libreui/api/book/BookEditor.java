@@ -0,0 +1,296 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.FrozenComponent;
+import net.astromc.libreui.api.book.page.ImmutablePage;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.SimplePage;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Records the modifications of a {@link Book} edit transaction,
+ * started by {@link Book#edit(java.util.function.Consumer)}. Unlike
+ * the page modification methods of the book, the editor does not
+ * serialize the modified pages, nor invalidate the book, until the
+ * transaction is committed.
+ * <p/>
+ *
+ * Modifications to the same page are therefore collapsed, only the
+ * final content of every modified page is serialized, once, when the
+ * transaction is committed. When many pages are modified, they are
+ * serialized in parallel. The limits of the book are validated at
+ * commit, and a transaction exceeding them leaves the book unchanged.
+ * <p/>
+ *
+ * An editor may only be used by the thread running the transaction,
+ * and not after the transaction has been committed.
+ */
+public final class BookEditor {
+    /**
+     * The number of modified pages, from which the pages are
+     * serialized in parallel when the transaction is committed.
+     */
+    private static final int PARALLEL_SERIALIZATION_THRESHOLD = 16;
+
+    private final List<Slot> slots;
+    private boolean committed;
+
+    /**
+     * Constructs a new <tt>BookEditor</tt> starting from the already
+     * assigned <tt>pages</tt> of a book, and their accounted lengths.
+     *
+     * @param pages the pages of the book
+     * @param pageLengths the encoded lengths of the pages
+     */
+    BookEditor(List<Page> pages, List<Integer> pageLengths) {
+        this.slots = new ArrayList<>(pages.size());
+
+        for (int index = 0; index < pages.size(); index++) {
+            this.slots.add(Slot.assigned(pages.get(index), pageLengths.get(index)));
+        }
+    }
+
+    /**
+     * Returns the number of pages of the book, including
+     * the modifications recorded so far.
+     *
+     * @return the number of pages
+     */
+    public int getPageCount() {
+        this.checkNotCommitted();
+        return this.slots.size();
+    }
+
+    /**
+     * Adds a new <tt>page</tt> at the end of the book.
+     *
+     * @param page page to add
+     * @return this editor instance
+     */
+    public BookEditor addPage(Page page) {
+        this.checkNotCommitted();
+        this.slots.add(Slot.of(page));
+        return this;
+    }
+
+    /**
+     * Inserts a <tt>page</tt> at the given <tt>index</tt>.
+     *
+     * @param index index to insert at
+     * @param page page inserted
+     * @return this editor instance
+     */
+    public BookEditor insertPage(int index, Page page) {
+        this.checkNotCommitted();
+        this.slots.add(index, Slot.of(page));
+        return this;
+    }
+
+    /**
+     * Removes a <tt>page</tt> at the given <tt>index</tt>.
+     *
+     * @param index index of page
+     * @return this editor instance
+     */
+    public BookEditor removePage(int index) {
+        this.checkNotCommitted();
+        this.slots.remove(index);
+        return this;
+    }
+
+    /**
+     * Sets a <tt>page</tt> at the given <tt>index</tt>, replacing
+     * any modification previously recorded for the index.
+     *
+     * @param index index to assign the page
+     * @param page the page being set
+     * @return this editor instance
+     */
+    public BookEditor setPage(int index, Page page) {
+        this.checkNotCommitted();
+        this.slots.set(index, Slot.of(page));
+        return this;
+    }
+
+    /**
+     * Modifies the page at <tt>index</tt> using the <tt>componentOperator</tt>.
+     * The operator is given a mutable copy of the page component, or the
+     * component returned by a previous operator for the same index, and the
+     * component it returns is adopted by the page, hence it must not be
+     * modified afterwards.
+     *
+     * @param index the index of the page
+     * @param componentOperator the component operator
+     * @return this editor instance
+     */
+    public BookEditor modifyPage(int index, UnaryOperator<BaseComponent> componentOperator) {
+        this.checkNotCommitted();
+
+        BaseComponent component = this.slots.get(index).toMutableComponent();
+        BaseComponent modifiedComponent = Objects.requireNonNull(componentOperator.apply(component), "component");
+
+        this.slots.set(index, Slot.modified(modifiedComponent));
+        return this;
+    }
+
+    /**
+     * Commits the transaction, serializing every modified page once,
+     * and returns the resulting pages of the book. The accounted lengths
+     * of the pages are returned by {@link BookEditor#getEncodedLength(int)}.
+     *
+     * @return the pages of the book, as assigned pages
+     * @throws IllegalStateException if a modified page exceeds its limits
+     */
+    List<Page> commit() throws IllegalStateException {
+        this.checkNotCommitted();
+        this.committed = true;
+
+        Page[] pages = new Page[this.slots.size()];
+        int modifiedPages = 0;
+
+        for (int index = 0; index < pages.length; index++) {
+            Slot slot = this.slots.get(index);
+
+            if (slot.page != null) {
+                pages[index] = slot.page;
+            } else {
+                modifiedPages++;
+            }
+        }
+
+        IntStream indexes = IntStream.range(0, pages.length)
+                .filter(index -> pages[index] == null);
+
+        if (modifiedPages >= PARALLEL_SERIALIZATION_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+
+        indexes.forEach(index -> pages[index] = this.slots.get(index).toPage());
+
+        for (int index = 0; index < pages.length; index++) {
+            if (this.slots.get(index).page == null) {
+                this.slots.set(index, Slot.assigned(pages[index], pages[index].getEncodedLength()));
+            }
+        }
+
+        return Arrays.asList(pages);
+    }
+
+    /**
+     * Returns the accounted length of the committed page at <tt>index</tt>.
+     * Pages which were not modified keep the length accounted by the book.
+     *
+     * @param index the index of the page
+     * @return the encoded length of the page
+     */
+    int getEncodedLength(int index) {
+        return this.slots.get(index).length;
+    }
+
+    private void checkNotCommitted() throws IllegalStateException {
+        if (this.committed) {
+            throw new IllegalStateException("Book edit has already been committed");
+        }
+    }
+
+    /**
+     * A page of the edited book, which is either an assigned page,
+     * or a modified page, which is serialized at commit. Modified pages
+     * are held as a frozen component when set from a {@link SimplePage},
+     * which is shared rather than copied, or as a component owned by
+     * the editor when modified by an operator.
+     */
+    private static final class Slot {
+        private final Page page;
+        private final int length;
+        private final FrozenComponent frozenComponent;
+        private final BaseComponent component;
+
+        private Slot(Page page, int length, FrozenComponent frozenComponent, BaseComponent component) {
+            this.page = page;
+            this.length = length;
+            this.frozenComponent = frozenComponent;
+            this.component = component;
+        }
+
+        /**
+         * Returns a component of this page, which may be modified.
+         *
+         * @return a mutable component of the page
+         */
+        private BaseComponent toMutableComponent() {
+            if (this.page != null) {
+                return this.page.getBackingComponent();
+            } else if (this.frozenComponent != null) {
+                return this.frozenComponent.thaw();
+            }
+
+            return this.component;
+        }
+
+        /**
+         * Returns the assigned page of this slot, serializing it if modified.
+         *
+         * @return the assigned page
+         */
+        private Page toPage() {
+            if (this.page != null) {
+                return this.page;
+            } else if (this.frozenComponent != null) {
+                return ImmutablePage.newInstance(this.frozenComponent);
+            }
+
+            return ImmutablePage.newInstance(FrozenComponent.adopt(this.component));
+        }
+
+        private static Slot assigned(Page page, int length) {
+            return new Slot(page, length, null, null);
+        }
+
+        /**
+         * Returns a slot for a <tt>page</tt> being added to the book. Simple
+         * pages are serialized at commit, while other pages are assigned
+         * immediately, as immutable and lazy pages are their own copies.
+         *
+         * @param page the page being added
+         * @return the slot of the page
+         */
+        private static Slot of(Page page) {
+            Objects.requireNonNull(page, "page");
+
+            if (page instanceof SimplePage) {
+                return new Slot(null, 0, page.getFrozenComponent(), null);
+            }
+
+            Page assignedPage = page.immutableCopy();
+            return assigned(assignedPage, assignedPage.getEncodedLength());
+        }
+
+        private static Slot modified(BaseComponent component) {
+            return new Slot(null, 0, null, component);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.Page;
+
+import java.util.Objects;
+
+/**
+ * The size limits of a {@link Book} accepted by the client. Pages
+ * and books are validated against their limits when they are created
+ * or modified, so an oversized book is rejected before it is ever sent.
+ * <p/>
+ *
+ * Both the page and the book limits are measured in UTF-8 encoded
+ * bytes of the JSON representation, see {@link Page#getEncodedLength()}.
+ * As every UTF-16 character encodes to at least one byte, a page within
+ * the byte limit is also within a limit of as many characters, which is
+ * how the client limits the length of a page.
+ * <p/>
+ *
+ * The client also limits the size of the NBT data it reads, which is
+ * not accounted in bytes of the data, but by the estimated heap size
+ * of the read tags, as described by {@link NbtAccounting}. Books are
+ * validated against both limits.
+ * <p/>
+ *
+ * Every {@link Book} is validated against the limits it was built with,
+ * which default to the {@link BookLimits#current() current} limits. The
+ * current limits are set once by the implementation, according to the
+ * server version, when it is loaded.
+ */
+public final class BookLimits {
+    /**
+     * The maximum number of pages of limits which do not cap the
+     * number of pages, only the size of the book.
+     */
+    public static final int UNLIMITED_PAGES = Integer.MAX_VALUE;
+
+    /**
+     * The limits of the oldest supported version, used until
+     * the implementation sets the limits of the server version.
+     */
+    public static final BookLimits DEFAULT = new BookLimits(32767, UNLIMITED_PAGES, 2097152,
+            new NbtAccounting(512, 40, 2, 2097152));
+
+    private static volatile BookLimits current = DEFAULT;
+    private static volatile boolean currentSet;
+
+    private final int maximumPageBytes;
+    private final int maximumPages;
+    private final long maximumBookBytes;
+    private final NbtAccounting nbtAccounting;
+
+    /**
+     * Constructs new <tt>BookLimits</tt>, which do not account
+     * the NBT data of the books.
+     *
+     * @param maximumPageBytes the maximum UTF-8 encoded size of a JSON formatted page
+     * @param maximumPages the maximum number of pages in a book
+     * @param maximumBookBytes the maximum UTF-8 encoded size of a serialized book
+     * @throws IllegalArgumentException if any limit is less than 1
+     */
+    public BookLimits(int maximumPageBytes, int maximumPages, long maximumBookBytes) throws IllegalArgumentException {
+        this(maximumPageBytes, maximumPages, maximumBookBytes, NbtAccounting.NONE);
+    }
+
+    /**
+     * Constructs new <tt>BookLimits</tt>.
+     *
+     * @param maximumPageBytes the maximum UTF-8 encoded size of a JSON formatted page
+     * @param maximumPages the maximum number of pages in a book
+     * @param maximumBookBytes the maximum UTF-8 encoded size of a serialized book
+     * @param nbtAccounting the accounting of the NBT data of a book by the client
+     * @throws IllegalArgumentException if any limit is less than 1
+     */
+    public BookLimits(int maximumPageBytes, int maximumPages, long maximumBookBytes, NbtAccounting nbtAccounting)
+            throws IllegalArgumentException {
+        if (maximumPageBytes < 1) {
+            throw new IllegalArgumentException("maximumPageBytes is < 1");
+        } else if (maximumPages < 1) {
+            throw new IllegalArgumentException("maximumPages is < 1");
+        } else if (maximumBookBytes < 1) {
+            throw new IllegalArgumentException("maximumBookBytes is < 1");
+        }
+
+        this.maximumPageBytes = maximumPageBytes;
+        this.maximumPages = maximumPages;
+        this.maximumBookBytes = maximumBookBytes;
+        this.nbtAccounting = Objects.requireNonNull(nbtAccounting, "nbtAccounting");
+    }
+
+    /**
+     * Returns the maximum UTF-8 encoded size of a JSON formatted {@link Page}.
+     *
+     * @return the maximum page size in bytes
+     */
+    public int getMaximumPageBytes() {
+        return maximumPageBytes;
+    }
+
+    /**
+     * Returns the maximum number of pages in a {@link Book}, which is
+     * {@link BookLimits#UNLIMITED_PAGES} if the number is not capped.
+     *
+     * @return the maximum number of pages
+     */
+    public int getMaximumPages() {
+        return maximumPages;
+    }
+
+    /**
+     * Returns the maximum UTF-8 encoded size of a serialized {@link Book}.
+     *
+     * @return the maximum book size in bytes
+     */
+    public long getMaximumBookBytes() {
+        return maximumBookBytes;
+    }
+
+    /**
+     * Returns the accounting of the NBT data of a {@link Book} by the client.
+     *
+     * @return the NBT accounting
+     */
+    public NbtAccounting getNbtAccounting() {
+        return nbtAccounting;
+    }
+
+    @Override
+    public String toString() {
+        return "BookLimits{"
+                + "maximumPageBytes=" + maximumPageBytes +
+                ", maximumPages=" + (maximumPages == UNLIMITED_PAGES ? "unlimited" : maximumPages) +
+                ", maximumBookBytes=" + maximumBookBytes +
+                ", nbtAccounting=" + nbtAccounting + '}';
+    }
+
+    /**
+     * Returns the limits new pages and books are validated against,
+     * unless other limits are specified.
+     *
+     * @return the current limits
+     */
+    public static BookLimits current() {
+        return current;
+    }
+
+    /**
+     * Sets the limits new pages and books are validated against. This
+     * is intended for the implementation only, which sets the limits of
+     * the server version once, when it is loaded. Existing books keep
+     * the limits they were built with.
+     *
+     * @param limits the new current limits
+     * @throws IllegalStateException if the current limits have already been set
+     */
+    public static synchronized void setCurrent(BookLimits limits) throws IllegalStateException {
+        Objects.requireNonNull(limits, "limits");
+
+        if (currentSet) {
+            throw new IllegalStateException("Current book limits have already been set");
+        }
+
+        current = limits;
+        currentSet = true;
+    }
+
+    /**
+     * The accounting of the NBT data of a written book by the client,
+     * which charges every read tag with an estimate of its heap size,
+     * and disconnects once the charged size exceeds its maximum. A string
+     * tag is charged a fixed overhead, and a cost per character, so a page
+     * of mostly single byte characters is charged about twice its encoded
+     * length, which the UTF-8 byte limits alone do not cover.
+     * <p/>
+     *
+     * The characters of a page tag are bounded by the encoded length of
+     * its JSON representation, as the tag holds the unescaped component
+     * JSON, whose characters each encode to at least one byte. Books are
+     * therefore accounted from their encoded lengths, which never charges
+     * less than the client.
+     */
+    public static final class NbtAccounting {
+        /**
+         * The accounting of clients which do not limit the NBT data.
+         */
+        public static final NbtAccounting NONE = new NbtAccounting(0, 0, 0, Long.MAX_VALUE);
+
+        private final long bookOverheadBytes;
+        private final long pageOverheadBytes;
+        private final long bytesPerCharacter;
+        private final long maximumBytes;
+
+        /**
+         * Constructs a new <tt>NbtAccounting</tt>. All sizes are in the
+         * bytes charged by the client, rather than bytes of the data.
+         *
+         * @param bookOverheadBytes the charged size of the tags other than the pages
+         * @param pageOverheadBytes the charged size of a page tag, regardless of its characters
+         * @param bytesPerCharacter the charged size of a character of a page
+         * @param maximumBytes the maximum charged size of the NBT data
+         * @throws IllegalArgumentException if a size is negative, or the maximum is less than 1
+         */
+        public NbtAccounting(long bookOverheadBytes, long pageOverheadBytes, long bytesPerCharacter, long maximumBytes)
+                throws IllegalArgumentException {
+            if (bookOverheadBytes < 0 || pageOverheadBytes < 0 || bytesPerCharacter < 0) {
+                throw new IllegalArgumentException("charged sizes must be >= 0");
+            } else if (maximumBytes < 1) {
+                throw new IllegalArgumentException("maximumBytes is < 1");
+            }
+
+            this.bookOverheadBytes = bookOverheadBytes;
+            this.pageOverheadBytes = pageOverheadBytes;
+            this.bytesPerCharacter = bytesPerCharacter;
+            this.maximumBytes = maximumBytes;
+        }
+
+        /**
+         * Returns the maximum charged size of the NBT data of a book.
+         *
+         * @return the maximum charged size
+         */
+        public long getMaximumBytes() {
+            return maximumBytes;
+        }
+
+        /**
+         * Returns the size charged by the client for a book with
+         * <tt>pageCount</tt> pages, whose encoded lengths sum up to
+         * <tt>pagesEncodedLength</tt>. The returned size is an upper
+         * bound, as described by {@link NbtAccounting}.
+         *
+         * @param pageCount the number of pages
+         * @param pagesEncodedLength the sum of the encoded lengths of the pages
+         * @return the charged size of the NBT data of the book
+         */
+        public long getChargedBytes(int pageCount, long pagesEncodedLength) {
+            return this.bookOverheadBytes
+                    + this.pageOverheadBytes * pageCount
+                    + this.bytesPerCharacter * pagesEncodedLength;
+        }
+
+        @Override
+        public String toString() {
+            if (this == NONE) {
+                return "none";
+            }
+
+            return "NbtAccounting{"
+                    + "bookOverheadBytes=" + bookOverheadBytes +
+                    ", pageOverheadBytes=" + pageOverheadBytes +
+                    ", bytesPerCharacter=" + bytesPerCharacter +
+                    ", maximumBytes=" + maximumBytes + '}';
+        }
+    }
+}
@@ -17,6 +17,9 @@
 package net.astromc.libreui.api.book;
 
 import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
 
 import java.util.stream.Collectors;
 
@@ -55,6 +58,26 @@ public enum BookSerializer {;
      */
     private static final String PAGES_DELIMITER = ",";
 
+    /**
+     * The UTF-8 encoded length of the formatting scheme, excluding
+     * the pages, which is entirely ASCII.
+     */
+    private static final int BOOK_SERIALIZED_FORMAT_LENGTH = String.format(BOOK_SERIALIZED_FORMAT, "").length();
+
+    /**
+     * Returns the UTF-8 encoded length of a serialized {@link Book}
+     * with <tt>pageCount</tt> pages, whose encoded lengths sum up to
+     * <tt>pagesEncodedLength</tt>, without serializing it.
+     *
+     * @param pageCount the number of pages
+     * @param pagesEncodedLength the sum of the encoded lengths of the pages
+     * @return the encoded length of the serialized book in bytes
+     */
+    public static long getEncodedLength(int pageCount, long pagesEncodedLength) {
+        long delimitersLength = (long) Math.max(0, pageCount - 1) * PAGES_DELIMITER.length();
+        return BOOK_SERIALIZED_FORMAT_LENGTH + delimitersLength + pagesEncodedLength;
+    }
+
     /**
      * Returns a serialized {@link Book} in a JSON-like
      * String format from the specified <tt>book</tt> object.
@@ -63,10 +86,13 @@ public enum BookSerializer {;
      * @return serialized JSON-like String format of the specified book
      */
     public static String serializeToString(Book book) {
+        StageTimer timer = BookOpenProfiling.begin(BookOpenStage.BOOK_SERIALIZATION);
         String pages = book.getPagesAsStream()
                 .map(Page::getJsonRepresentation)
                 .collect(Collectors.joining(PAGES_DELIMITER));
 
-        return String.format(BOOK_SERIALIZED_FORMAT, pages);
+        String jsonRepresentation = String.format(BOOK_SERIALIZED_FORMAT, pages);
+        timer.finish(book, null);
+        return jsonRepresentation;
     }
 }
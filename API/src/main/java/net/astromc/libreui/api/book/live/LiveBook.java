@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.live;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.Page;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A book showing live data. A live book consists of {@link
+ * LivePage}s, which each declare the data they depend on. When
+ * data changes, {@link LiveBook#invalidate(String...)} is invoked
+ * with the names of the changed data, and only the pages depending
+ * on it are rendered again.
+ * <p/>
+ *
+ * The rendered pages are held in a {@link Book} snapshot, which is
+ * replaced, never modified, when pages are rendered again. This makes
+ * it safe to invalidate a live book from any thread, while the current
+ * snapshot is being opened. Update listeners are notified with the live
+ * book after each new snapshot, which is used by LibreUI to re-send the
+ * book to the players currently viewing it.
+ */
+public final class LiveBook {
+    private final List<LivePage> pages;
+    private final Map<String, BitSet> dependents;
+
+    private final List<Consumer<LiveBook>> updateListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Book snapshot;
+
+    private LiveBook(List<LivePage> pages) {
+        this.pages = pages;
+        this.dependents = new HashMap<>();
+
+        for (int i = 0; i < pages.size(); i++) {
+            for (String dependency : pages.get(i).getDependencies()) {
+                this.dependents.computeIfAbsent(dependency, key -> new BitSet()).set(i);
+            }
+        }
+
+        List<Page> renderedPages = new ArrayList<>(pages.size());
+        pages.forEach(page -> renderedPages.add(page.render()));
+
+        this.snapshot = buildSnapshot(renderedPages);
+    }
+
+    /**
+     * Returns the current snapshot of the rendered pages.
+     * The returned book must not be modified.
+     *
+     * @return the current book snapshot
+     */
+    public Book getBook() {
+        return snapshot;
+    }
+
+    /**
+     * Renders the pages depending on any of the specified
+     * <tt>dependencies</tt> again, and replaces the current
+     * snapshot. The update listeners are notified if any
+     * page was rendered.
+     *
+     * @param dependencies the names of the changed data
+     */
+    public void invalidate(String... dependencies) {
+        BitSet dirtyPages = new BitSet();
+
+        for (String dependency : dependencies) {
+            BitSet pageIndexes = this.dependents.get(dependency);
+
+            if (pageIndexes != null) {
+                dirtyPages.or(pageIndexes);
+            }
+        }
+
+        if (dirtyPages.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            Book current = this.snapshot;
+            List<Page> renderedPages = new ArrayList<>(this.pages.size());
+
+            for (int i = 0; i < this.pages.size(); i++) {
+                renderedPages.add(dirtyPages.get(i) ? this.pages.get(i).render() : current.getPage(i));
+            }
+
+            this.snapshot = buildSnapshot(renderedPages);
+        }
+
+        this.updateListeners.forEach(listener -> listener.accept(this));
+    }
+
+    /**
+     * Adds a listener notified with this live book,
+     * whenever a new snapshot has been rendered.
+     *
+     * @param listener the update listener
+     */
+    public void addUpdateListener(Consumer<LiveBook> listener) {
+        this.updateListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes a listener added using {@link LiveBook#addUpdateListener(Consumer)}.
+     *
+     * @param listener the update listener
+     */
+    public void removeUpdateListener(Consumer<LiveBook> listener) {
+        this.updateListeners.remove(listener);
+    }
+
+    private static Book buildSnapshot(List<Page> renderedPages) {
+        return new Book.Builder(renderedPages.get(0))
+                .addPages(renderedPages.subList(1, renderedPages.size()).toArray(new Page[renderedPages.size() - 1]))
+                .build();
+    }
+
+    /**
+     * Creates a new <tt>LiveBook</tt> with the specified
+     * pages, and renders all of them.
+     *
+     * @param frontPage the first page of the book
+     * @param additionalPages the additional pages of the book
+     * @return a new live book
+     */
+    public static LiveBook newInstance(LivePage frontPage, LivePage... additionalPages) {
+        List<LivePage> pages = new ArrayList<>(additionalPages.length + 1);
+
+        pages.add(Objects.requireNonNull(frontPage, "frontPage"));
+        Arrays.stream(additionalPages).map(Objects::requireNonNull).forEach(pages::add);
+
+        return new LiveBook(Collections.unmodifiableList(pages));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.live;
+
+import net.astromc.libreui.api.book.page.Page;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A page of a {@link LiveBook}. A live page is described by
+ * a renderer, which creates the {@link Page} from the current
+ * data, and the names of the data it depends on. Whenever any
+ * of its dependencies is invalidated in the {@link LiveBook},
+ * the page is rendered again.
+ */
+public final class LivePage {
+    private final Supplier<? extends Page> renderer;
+    private final Set<String> dependencies;
+
+    private LivePage(Supplier<? extends Page> renderer, Set<String> dependencies) {
+        this.renderer = renderer;
+        this.dependencies = dependencies;
+    }
+
+    /**
+     * Renders this page from the current data.
+     *
+     * @return the rendered page
+     */
+    public Page render() {
+        return Objects.requireNonNull(renderer.get(), "rendered page");
+    }
+
+    /**
+     * Returns the names of the data this page depends on.
+     *
+     * @return an unmodifiable {@link Set} of dependency names
+     */
+    public Set<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Creates a new <tt>LivePage</tt> rendered by the
+     * <tt>renderer</tt>, which depends on the data named
+     * by the <tt>dependencies</tt>.
+     *
+     * @param renderer the renderer creating the page from the current data
+     * @param dependencies the names of the data the page depends on
+     * @return a new live page
+     */
+    public static LivePage of(Supplier<? extends Page> renderer, String... dependencies) {
+        Objects.requireNonNull(renderer, "renderer");
+        Arrays.stream(dependencies).forEach(Objects::requireNonNull);
+
+        return new LivePage(renderer, Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(dependencies))));
+    }
+
+    /**
+     * Creates a new <tt>LivePage</tt> which always renders
+     * the same <tt>page</tt>, and has no dependencies.
+     *
+     * @param page the static page
+     * @return a new live page without dependencies
+     */
+    public static LivePage ofStatic(Page page) {
+        Page immutablePage = page.immutableCopy();
+        return new LivePage(() -> immutablePage, Collections.emptySet());
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.markup;
+
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.astromc.libreui.utils.ChatColors;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ClickEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A single pass compiler of markup sources into {@link Page}s, as
+ * described by {@link PageMarkup}. The source is lexed using a table
+ * of character classes, and text runs are written directly to a
+ * {@link PageWriter}, hence a source is compiled in linear time.
+ * The scan for the end of a tag stops at the next <tt>&lt;</tt>,
+ * which a tag may not contain, so no character is scanned more than
+ * twice, and the names of the open tags are counted, so closing a tag
+ * which is not open is rejected without scanning the open tags.
+ * A new compiler is used for every source.
+ */
+final class MarkupCompiler {
+    private static final byte CLASS_TEXT = 0;
+    private static final byte CLASS_LEGACY_CODE = 1;
+    private static final byte CLASS_TAG = 2;
+    private static final byte CLASS_ESCAPE = 3;
+
+    /**
+     * The character class of every character below <tt>256</tt>,
+     * all other characters are text.
+     */
+    private static final byte[] CHARACTER_CLASSES = new byte[256];
+
+    /**
+     * The legacy codes, by the character following the section sign.
+     */
+    private static final ChatColor[] LEGACY_CODES = new ChatColor[128];
+
+    /**
+     * The tags which may be opened, by their names. Each tag is
+     * applied to the current style, with its argument, which is
+     * <tt>null</tt> if there is none.
+     */
+    private static final Map<String, BiConsumer<MarkupStyle, String>> TAGS = new HashMap<>();
+
+    private static final String RESET_TAG = "reset";
+    private static final String LINE_BREAK_TAG = "br";
+
+    static {
+        CHARACTER_CLASSES['\u00A7'] = CLASS_LEGACY_CODE;
+        CHARACTER_CLASSES['<'] = CLASS_TAG;
+        CHARACTER_CLASSES['\\'] = CLASS_ESCAPE;
+
+        for (char code : "0123456789abcdefklmnor".toCharArray()) {
+            ChatColor color = ChatColor.getByChar(code);
+            LEGACY_CODES[code] = color;
+            LEGACY_CODES[Character.toUpperCase(code)] = color;
+        }
+
+        for (ChatColor color : ChatColor.values()) {
+            if (!ChatColors.isFormattingCode(color)) {
+                TAGS.put(color.name().toLowerCase(Locale.ROOT), (style, argument) -> style.color = color);
+            }
+        }
+
+        BiConsumer<MarkupStyle, String> bold = (style, argument) -> style.bold = true;
+        BiConsumer<MarkupStyle, String> italic = (style, argument) -> style.italic = true;
+        BiConsumer<MarkupStyle, String> underlined = (style, argument) -> style.underlined = true;
+        BiConsumer<MarkupStyle, String> strikethrough = (style, argument) -> style.strikethrough = true;
+        BiConsumer<MarkupStyle, String> obfuscated = (style, argument) -> style.obfuscated = true;
+
+        TAGS.put("b", bold);
+        TAGS.put("bold", bold);
+        TAGS.put("i", italic);
+        TAGS.put("italic", italic);
+        TAGS.put("u", underlined);
+        TAGS.put("underlined", underlined);
+        TAGS.put("st", strikethrough);
+        TAGS.put("strikethrough", strikethrough);
+        TAGS.put("obf", obfuscated);
+        TAGS.put("obfuscated", obfuscated);
+        TAGS.put("click", MarkupCompiler::applyClick);
+        TAGS.put("hover", MarkupCompiler::applyHover);
+    }
+
+    private final String source;
+    private final PageWriter writer = new PageWriter();
+    private final StringBuilder run = new StringBuilder();
+    private final Deque<OpenTag> openTags = new ArrayDeque<>();
+    private final Map<String, Integer> openTagCounts = new HashMap<>();
+
+    private MarkupStyle style = new MarkupStyle();
+    private boolean written;
+
+    private MarkupCompiler(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Compiles the markup <tt>source</tt> into a {@link Page}.
+     *
+     * @param source the markup source
+     * @return the compiled page
+     * @throws IllegalStateException if the page exceeds the maximum page size
+     */
+    static Page compile(String source) throws IllegalStateException {
+        return new MarkupCompiler(source).compile();
+    }
+
+    private Page compile() {
+        String source = this.source;
+        int length = source.length();
+        int index = 0;
+
+        while (index < length) {
+            char c = source.charAt(index);
+            byte characterClass = c < CHARACTER_CLASSES.length ? CHARACTER_CLASSES[c] : CLASS_TEXT;
+
+            switch (characterClass) {
+                case CLASS_LEGACY_CODE:
+                    index = this.lexLegacyCode(index);
+                    break;
+                case CLASS_TAG:
+                    index = this.lexTag(index);
+                    break;
+                case CLASS_ESCAPE:
+                    index = this.lexEscape(index);
+                    break;
+                default:
+                    this.run.append(c);
+                    index++;
+            }
+        }
+
+        this.flush();
+
+        if (!this.written) {
+            this.writer.text("");
+        }
+
+        return this.writer.build();
+    }
+
+    private int lexLegacyCode(int index) {
+        char code = index + 1 < this.source.length() ? this.source.charAt(index + 1) : 0;
+        ChatColor color = code < LEGACY_CODES.length ? LEGACY_CODES[code] : null;
+
+        if (color == null) {
+            this.run.append(this.source.charAt(index));
+            return index + 1;
+        }
+
+        this.flush();
+
+        if (color == ChatColor.RESET) {
+            this.style.resetFormatting();
+            this.style.color = null;
+        } else if (color == ChatColor.BOLD) {
+            this.style.bold = true;
+        } else if (color == ChatColor.ITALIC) {
+            this.style.italic = true;
+        } else if (color == ChatColor.UNDERLINE) {
+            this.style.underlined = true;
+        } else if (color == ChatColor.STRIKETHROUGH) {
+            this.style.strikethrough = true;
+        } else if (color == ChatColor.MAGIC) {
+            this.style.obfuscated = true;
+        } else {
+            // Like the client, a legacy color resets the formatting
+            this.style.resetFormatting();
+            this.style.color = color;
+        }
+
+        return index + 2;
+    }
+
+    private int lexTag(int index) {
+        int end = this.findTagEnd(index + 1);
+
+        if (end < 0 || !this.applyTag(this.source.substring(index + 1, end))) {
+            this.run.append(this.source.charAt(index));
+            return index + 1;
+        }
+
+        return end + 1;
+    }
+
+    /**
+     * Returns the index of the <tt>&gt;</tt> ending the tag starting at
+     * <tt>fromIndex</tt>, or <tt>-1</tt> if a <tt>&lt;</tt> or the end of
+     * the source is reached first.
+     *
+     * @param fromIndex the index of the first character of the tag
+     * @return the index of the end of the tag, or <tt>-1</tt> if none
+     */
+    private int findTagEnd(int fromIndex) {
+        String source = this.source;
+
+        for (int index = fromIndex; index < source.length(); index++) {
+            char c = source.charAt(index);
+
+            if (c == '>') {
+                return index;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lexEscape(int index) {
+        if (index + 1 < this.source.length()) {
+            this.run.append(this.source.charAt(index + 1));
+            return index + 2;
+        }
+
+        this.run.append(this.source.charAt(index));
+        return index + 1;
+    }
+
+    /**
+     * Applies the tag, which is the content between the angle brackets.
+     *
+     * @param tag the content of the tag
+     * @return true if the tag is known, otherwise it is treated as text
+     */
+    private boolean applyTag(String tag) {
+        if (tag.startsWith("/")) {
+            return this.closeTag(tag.substring(1).toLowerCase(Locale.ROOT));
+        }
+
+        int separator = tag.indexOf(':');
+        String name = (separator < 0 ? tag : tag.substring(0, separator)).toLowerCase(Locale.ROOT);
+        String argument = separator < 0 ? null : tag.substring(separator + 1);
+
+        if (name.equals(LINE_BREAK_TAG) && argument == null) {
+            this.run.append('\n');
+            return true;
+        }
+
+        if (name.equals(RESET_TAG) && argument == null) {
+            this.flush();
+            this.style.reset();
+            return true;
+        }
+
+        BiConsumer<MarkupStyle, String> handler = TAGS.get(name);
+
+        if (handler == null) {
+            return false;
+        }
+
+        MarkupStyle style = this.style.copy();
+
+        try {
+            handler.accept(style, argument);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        this.flush();
+        this.openTags.push(new OpenTag(name, this.style));
+        this.openTagCounts.merge(name, 1, Integer::sum);
+        this.style = style;
+
+        return true;
+    }
+
+    /**
+     * Closes the most recently opened tag with the <tt>name</tt>, and
+     * all tags opened after it. An empty name closes the last opened tag.
+     *
+     * @param name the name of the tag
+     * @return true if an open tag was closed, otherwise it is treated as text
+     */
+    private boolean closeTag(String name) {
+        if (!name.isEmpty() && !this.openTagCounts.containsKey(name)) {
+            return false;
+        }
+
+        int depth = 0;
+
+        for (OpenTag openTag : this.openTags) {
+            depth++;
+
+            if (name.isEmpty() || openTag.name.equals(name)) {
+                this.flush();
+
+                OpenTag closedTag = null;
+
+                for (int i = 0; i < depth; i++) {
+                    closedTag = this.openTags.pop();
+                    this.openTagCounts.computeIfPresent(closedTag.name, (ignored, count) -> count > 1 ? count - 1 : null);
+                }
+
+                this.style = closedTag.previousStyle;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes the current text run with the current style, if any.
+     */
+    private void flush() {
+        if (this.run.length() == 0) {
+            return;
+        }
+
+        this.style.write(this.writer, this.run.toString());
+        this.run.setLength(0);
+        this.written = true;
+    }
+
+    private static void applyClick(MarkupStyle style, String argument) throws IllegalArgumentException {
+        int separator = argument == null ? -1 : argument.indexOf(':');
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("click requires an action and a value");
+        }
+
+        style.clickAction = ClickEvent.Action.valueOf(argument.substring(0, separator).toUpperCase(Locale.ROOT));
+        style.clickValue = argument.substring(separator + 1);
+    }
+
+    private static void applyHover(MarkupStyle style, String argument) throws IllegalArgumentException {
+        if (argument == null) {
+            throw new IllegalArgumentException("hover requires a text");
+        }
+
+        style.hoverText = argument;
+    }
+
+    /**
+     * An opened tag, and the style to restore once it is closed.
+     */
+    private static final class OpenTag {
+        private final String name;
+        private final MarkupStyle previousStyle;
+
+        private OpenTag(String name, MarkupStyle previousStyle) {
+            this.name = name;
+            this.previousStyle = previousStyle;
+        }
+    }
+}
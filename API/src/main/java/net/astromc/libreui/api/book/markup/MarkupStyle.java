@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.markup;
+
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ClickEvent;
+
+/**
+ * The style of a run of markup text. Styles are mutable while
+ * a markup source is compiled, and copied whenever a tag is opened,
+ * so the style can be restored when the tag is closed.
+ */
+final class MarkupStyle {
+    ChatColor color;
+    boolean bold, italic, underlined, strikethrough, obfuscated;
+    ClickEvent.Action clickAction;
+    String clickValue;
+    String hoverText;
+
+    MarkupStyle copy() {
+        MarkupStyle copy = new MarkupStyle();
+
+        copy.color = this.color;
+        copy.bold = this.bold;
+        copy.italic = this.italic;
+        copy.underlined = this.underlined;
+        copy.strikethrough = this.strikethrough;
+        copy.obfuscated = this.obfuscated;
+        copy.clickAction = this.clickAction;
+        copy.clickValue = this.clickValue;
+        copy.hoverText = this.hoverText;
+
+        return copy;
+    }
+
+    /**
+     * Resets the formatting codes, but keeps the color and events.
+     */
+    void resetFormatting() {
+        this.bold = this.italic = this.underlined = this.strikethrough = this.obfuscated = false;
+    }
+
+    /**
+     * Resets the entire style.
+     */
+    void reset() {
+        this.resetFormatting();
+        this.color = null;
+        this.clickAction = null;
+        this.clickValue = null;
+        this.hoverText = null;
+    }
+
+    /**
+     * Writes the <tt>text</tt> as a new element with this style.
+     *
+     * @param writer the page writer
+     * @param text the text being written
+     */
+    void write(PageWriter writer, String text) {
+        writer.text(text);
+
+        if (this.color != null) {
+            writer.color(this.color);
+        }
+
+        if (this.bold) {
+            writer.bold();
+        }
+
+        if (this.italic) {
+            writer.italic();
+        }
+
+        if (this.underlined) {
+            writer.underlined();
+        }
+
+        if (this.strikethrough) {
+            writer.strikethrough();
+        }
+
+        if (this.obfuscated) {
+            writer.obfuscated();
+        }
+
+        if (this.clickAction != null) {
+            writer.click(this.clickAction, this.clickValue);
+        }
+
+        if (this.hoverText != null) {
+            writer.hover(this.hoverText);
+        }
+    }
+}
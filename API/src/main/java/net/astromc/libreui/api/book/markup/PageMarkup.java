@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.markup;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import net.astromc.libreui.api.book.page.Page;
+
+import java.util.Objects;
+
+/**
+ * Compiles markup sources directly into {@link Page}s, without
+ * creating any intermediate components. Compiled pages are cached
+ * by their source, so recurring markup is neither parsed, nor
+ * serialized again.
+ * <p/>
+ *
+ * The markup supports legacy codes, a section sign followed by a
+ * color or formatting code, where a color resets the formatting like
+ * on the client. It also supports the following tags, which are
+ * closed by <tt>&lt;/name&gt;</tt>, or <tt>&lt;/&gt;</tt> for the
+ * last opened tag:
+ * <ul>
+ *     <li>colors by their lower case names, such as <tt>&lt;dark_blue&gt;</tt></li>
+ *     <li><tt>&lt;b&gt;</tt>, <tt>&lt;i&gt;</tt>, <tt>&lt;u&gt;</tt>,
+ *     <tt>&lt;st&gt;</tt> and <tt>&lt;obf&gt;</tt>, or their full names</li>
+ *     <li><tt>&lt;click:action:value&gt;</tt>, such as
+ *     <tt>&lt;click:run_command:/warp spawn&gt;</tt></li>
+ *     <li><tt>&lt;hover:text&gt;</tt></li>
+ * </ul>
+ * <tt>&lt;br&gt;</tt> inserts a line break, and <tt>&lt;reset&gt;</tt>
+ * resets the style. Unknown tags, and tags containing a <tt>&lt;</tt>,
+ * are written as text, and a backslash writes the following character
+ * as text.
+ */
+public enum PageMarkup {;
+
+    /**
+     * The maximum number of cached compiled pages.
+     */
+    private static final int MAXIMUM_CACHED_PAGES = 4096;
+
+    private static final LoadingCache<String, Page> COMPILED_PAGES = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_PAGES)
+            .build(new CacheLoader<String, Page>() {
+                @Override
+                public Page load(String source) {
+                    return MarkupCompiler.compile(source);
+                }
+            });
+
+    /**
+     * Returns the page compiled from the markup <tt>source</tt>. The
+     * page is immutable, and is only compiled if it is not cached.
+     *
+     * @param source the markup source
+     * @return the compiled page
+     * @throws IllegalStateException if the page exceeds the maximum page size
+     */
+    public static Page compile(String source) throws IllegalStateException {
+        Objects.requireNonNull(source, "source");
+
+        try {
+            return COMPILED_PAGES.getUnchecked(source);
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Compiles the markup <tt>source</tt>, bypassing the cache. This
+     * should be used for markup which is unlikely to recur.
+     *
+     * @param source the markup source
+     * @return the compiled page
+     * @throws IllegalStateException if the page exceeds the maximum page size
+     */
+    public static Page compileUncached(String source) throws IllegalStateException {
+        return MarkupCompiler.compile(Objects.requireNonNull(source, "source"));
+    }
+
+    /**
+     * Invalidates all cached compiled pages.
+     */
+    public static void invalidateCache() {
+        COMPILED_PAGES.invalidateAll();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import com.google.common.base.Preconditions;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+
+import java.util.Objects;
+
+/**
+ * A frozen {@link BaseComponent} tree, which is never modified. The
+ * tree is owned by the frozen component, and is not exposed, so it can
+ * be shared by any number of pages, and read, without being copied. A
+ * mutable copy is only created when {@link FrozenComponent#thaw()} is
+ * invoked, by a caller which actually intends to modify it.
+ * <p/>
+ *
+ * Components are frozen either by copying them, or by transferring
+ * their ownership, using the <tt>adopt</tt> methods, in which case
+ * the caller must neither use, nor modify the adopted tree afterwards.
+ */
+public final class FrozenComponent {
+    private final BaseComponent component;
+
+    private FrozenComponent(BaseComponent component) {
+        this.component = component;
+    }
+
+    /**
+     * Returns a mutable deep copy of the frozen component tree.
+     *
+     * @return a mutable copy of the component
+     */
+    public BaseComponent thaw() {
+        return this.component.duplicate();
+    }
+
+    /**
+     * Returns the text of the component tree, without formatting.
+     *
+     * @return the plain text of the component
+     */
+    public String toPlainText() {
+        return this.component.toPlainText();
+    }
+
+    /**
+     * Returns the text of the component tree, formatted by legacy codes.
+     *
+     * @return the legacy text of the component
+     */
+    public String toLegacyText() {
+        return this.component.toLegacyText();
+    }
+
+    /**
+     * Returns the frozen component tree, which must not be modified,
+     * nor be exposed outside of this package.
+     *
+     * @return the frozen component tree
+     */
+    BaseComponent unwrap() {
+        return component;
+    }
+
+    /**
+     * Freezes a deep copy of the <tt>component</tt>.
+     *
+     * @param component the component being frozen
+     * @return a frozen copy of the component
+     */
+    public static FrozenComponent copyOf(BaseComponent component) {
+        return new FrozenComponent(component.duplicate());
+    }
+
+    /**
+     * Freezes the <tt>component</tt> without copying it, transferring
+     * the ownership of the component tree to the frozen component. The
+     * tree must neither be used, nor modified by the caller afterwards.
+     *
+     * @param component the component being adopted
+     * @return the frozen component
+     */
+    public static FrozenComponent adopt(BaseComponent component) {
+        return new FrozenComponent(Objects.requireNonNull(component, "component"));
+    }
+
+    /**
+     * Freezes the components created by the <tt>builder</tt> without
+     * copying them, the first component holding the remaining ones as
+     * extra components. The builder must not be used afterwards, as it
+     * may still reference the created components.
+     *
+     * @param builder the builder creating the components
+     * @return the frozen component
+     */
+    public static FrozenComponent adopt(ComponentBuilder builder) {
+        return new FrozenComponent(combine(builder));
+    }
+
+    /**
+     * Combines the components created by the <tt>builder</tt>, without
+     * copying them, as described by {@link FrozenComponent#adopt(ComponentBuilder)}.
+     *
+     * @param builder the builder creating the components
+     * @return the first component, holding the remaining ones
+     */
+    static BaseComponent combine(ComponentBuilder builder) {
+        BaseComponent[] components = builder.create();
+        Preconditions.checkElementIndex(0, components.length, "builder is required to have at least one element");
+
+        BaseComponent component = components[0];
+
+        for (int i = 1; i < components.length; i++) {
+            component.addExtra(Preconditions.checkNotNull(components[i]));
+        }
+
+        return component;
+    }
+}
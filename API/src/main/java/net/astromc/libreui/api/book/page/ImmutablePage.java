@@ -16,27 +16,74 @@
 
 package net.astromc.libreui.api.book.page;
 
+import com.google.common.base.Utf8;
+import com.google.gson.JsonParser;
+import net.astromc.libreui.utils.ContentHashes;
 import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.chat.ComponentSerializer;
 
 import java.util.function.UnaryOperator;
 
 /**
  * An immutable {@link Page} implementation. Once this
  * object has been created, its values may not change.
+ * <p/>
+ *
+ * Immutable pages created through the static factory
+ * methods are interned by their JSON representation,
+ * therefore identical pages share a single instance.
+ * <p/>
+ *
+ * Pages written by a {@link PageWriter} only hold their
+ * JSON representation, the backing component is lazily
+ * reconstructed from it, the first time it is requested.
+ * <p/>
+ *
+ * Immutable pages are equal if their JSON representations
+ * are equal, which is checked using a 64-bit content hash
+ * computed once when the page is created.
+ * <p/>
+ *
+ * The backing component is held as a {@link FrozenComponent},
+ * which is returned by {@link ImmutablePage#getFrozenComponent()}
+ * without copying. Only {@link ImmutablePage#getBackingComponent()}
+ * copies it, as the returned component is mutable.
  */
 public final class ImmutablePage implements Page {
-    private final BaseComponent backingComponent;
+    private volatile FrozenComponent frozenComponent;
     private final String jsonRepresentation;
+    private final int encodedLength;
+    private final long contentHash;
 
-    private ImmutablePage(BaseComponent backingComponent,
+    private ImmutablePage(FrozenComponent frozenComponent,
                           String jsonRepresentation) {
-        this.backingComponent = backingComponent;
+        this.frozenComponent = frozenComponent;
         this.jsonRepresentation = jsonRepresentation;
+        this.encodedLength = Utf8.encodedLength(jsonRepresentation);
+        this.contentHash = ContentHashes.hash(jsonRepresentation);
     }
 
     @Override
     public BaseComponent getBackingComponent() {
-        return this.backingComponent.duplicate();
+        return this.getFrozenComponent().thaw();
+    }
+
+    /**
+     * Returns the frozen backing component, without copying it.
+     *
+     * @return the frozen backing component
+     */
+    @Override
+    public FrozenComponent getFrozenComponent() {
+        FrozenComponent component = this.frozenComponent;
+
+        if (component == null) {
+            component = FrozenComponent.adopt(parseComponent(this.jsonRepresentation));
+            this.frozenComponent = component;
+        }
+
+        return component;
     }
 
     /**
@@ -62,6 +109,46 @@ public final class ImmutablePage implements Page {
         return jsonRepresentation;
     }
 
+    /**
+     * Returns the encoded length of this page, which is
+     * computed once when the page is created.
+     *
+     * @return the encoded length of this page in bytes
+     */
+    @Override
+    public int getEncodedLength() {
+        return encodedLength;
+    }
+
+    /**
+     * Returns the content hash of this page, which is
+     * computed once when the page is created.
+     *
+     * @return the content hash of this page
+     */
+    @Override
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof ImmutablePage)) {
+            return false;
+        }
+
+        ImmutablePage other = (ImmutablePage) obj;
+        return this.contentHash == other.contentHash
+                && this.jsonRepresentation.equals(other.jsonRepresentation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(contentHash);
+    }
+
     /**
      * Returns this instance, as it is already immutable.
      *
@@ -73,32 +160,96 @@ public final class ImmutablePage implements Page {
     }
 
     /**
-     * Creates a new {@link ImmutablePage} instance with a
-     * copy of the <tt>page</tt> backing component, and its
-     * JSON representation.
+     * Creates a new {@link ImmutablePage} instance with the
+     * frozen backing component of the <tt>page</tt>, and its
+     * JSON representation. If an identical page is interned,
+     * the interned page is returned instead.
      *
      * @param page page creating an immutable copy of
-     * @return a new immutable copy
+     * @return an immutable copy
      */
     public static Page newInstance(Page page) {
-        return new ImmutablePage(
-                page.getBackingComponent().duplicate(),
-                page.getJsonRepresentation());
+        String jsonRepresentation = page.getJsonRepresentation();
+        ImmutablePage internedPage = PageInterner.lookup(jsonRepresentation);
+
+        if (internedPage != null) {
+            return internedPage;
+        }
+
+        return PageInterner.intern(new ImmutablePage(page.getFrozenComponent(), jsonRepresentation));
+    }
+
+    /**
+     * Creates a new {@link ImmutablePage} instance holding the
+     * <tt>component</tt>, without copying it. If an identical page
+     * is interned, the interned page is returned instead.
+     *
+     * @param component the frozen component of the page
+     * @return an immutable page holding the component
+     */
+    public static Page newInstance(FrozenComponent component) {
+        String jsonRepresentation = PageSerializer.serializeToString(component.unwrap());
+        ImmutablePage internedPage = PageInterner.lookup(jsonRepresentation);
+
+        if (internedPage != null) {
+            return internedPage;
+        }
+
+        return PageInterner.intern(new ImmutablePage(component, jsonRepresentation));
     }
 
     /**
      * Creates a new {@link ImmutablePage} instance from
      * a {@link BaseComponent} object. The <tt>component</tt>
-     * is copied and serialized, which will be used to create
-     * the new immutable page instance.
+     * is serialized, and copied to create the new immutable
+     * page instance. If an identical page is interned, the
+     * interned page is returned without copying.
      *
      * @param component component creating an immutable page from
-     * @return a new immutable page from the component object
+     * @return an immutable page from the component object
      */
     public static Page newInstanceFromComponent(BaseComponent component) {
-        component = component.duplicate();
         String jsonRepresentation = PageSerializer.serializeToString(component);
+        ImmutablePage internedPage = PageInterner.lookup(jsonRepresentation);
+
+        if (internedPage != null) {
+            return internedPage;
+        }
+
+        return PageInterner.intern(new ImmutablePage(FrozenComponent.copyOf(component), jsonRepresentation));
+    }
+
+    /**
+     * Creates a new {@link ImmutablePage} instance holding only the
+     * specified JSON representation, as formatted by the {@link
+     * PageSerializer}. If an identical page is interned, the interned
+     * page is returned instead.
+     *
+     * @param jsonRepresentation the JSON representation of the page
+     * @return an immutable page with the JSON representation
+     */
+    static Page newInstanceFromJson(String jsonRepresentation) {
+        ImmutablePage internedPage = PageInterner.lookup(jsonRepresentation);
+
+        if (internedPage != null) {
+            return internedPage;
+        }
+
+        return PageInterner.intern(new ImmutablePage(null, jsonRepresentation));
+    }
+
+    /**
+     * Reconstructs the backing component from a JSON representation,
+     * formatted by the {@link PageSerializer}, which is a JSON string
+     * containing the serialized component.
+     *
+     * @param jsonRepresentation the JSON representation of a page
+     * @return the reconstructed backing component
+     */
+    private static BaseComponent parseComponent(String jsonRepresentation) {
+        String componentJson = new JsonParser().parse(jsonRepresentation).getAsString();
+        BaseComponent[] components = ComponentSerializer.parse(componentJson);
 
-        return new ImmutablePage(component, jsonRepresentation);
+        return components.length == 1 ? components[0] : new TextComponent(components);
     }
 }
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import net.astromc.libreui.api.book.Book;
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link Page} whose content is fetched asynchronously, such as
+ * from a database. Until the content has been fetched, the page is
+ * displayed as its <tt>placeholder</tt> page.
+ * <p/>
+ *
+ * The content is fetched by {@link LazyPage#fetch()}, which is done
+ * for all pending pages of a {@link Book} concurrently, when the book
+ * is opened, see {@link Book#fetchPendingPages()}. Each fetch has a
+ * timeout, if the fetch fails or times out the placeholder is used
+ * for that opening, and the fetch is retried the next time. Once the
+ * content has been fetched successfully, it is cached as an {@link
+ * ImmutablePage}, and the page is resolved for good.
+ * <p/>
+ *
+ * Lazy pages cannot be modified, like {@link ImmutablePage}s, and
+ * are therefore added to books as they are. As their content changes
+ * once fetched, lazy pages are only equal to themselves. Their content
+ * hash is the hash of the page currently displayed, the placeholder
+ * until the content is fetched, and the fetched page afterwards, so
+ * a book containing the page is hashed by what it displays.
+ */
+public final class LazyPage implements Page {
+    /**
+     * The default fetch timeout in milliseconds.
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 2000;
+
+    private final Supplier<? extends CompletionStage<? extends Page>> source;
+    private final Page placeholder;
+    private final long timeoutNanos;
+
+    private volatile Page resolved;
+    private CompletableFuture<Page> pendingFetch;
+
+    private LazyPage(Supplier<? extends CompletionStage<? extends Page>> source,
+                     Page placeholder,
+                     long timeoutNanos) {
+        this.source = source;
+        this.placeholder = placeholder;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Returns a copy of the backing component of the fetched page,
+     * or of the placeholder if the page has not been resolved.
+     *
+     * @return a copy of the current backing component
+     */
+    @Override
+    public BaseComponent getBackingComponent() {
+        return this.currentPage().getBackingComponent();
+    }
+
+    @Override
+    public FrozenComponent getFrozenComponent() {
+        return this.currentPage().getFrozenComponent();
+    }
+
+    /**
+     * Thrown an {@link UnsupportedOperationException} as
+     * this method is not supported on lazy pages.
+     */
+    @Override
+    public void setBackingComponent(BaseComponent backingComponent) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Thrown an {@link UnsupportedOperationException} as
+     * this method is not supported on lazy pages.
+     */
+    @Override
+    public void modifyBackingComponent(UnaryOperator<BaseComponent> componentOperator) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the JSON representation of the fetched page, or
+     * of the placeholder if the page has not been resolved.
+     *
+     * @return the current JSON representation of this page
+     */
+    @Override
+    public String getJsonRepresentation() {
+        return this.currentPage().getJsonRepresentation();
+    }
+
+    /**
+     * Returns the encoded length of the fetched page, or of the
+     * placeholder if the page has not been resolved.
+     *
+     * @return the current encoded length of this page in bytes
+     */
+    @Override
+    public int getEncodedLength() {
+        return this.currentPage().getEncodedLength();
+    }
+
+    /**
+     * Returns the content hash of the fetched page, or of the
+     * placeholder if the page has not been resolved.
+     *
+     * @return the current content hash of this page
+     */
+    @Override
+    public long getContentHash() {
+        return this.currentPage().getContentHash();
+    }
+
+    /**
+     * Returns this instance, as lazy pages are not modifiable,
+     * and copying it would lose the fetched content.
+     *
+     * @return this instance
+     */
+    @Override
+    public Page immutableCopy() {
+        return this;
+    }
+
+    /**
+     * Returns the page displayed until the content is fetched.
+     *
+     * @return the placeholder page
+     */
+    public Page getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Returns whether the content of this page has been fetched.
+     *
+     * @return true if the content of this page has been fetched
+     */
+    public boolean isResolved() {
+        return this.resolved != null;
+    }
+
+    /**
+     * Fetches the content of this page, unless it is already resolved.
+     * Concurrent calls share the same fetch. The returned future is
+     * never completed exceptionally, on failure or timeout it is
+     * completed with the placeholder page.
+     * <p/>
+     *
+     * A successful result arriving after the timeout is still cached,
+     * so it is displayed the next time the page is opened.
+     *
+     * @return a future completed with the page to display
+     */
+    public CompletableFuture<Page> fetch() {
+        Page resolvedPage = this.resolved;
+
+        if (resolvedPage != null) {
+            return CompletableFuture.completedFuture(resolvedPage);
+        }
+
+        synchronized (this) {
+            if (this.resolved != null) {
+                return CompletableFuture.completedFuture(this.resolved);
+            }
+
+            if (this.pendingFetch == null) {
+                CompletableFuture<Page> fetch = this.startFetch();
+
+                if (!fetch.isDone()) {
+                    this.pendingFetch = fetch;
+                }
+
+                return fetch;
+            }
+
+            return this.pendingFetch;
+        }
+    }
+
+    private CompletableFuture<Page> startFetch() {
+        CompletableFuture<Page> fetch = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = LazyPageExecutors.schedule(() -> this.complete(fetch, this.placeholder), this.timeoutNanos);
+
+        CompletionStage<? extends Page> stage;
+
+        try {
+            stage = Objects.requireNonNull(this.source.get(), "source returned null");
+        } catch (RuntimeException e) {
+            timeout.cancel(false);
+            this.complete(fetch, this.placeholder);
+            return fetch;
+        }
+
+        stage.whenComplete((page, throwable) -> {
+            timeout.cancel(false);
+
+            Page resolvedPage = null;
+
+            if (throwable == null && page != null) {
+                try {
+                    resolvedPage = ImmutablePage.newInstance(page);
+                } catch (RuntimeException e) {
+                    // The fetched page can not be serialized
+                }
+            }
+
+            if (resolvedPage != null) {
+                this.resolved = resolvedPage;
+                this.complete(fetch, resolvedPage);
+            } else {
+                this.complete(fetch, this.placeholder);
+            }
+        });
+
+        return fetch;
+    }
+
+    private synchronized void complete(CompletableFuture<Page> fetch, Page page) {
+        if (this.pendingFetch == fetch) {
+            this.pendingFetch = null;
+        }
+
+        fetch.complete(page);
+    }
+
+    private Page currentPage() {
+        Page resolvedPage = this.resolved;
+        return resolvedPage != null ? resolvedPage : this.placeholder;
+    }
+
+    /**
+     * Creates a new lazy page, whose content is fetched by the
+     * blocking <tt>fetcher</tt> on a shared executor, with the
+     * {@link LazyPage#DEFAULT_TIMEOUT_MILLIS default timeout}.
+     *
+     * @param fetcher the blocking fetcher of the page content
+     * @param placeholder the page displayed until the content is fetched
+     * @return a new lazy page
+     */
+    public static LazyPage of(Supplier<? extends Page> fetcher, Page placeholder) {
+        return of(fetcher, placeholder, DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new lazy page, whose content is fetched by the
+     * blocking <tt>fetcher</tt> on a shared executor. The executor
+     * uses virtual threads, if the running JVM supports them,
+     * otherwise a bounded pool of threads.
+     *
+     * @param fetcher the blocking fetcher of the page content
+     * @param placeholder the page displayed until the content is fetched
+     * @param timeout the fetch timeout
+     * @param unit the unit of the fetch timeout
+     * @return a new lazy page
+     */
+    public static LazyPage of(Supplier<? extends Page> fetcher, Page placeholder, long timeout, TimeUnit unit) {
+        Objects.requireNonNull(fetcher, "fetcher");
+        return ofAsync(() -> CompletableFuture.supplyAsync(fetcher, LazyPageExecutors.fetchExecutor()), placeholder, timeout, unit);
+    }
+
+    /**
+     * Creates a new lazy page, whose content is fetched by the
+     * asynchronous <tt>source</tt>. The source is invoked on the
+     * thread requesting the fetch, and must therefore not block.
+     *
+     * @param source the asynchronous source of the page content
+     * @param placeholder the page displayed until the content is fetched
+     * @param timeout the fetch timeout
+     * @param unit the unit of the fetch timeout
+     * @return a new lazy page
+     * @throws IllegalArgumentException if <tt>timeout</tt> is negative
+     */
+    public static LazyPage ofAsync(Supplier<? extends CompletionStage<? extends Page>> source,
+                                   Page placeholder,
+                                   long timeout,
+                                   TimeUnit unit) throws IllegalArgumentException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout is < 0");
+        }
+
+        return new LazyPage(
+                Objects.requireNonNull(source, "source"),
+                Objects.requireNonNull(placeholder, "placeholder").immutableCopy(),
+                unit.toNanos(timeout));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The executors shared by all {@link LazyPage}s. Blocking page
+ * fetches are executed on virtual threads, if the running JVM
+ * supports them, otherwise on a bounded pool of daemon threads.
+ * Timeouts are scheduled on a single daemon thread.
+ */
+enum LazyPageExecutors {;
+
+    /**
+     * The maximum number of concurrent blocking fetches, if
+     * virtual threads are not available.
+     */
+    private static final int MAXIMUM_POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final ExecutorService FETCH_EXECUTOR = createFetchExecutor();
+
+    private static final ScheduledThreadPoolExecutor TIMEOUT_SCHEDULER = createTimeoutScheduler();
+
+    /**
+     * Returns the executor blocking page fetches are executed on.
+     *
+     * @return the fetch executor
+     */
+    static ExecutorService fetchExecutor() {
+        return FETCH_EXECUTOR;
+    }
+
+    /**
+     * Schedules the <tt>task</tt> to run after the specified delay.
+     *
+     * @param task the task to run
+     * @param delayNanos the delay in nanoseconds
+     * @return the scheduled future of the task
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delayNanos) {
+        return TIMEOUT_SCHEDULER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a virtual thread per task executor through reflection,
+     * as it is not available on older Java versions. If it is not
+     * available, a bounded pool of daemon threads is created instead.
+     *
+     * @return a new fetch executor
+     */
+    private static ExecutorService createFetchExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    MAXIMUM_POOL_SIZE, MAXIMUM_POOL_SIZE,
+                    60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder()
+                            .setDaemon(true)
+                            .setNameFormat("LibreUI Page Fetcher #%d")
+                            .build());
+            executor.allowCoreThreadTimeOut(true);
+
+            return executor;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("LibreUI Page Timeout #%d")
+                        .build());
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        return scheduler;
+    }
+}
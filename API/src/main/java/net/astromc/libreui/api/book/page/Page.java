@@ -17,7 +17,9 @@
 package net.astromc.libreui.api.book.page;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Utf8;
 import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.utils.ContentHashes;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ComponentBuilder;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -46,6 +48,12 @@ import java.util.stream.StreamSupport;
  * it can either override it entirely, or modify it using the build
  * -in modify method. {@link Page#setBackingComponent(BaseComponent)}
  * and {@link Page#modifyBackingComponent(UnaryOperator)} respectively.
+ * <p/>
+ *
+ * Callers which only read the backing component should use {@link
+ * Page#getFrozenComponent()}, which immutable pages return without
+ * copying, rather than {@link Page#getBackingComponent()}, which
+ * always returns a mutable copy.
  */
 public interface Page {
     /**
@@ -60,6 +68,18 @@ public interface Page {
      */
     BaseComponent getBackingComponent();
 
+    /**
+     * Returns the backing component as a {@link FrozenComponent}, for
+     * callers which only read it. Immutable pages return their frozen
+     * component without copying. The default implementation freezes the
+     * copy returned by {@link Page#getBackingComponent()}.
+     *
+     * @return the frozen backing component
+     */
+    default FrozenComponent getFrozenComponent() {
+        return FrozenComponent.adopt(this.getBackingComponent());
+    }
+
     /**
      * Sets the backing component to a copy of the
      * specified <tt>backingComponent</tt>, to assure
@@ -93,6 +113,26 @@ public interface Page {
      */
     String getJsonRepresentation();
 
+    /**
+     * Returns the UTF-8 encoded length of the JSON representation
+     * of this page, used to account for the size of {@link Book}s.
+     *
+     * @return the encoded length of this page in bytes
+     */
+    default int getEncodedLength() {
+        return Utf8.encodedLength(this.getJsonRepresentation());
+    }
+
+    /**
+     * Returns the 64-bit hash of the JSON representation of
+     * this page. Pages with the same content have the same hash.
+     *
+     * @return the content hash of this page
+     */
+    default long getContentHash() {
+        return ContentHashes.hash(this.getJsonRepresentation());
+    }
+
     /**
      * Creates a new immutable copy of this page. The
      * copy will have an identical copy of the current
@@ -153,4 +193,19 @@ public interface Page {
         Preconditions.checkElementIndex(0, components.length, "builder is required to have at least one element");
         return newInstance(components[0], Arrays.asList(components).subList(1, components.length));
     }
+
+    /**
+     * Creates a new {@link Page} from the specified builder, like
+     * {@link Page#newInstance(ComponentBuilder)}, but adopting the
+     * created components without copying them, as described by
+     * {@link FrozenComponent#adopt(ComponentBuilder)}. As the builder
+     * may still reference the components, it must not be used afterwards.
+     * The returned page is mutable.
+     *
+     * @param builder the builder creating the page from
+     * @return a new mutable page adopting the components of the builder
+     */
+    static Page newInstanceAdopting(ComponentBuilder builder) {
+        return new SimplePage(FrozenComponent.combine(builder));
+    }
 }
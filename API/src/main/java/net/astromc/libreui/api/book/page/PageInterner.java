@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import com.google.common.collect.MapMaker;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A weak interner of {@link ImmutablePage}s. Pages are
+ * deduplicated by their JSON representation, so identical
+ * pages shared by many books, such as headers, navigation
+ * pages or legal text, are held and serialized only once.
+ * Interned pages are weakly referenced, and are removed
+ * once no book references them anymore.
+ */
+enum PageInterner {;
+
+    /**
+     * The interned pages, by their JSON representations. The
+     * key is the JSON representation held by the page itself,
+     * so it does not take up additional memory.
+     */
+    private static final ConcurrentMap<String, ImmutablePage> INTERNED_PAGES = new MapMaker().weakValues().makeMap();
+
+    /**
+     * Returns the interned page with the specified JSON
+     * representation, or <tt>null</tt> if there is none.
+     *
+     * @param jsonRepresentation the JSON representation of the page
+     * @return the interned page, or <tt>null</tt>
+     */
+    static ImmutablePage lookup(String jsonRepresentation) {
+        return INTERNED_PAGES.get(jsonRepresentation);
+    }
+
+    /**
+     * Returns the interned page with the same JSON representation
+     * as the <tt>page</tt>. If there is none, the <tt>page</tt>
+     * is interned and returned.
+     *
+     * @param page the page being interned
+     * @return the interned page
+     */
+    static ImmutablePage intern(ImmutablePage page) {
+        ImmutablePage internedPage = INTERNED_PAGES.putIfAbsent(page.getJsonRepresentation(), page);
+        return internedPage == null ? page : internedPage;
+    }
+}
@@ -17,6 +17,9 @@
 package net.astromc.libreui.api.book.page;
 
 import com.google.gson.JsonPrimitive;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.chat.ComponentSerializer;
 
@@ -27,11 +30,6 @@ import net.md_5.bungee.chat.ComponentSerializer;
  */
 public enum PageSerializer {;
 
-    /**
-     * The maximum length of the JSON formatted page.
-     */
-    private static final int PAGE_JSON_FORMATTED_MAX_LENGTH = 32767;
-
     /**
      * Returns a String formatted serialized page. A plain
      * JSON representation is return if the backing component
@@ -46,7 +44,7 @@ public enum PageSerializer {;
      * @return a serialized String formatted page
      */
     public static String serializeToString(Page page) {
-        return serializeToString(page.getBackingComponent());
+        return serializeToString(page.getFrozenComponent().unwrap());
     }
 
     /**
@@ -58,16 +56,12 @@ public enum PageSerializer {;
      * @return a serialized String formatted component
      */
     public static String serializeToString(BaseComponent component) {
+        StageTimer timer = BookOpenProfiling.begin(BookOpenStage.PAGE_SERIALIZATION);
         String jsonRepresentation = ComponentSerializer.toString(component);
 
         jsonRepresentation = new JsonPrimitive(jsonRepresentation).toString();
 
-        if (jsonRepresentation.length() > PAGE_JSON_FORMATTED_MAX_LENGTH) {
-            throw new IllegalStateException(
-                    "JSON formatted Page exceeds max length (" +
-                            PAGE_JSON_FORMATTED_MAX_LENGTH + ")");
-        }
-
+        timer.finishPage(jsonRepresentation);
         return jsonRepresentation;
     }
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import net.astromc.libreui.utils.ChatColors;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.ComponentBuilder;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A builder writing a {@link Page} directly to its JSON
+ * representation, without creating a {@link BaseComponent}
+ * object graph. Unlike the {@link ComponentBuilder}, every
+ * element is appended to a single buffer as it is completed,
+ * and the built page only holds the JSON representation, see
+ * {@link ImmutablePage}.
+ * <p/>
+ *
+ * A page is written as a sequence of text elements. Each call
+ * to {@link PageWriter#text(String)} starts a new element, and
+ * the formatting and event methods apply to the current element.
+ * Unlike the {@link ComponentBuilder}, the formatting is not
+ * carried over to the following elements.
+ * <pre>
+ * Page page = new PageWriter()
+ *         .text("Warps").color(ChatColor.DARK_BLUE).bold()
+ *         .newLine()
+ *         .text("Spawn").click(ClickEvent.Action.RUN_COMMAND, "/warp spawn")
+ *         .hover("Teleport to spawn")
+ *         .build();
+ * </pre>
+ */
+public final class PageWriter {
+    /**
+     * The buffer of the serialized component, which is the root
+     * text component with the written elements as extras.
+     */
+    private final StringBuilder buffer = new StringBuilder("{\"text\":\"\",\"extra\":[");
+    private boolean hasElements;
+
+    private String text;
+    private ChatColor color;
+    private boolean bold, italic, underlined, strikethrough, obfuscated;
+    private ClickEvent.Action clickAction;
+    private String clickValue;
+    private String hoverText;
+
+    /**
+     * Starts a new element with the specified <tt>text</tt>.
+     *
+     * @param text the text of the element
+     * @return this writer instance
+     */
+    public PageWriter text(String text) {
+        Objects.requireNonNull(text, "text");
+
+        this.flush();
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * Starts a new element with a line break.
+     *
+     * @return this writer instance
+     */
+    public PageWriter newLine() {
+        return this.text("\n");
+    }
+
+    /**
+     * Sets the color of the current element.
+     *
+     * @param color the color
+     * @return this writer instance
+     * @throws IllegalArgumentException if <tt>color</tt> is a formatting code
+     */
+    public PageWriter color(ChatColor color) throws IllegalArgumentException {
+        if (ChatColors.isFormattingCode(Objects.requireNonNull(color, "color"))) {
+            throw new IllegalArgumentException(color + " is not a color");
+        }
+
+        this.currentElement().color = color;
+        return this;
+    }
+
+    /**
+     * Makes the current element bold.
+     *
+     * @return this writer instance
+     */
+    public PageWriter bold() {
+        this.currentElement().bold = true;
+        return this;
+    }
+
+    /**
+     * Makes the current element italic.
+     *
+     * @return this writer instance
+     */
+    public PageWriter italic() {
+        this.currentElement().italic = true;
+        return this;
+    }
+
+    /**
+     * Makes the current element underlined.
+     *
+     * @return this writer instance
+     */
+    public PageWriter underlined() {
+        this.currentElement().underlined = true;
+        return this;
+    }
+
+    /**
+     * Makes the current element strikethrough.
+     *
+     * @return this writer instance
+     */
+    public PageWriter strikethrough() {
+        this.currentElement().strikethrough = true;
+        return this;
+    }
+
+    /**
+     * Makes the current element obfuscated.
+     *
+     * @return this writer instance
+     */
+    public PageWriter obfuscated() {
+        this.currentElement().obfuscated = true;
+        return this;
+    }
+
+    /**
+     * Sets the click event of the current element.
+     *
+     * @param action the click action
+     * @param value the value of the click action
+     * @return this writer instance
+     */
+    public PageWriter click(ClickEvent.Action action, String value) {
+        this.currentElement().clickAction = Objects.requireNonNull(action, "action");
+        this.clickValue = Objects.requireNonNull(value, "value");
+        return this;
+    }
+
+    /**
+     * Sets the text shown when hovering the current element.
+     *
+     * @param hoverText the text shown on hover
+     * @return this writer instance
+     */
+    public PageWriter hover(String hoverText) {
+        this.currentElement().hoverText = Objects.requireNonNull(hoverText, "hoverText");
+        return this;
+    }
+
+    /**
+     * Completes the written page. The page only holds its JSON
+     * representation, and is interned like other {@link ImmutablePage}s.
+     * This writer must not be used after the page is built. The size
+     * of the page is validated against the limits of the {@link
+     * net.astromc.libreui.api.book.Book Book} it is added to.
+     *
+     * @return the written immutable page
+     * @throws IllegalStateException if no element is written
+     */
+    public Page build() throws IllegalStateException {
+        this.flush();
+
+        if (!this.hasElements) {
+            throw new IllegalStateException("No text has been written");
+        }
+
+        this.buffer.append("]}");
+
+        StringBuilder jsonRepresentation = new StringBuilder(this.buffer.length() + 16);
+        appendString(jsonRepresentation, this.buffer);
+
+        return ImmutablePage.newInstanceFromJson(jsonRepresentation.toString());
+    }
+
+    private PageWriter currentElement() {
+        if (this.text == null) {
+            throw new IllegalStateException("No text element has been started");
+        }
+
+        return this;
+    }
+
+    /**
+     * Appends the current element to the buffer, if any, and
+     * resets the element state.
+     */
+    private void flush() {
+        if (this.text == null) {
+            return;
+        }
+
+        StringBuilder buffer = this.buffer;
+
+        if (this.hasElements) {
+            buffer.append(',');
+        }
+
+        buffer.append("{\"text\":");
+        appendString(buffer, this.text);
+
+        if (this.color != null) {
+            buffer.append(",\"color\":\"").append(this.color.name().toLowerCase(Locale.ROOT)).append('"');
+        }
+
+        appendFlag(buffer, "bold", this.bold);
+        appendFlag(buffer, "italic", this.italic);
+        appendFlag(buffer, "underlined", this.underlined);
+        appendFlag(buffer, "strikethrough", this.strikethrough);
+        appendFlag(buffer, "obfuscated", this.obfuscated);
+
+        if (this.clickAction != null) {
+            buffer.append(",\"clickEvent\":{\"action\":\"")
+                    .append(this.clickAction.name().toLowerCase(Locale.ROOT))
+                    .append("\",\"value\":");
+            appendString(buffer, this.clickValue);
+            buffer.append('}');
+        }
+
+        if (this.hoverText != null) {
+            buffer.append(",\"hoverEvent\":{\"action\":\"show_text\",\"value\":{\"text\":");
+            appendString(buffer, this.hoverText);
+            buffer.append("}}");
+        }
+
+        buffer.append('}');
+
+        this.hasElements = true;
+        this.text = null;
+        this.color = null;
+        this.bold = this.italic = this.underlined = this.strikethrough = this.obfuscated = false;
+        this.clickAction = null;
+        this.clickValue = null;
+        this.hoverText = null;
+    }
+
+    private static void appendFlag(StringBuilder buffer, String name, boolean value) {
+        if (value) {
+            buffer.append(",\"").append(name).append("\":true");
+        }
+    }
+
+    /**
+     * Appends the <tt>value</tt> as a quoted JSON string, escaped
+     * the same way as Gson does when serializing a {@link com.google.gson.JsonPrimitive},
+     * so written pages have the same representation as serialized ones.
+     *
+     * @param buffer the buffer appended to
+     * @param value the value being appended
+     */
+    private static void appendString(StringBuilder buffer, CharSequence value) {
+        buffer.append('"');
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\b':
+                    buffer.append("\\b");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\f':
+                    buffer.append("\\f");
+                    break;
+                case '\u2028':
+                    buffer.append("\\u2028");
+                    break;
+                case '\u2029':
+                    buffer.append("\\u2029");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        buffer.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buffer.append(c);
+                    }
+            }
+        }
+
+        buffer.append('"');
+    }
+}
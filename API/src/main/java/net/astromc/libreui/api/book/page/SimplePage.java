@@ -25,11 +25,22 @@ import java.util.function.UnaryOperator;
  * A simple implementation of the {@link Page} interface. All
  * the specifications described in the documentation of the
  * interface is implemented accordingly.
+ * <p/>
+ *
+ * The backing component is shared with the frozen components and
+ * immutable copies created from this page, rather than copied. Once
+ * shared, the component is copied on the next modification instead.
  */
 public final class SimplePage implements Page {
     private BaseComponent backingComponent;
 
-    private final CachedSupplier<String> serialised = CachedSupplier.of(() -> PageSerializer.serializeToString(this));
+    /**
+     * Whether the backing component is shared with a {@link
+     * FrozenComponent}, and must therefore not be modified.
+     */
+    private boolean shared;
+
+    private final CachedSupplier<String> serialised = CachedSupplier.of(() -> PageSerializer.serializeToString(this.backingComponent));
 
     /**
      * Constructs a new <tt>SimplePage</tt> instance with a backing
@@ -46,15 +57,29 @@ public final class SimplePage implements Page {
         return this.backingComponent.duplicate();
     }
 
+    /**
+     * Returns the backing component frozen without copying, which
+     * is then shared, and copied on the next modification instead.
+     *
+     * @return the frozen backing component
+     */
+    @Override
+    public FrozenComponent getFrozenComponent() {
+        this.shared = true;
+        return FrozenComponent.adopt(this.backingComponent);
+    }
+
     @Override
     public void setBackingComponent(BaseComponent backingComponent) {
         this.backingComponent = backingComponent.duplicate();
+        this.shared = false;
         this.serialised.invalidate();
     }
 
     @Override
     public void modifyBackingComponent(UnaryOperator<BaseComponent> operator) {
-        this.setBackingComponent(operator.apply(this.backingComponent));
+        BaseComponent component = this.shared ? this.backingComponent.duplicate() : this.backingComponent;
+        this.setBackingComponent(operator.apply(component));
     }
 
     @Override
@@ -62,6 +87,14 @@ public final class SimplePage implements Page {
         return serialised.get();
     }
 
+    /**
+     * Simple pages are mutable, and are therefore only equal
+     * to themselves. Use {@link Page#immutableCopy()} to compare
+     * pages by their content.
+     *
+     * @param obj the object being compared
+     * @return true if the object is this page
+     */
     @Override
     public boolean equals(Object obj) {
         return super.equals(obj);
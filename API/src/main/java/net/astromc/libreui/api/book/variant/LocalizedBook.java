@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.variant;
+
+import net.astromc.libreui.api.book.Book;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A book translated into multiple locales. The author supplies
+ * the strings of each locale, and a renderer creating the book
+ * using a {@link Translator}. The book is rendered and serialized
+ * lazily, once per supported locale, and each player is shown the
+ * locale resolved from the client locale when the book is opened.
+ * <p/>
+ *
+ * A client locale is resolved to a supported locale by an exact
+ * match, such as <tt>de_de</tt>, then by the locale of only the
+ * language, such as <tt>de</tt>, then by the first added locale of
+ * the same language, such as <tt>de_at</tt>, and otherwise to the
+ * default locale. Locales are compared ignoring case, and the order
+ * in which locales were added to the {@link Builder} is kept, so a
+ * client locale always resolves to the same supported locale.
+ */
+public final class LocalizedBook {
+    /**
+     * The separator between the language and the country of a locale.
+     */
+    private static final char LOCALE_SEPARATOR = '_';
+
+    /**
+     * The maximum number of remembered client locale resolutions.
+     * Client locales are sent by the client, so the resolutions are
+     * bounded, to not let clients grow the map indefinitely.
+     */
+    private static final int MAXIMUM_RESOLVED_LOCALES = 256;
+
+    private final String defaultLocale;
+    private final Map<String, Map<String, String>> translations;
+    private final Map<String, String> resolvedLocales = new ConcurrentHashMap<>();
+
+    private final VariantBook<String> variants;
+
+    private LocalizedBook(String defaultLocale,
+                          Map<String, Map<String, String>> translations,
+                          Function<? super Translator, ? extends Book> renderer) {
+        this.defaultLocale = defaultLocale;
+        this.translations = translations;
+
+        Map<String, String> defaultStrings = translations.get(defaultLocale);
+
+        this.variants = new VariantBook.Builder<String>(
+                player -> this.resolveLocale(player.spigot().getLocale()),
+                locale -> renderer.apply(new Translator(locale, translations.get(locale), defaultStrings)))
+                .maximumVariants(translations.size())
+                .build();
+    }
+
+    /**
+     * Returns the book translated to the client locale of the <tt>player</tt>.
+     *
+     * @param player the player resolving the book for
+     * @return the translated book
+     */
+    public Book resolve(Player player) {
+        return this.variants.resolve(player);
+    }
+
+    /**
+     * Returns the supported locale, which the client <tt>locale</tt>
+     * resolves to, as described in the class documentation.
+     *
+     * @param locale the client locale
+     * @return the supported locale
+     */
+    public String resolveLocale(String locale) {
+        if (locale == null) {
+            return this.defaultLocale;
+        }
+
+        String normalizedLocale = normalizeLocale(locale);
+        String resolvedLocale = this.resolvedLocales.get(normalizedLocale);
+
+        if (resolvedLocale == null) {
+            resolvedLocale = this.findSupportedLocale(normalizedLocale);
+
+            if (this.resolvedLocales.size() < MAXIMUM_RESOLVED_LOCALES) {
+                this.resolvedLocales.put(normalizedLocale, resolvedLocale);
+            }
+        }
+
+        return resolvedLocale;
+    }
+
+    private String findSupportedLocale(String locale) {
+        if (this.translations.containsKey(locale)) {
+            return locale;
+        }
+
+        int separatorIndex = locale.indexOf(LOCALE_SEPARATOR);
+        String language = separatorIndex < 0 ? locale : locale.substring(0, separatorIndex);
+
+        if (this.translations.containsKey(language)) {
+            return language;
+        }
+
+        return this.translations.keySet().stream()
+                .filter(supported -> supported.startsWith(language + LOCALE_SEPARATOR))
+                .findFirst()
+                .orElse(this.defaultLocale);
+    }
+
+    private static String normalizeLocale(String locale) {
+        return locale.toLowerCase(Locale.ROOT).replace('-', LOCALE_SEPARATOR);
+    }
+
+    /**
+     * A Builder pattern implementation for the {@link LocalizedBook} class.
+     */
+    public static class Builder {
+        private final String defaultLocale;
+        private final Function<? super Translator, ? extends Book> renderer;
+        private final Map<String, Map<String, String>> translations = new LinkedHashMap<>();
+
+        /**
+         * Constructs a new {@link LocalizedBook.Builder}.
+         *
+         * @param defaultLocale the locale used for unsupported client locales
+         * @param renderer the function rendering the book using a translator
+         */
+        public Builder(String defaultLocale, Function<? super Translator, ? extends Book> renderer) {
+            this.defaultLocale = normalizeLocale(Objects.requireNonNull(defaultLocale, "defaultLocale"));
+            this.renderer = Objects.requireNonNull(renderer, "renderer");
+        }
+
+        /**
+         * Adds the <tt>strings</tt> of the <tt>locale</tt>.
+         *
+         * @param locale the locale of the strings
+         * @param strings the translated strings, by translation key
+         * @return this builder instance
+         */
+        public Builder translations(String locale, Map<String, String> strings) {
+            this.translations
+                    .computeIfAbsent(normalizeLocale(Objects.requireNonNull(locale, "locale")), key -> new HashMap<>())
+                    .putAll(strings);
+            return this;
+        }
+
+        /**
+         * Adds a translated <tt>string</tt> of the <tt>locale</tt>.
+         *
+         * @param locale the locale of the string
+         * @param key the translation key
+         * @param string the translated string
+         * @return this builder instance
+         */
+        public Builder translation(String locale, String key, String string) {
+            return this.translations(locale, Collections.singletonMap(
+                    Objects.requireNonNull(key, "key"),
+                    Objects.requireNonNull(string, "string")));
+        }
+
+        /**
+         * Constructs a new {@link LocalizedBook} object.
+         *
+         * @return a new {@link LocalizedBook} object
+         */
+        public LocalizedBook build() {
+            Map<String, Map<String, String>> translations = new LinkedHashMap<>();
+
+            this.translations.forEach((locale, strings) ->
+                    translations.put(locale, Collections.unmodifiableMap(new HashMap<>(strings))));
+            translations.putIfAbsent(this.defaultLocale, Collections.emptyMap());
+
+            return new LocalizedBook(this.defaultLocale, Collections.unmodifiableMap(translations), this.renderer);
+        }
+    }
+}
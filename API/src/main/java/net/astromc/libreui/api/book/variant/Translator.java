@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.variant;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolves translation keys to the strings of a single locale,
+ * used to render a {@link LocalizedBook}. Keys missing in the
+ * locale are resolved from the default locale, and keys missing
+ * in both resolve to the key itself.
+ */
+public final class Translator {
+    private final String locale;
+    private final Map<String, String> strings;
+    private final Map<String, String> defaultStrings;
+
+    Translator(String locale, Map<String, String> strings, Map<String, String> defaultStrings) {
+        this.locale = locale;
+        this.strings = strings;
+        this.defaultStrings = defaultStrings;
+    }
+
+    /**
+     * Returns the locale this translator resolves strings for.
+     *
+     * @return the locale, such as <tt>en_us</tt>
+     */
+    public String getLocale() {
+        return locale;
+    }
+
+    /**
+     * Returns the string of the translation <tt>key</tt>.
+     *
+     * @param key the translation key
+     * @return the translated string
+     */
+    public String translate(String key) {
+        Objects.requireNonNull(key, "key");
+
+        String string = this.strings.get(key);
+
+        if (string == null) {
+            string = this.defaultStrings.getOrDefault(key, key);
+        }
+
+        return string;
+    }
+
+    /**
+     * Returns the string of the translation <tt>key</tt>,
+     * formatted using {@link String#format(String, Object...)}
+     * with the specified <tt>arguments</tt>.
+     *
+     * @param key the translation key
+     * @param arguments the format arguments
+     * @return the translated and formatted string
+     */
+    public String translate(String key, Object... arguments) {
+        return String.format(this.translate(key), arguments);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.variant;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import net.astromc.libreui.api.book.Book;
+import org.bukkit.entity.Player;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A book personalized by a variant key derived from the player,
+ * such as a rank, a locale or a permission group. The book is
+ * defined as a function of the variant key, and each variant is
+ * rendered and serialized once, then shared by all players with
+ * the same variant key.
+ * <p/>
+ *
+ * The rendered variants are held in a bounded cache, and variants
+ * which have not been resolved for a while are evicted, so variants
+ * which no longer occur are cleaned up. Variant keys must implement
+ * {@link Object#equals(Object)} and {@link Object#hashCode()}, and
+ * the rendered books must not be modified.
+ *
+ * @param <K> the variant key type
+ */
+public final class VariantBook<K> {
+    private final Function<? super Player, ? extends K> variantKeyFunction;
+    private final LoadingCache<K, Book> variants;
+
+    private VariantBook(Function<? super Player, ? extends K> variantKeyFunction,
+                        LoadingCache<K, Book> variants) {
+        this.variantKeyFunction = variantKeyFunction;
+        this.variants = variants;
+    }
+
+    /**
+     * Returns the variant of this book for the <tt>player</tt>.
+     * The variant is rendered and serialized if it is not cached.
+     *
+     * @param player the player resolving the variant for
+     * @return the variant of this book for the player
+     */
+    public Book resolve(Player player) {
+        K variantKey = Objects.requireNonNull(this.variantKeyFunction.apply(player), "variant key");
+        return this.variants.getUnchecked(variantKey);
+    }
+
+    /**
+     * Invalidates the rendered variant for the <tt>variantKey</tt>,
+     * it will be rendered again when it is resolved next time.
+     *
+     * @param variantKey the variant key being invalidated
+     */
+    public void invalidate(K variantKey) {
+        this.variants.invalidate(variantKey);
+    }
+
+    /**
+     * Invalidates all rendered variants of this book.
+     */
+    public void invalidateAll() {
+        this.variants.invalidateAll();
+    }
+
+    /**
+     * A Builder pattern implementation for the {@link VariantBook} class.
+     *
+     * @param <K> the variant key type
+     */
+    public static class Builder<K> {
+        /**
+         * The default maximum number of cached variants.
+         */
+        private static final int DEFAULT_MAXIMUM_VARIANTS = 64;
+
+        /**
+         * The default duration in minutes, after which an
+         * unused variant is evicted.
+         */
+        private static final long DEFAULT_EXPIRE_AFTER_ACCESS_MINUTES = 30;
+
+        private final Function<? super Player, ? extends K> variantKeyFunction;
+        private final Function<? super K, ? extends Book> renderer;
+
+        private int maximumVariants = DEFAULT_MAXIMUM_VARIANTS;
+        private long expireAfterAccessDuration = DEFAULT_EXPIRE_AFTER_ACCESS_MINUTES;
+        private TimeUnit expireAfterAccessUnit = TimeUnit.MINUTES;
+
+        /**
+         * Constructs a new {@link VariantBook.Builder}.
+         *
+         * @param variantKeyFunction the function deriving the variant key from a player
+         * @param renderer the function rendering the book for a variant key
+         */
+        public Builder(Function<? super Player, ? extends K> variantKeyFunction,
+                       Function<? super K, ? extends Book> renderer) {
+            this.variantKeyFunction = Objects.requireNonNull(variantKeyFunction, "variantKeyFunction");
+            this.renderer = Objects.requireNonNull(renderer, "renderer");
+        }
+
+        /**
+         * Sets the maximum number of cached variants.
+         *
+         * @param maximumVariants the maximum number of cached variants
+         * @return this builder instance
+         * @throws IllegalArgumentException if <tt>maximumVariants</tt> is less than 1
+         */
+        public Builder<K> maximumVariants(int maximumVariants) throws IllegalArgumentException {
+            if (maximumVariants < 1) {
+                throw new IllegalArgumentException("maximumVariants is < 1");
+            }
+
+            this.maximumVariants = maximumVariants;
+            return this;
+        }
+
+        /**
+         * Sets the duration after which a variant, which has
+         * not been resolved, is evicted.
+         *
+         * @param duration the duration
+         * @param unit the unit of the duration
+         * @return this builder instance
+         * @throws IllegalArgumentException if <tt>duration</tt> is negative
+         */
+        public Builder<K> expireAfterAccess(long duration, TimeUnit unit) throws IllegalArgumentException {
+            if (duration < 0) {
+                throw new IllegalArgumentException("duration is < 0");
+            }
+
+            this.expireAfterAccessDuration = duration;
+            this.expireAfterAccessUnit = Objects.requireNonNull(unit, "unit");
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link VariantBook} object.
+         *
+         * @return a new {@link VariantBook} object
+         */
+        public VariantBook<K> build() {
+            Function<? super K, ? extends Book> renderer = this.renderer;
+
+            LoadingCache<K, Book> variants = CacheBuilder.newBuilder()
+                    .maximumSize(this.maximumVariants)
+                    .expireAfterAccess(this.expireAfterAccessDuration, this.expireAfterAccessUnit)
+                    .build(new CacheLoader<K, Book>() {
+                        @Override
+                        public Book load(K variantKey) {
+                            Book book = Objects.requireNonNull(renderer.apply(variantKey), "rendered book");
+                            book.getJsonRepresentation();
+
+                            return book;
+                        }
+                    });
+
+            return new VariantBook<>(this.variantKeyFunction, variants);
+        }
+    }
+}
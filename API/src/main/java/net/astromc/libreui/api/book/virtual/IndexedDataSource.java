@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.virtual;
+
+import java.util.List;
+
+/**
+ * A source of entries accessed by their index, such as a list of
+ * shop items or warps. The source is read by a {@link VirtualBook},
+ * which only reads the entries of the windows being rendered.
+ *
+ * @param <T> the entry type
+ */
+public interface IndexedDataSource<T> {
+    /**
+     * Returns the number of entries in this source.
+     *
+     * @return the number of entries
+     */
+    int size();
+
+    /**
+     * Returns the entry at the specified <tt>index</tt>.
+     *
+     * @param index the index of the entry
+     * @return the entry at the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    T get(int index) throws IndexOutOfBoundsException;
+
+    /**
+     * Creates a data source backed by the specified <tt>list</tt>.
+     * Changes to the list are reflected by the source.
+     *
+     * @param list the backing list
+     * @param <T> the entry type
+     * @return a data source backed by the list
+     */
+    static <T> IndexedDataSource<T> of(List<T> list) {
+        return new IndexedDataSource<T>() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public T get(int index) {
+                return list.get(index);
+            }
+        };
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.virtual;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.Page;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A book over a large {@link IndexedDataSource}, of which only a
+ * window of pages is rendered at a time. Clients limit the number
+ * of pages and bytes a book may hold, hence a book with thousands
+ * of entries cannot be displayed as a single {@link Book}.
+ * <p/>
+ *
+ * Every window ends with a generated navigation page, linking to
+ * the previous and next windows. The links run the {@link
+ * VirtualBook#NAVIGATION_COMMAND navigation command}, which opens
+ * the adjacent window. Rendered windows are held in a cache with
+ * least recently used eviction, hence the memory and rendering cost
+ * is proportional to the windows players actually browse.
+ * <p/>
+ *
+ * Rendered windows are not updated when the data source changes,
+ * {@link VirtualBook#invalidateAll()} must be invoked instead.
+ *
+ * @param <T> the entry type
+ */
+public final class VirtualBook<T> {
+    /**
+     * The command run by the navigation links, followed by the
+     * <tt>window</tt> sub-command, the book identifier and the
+     * window index.
+     */
+    public static final String NAVIGATION_COMMAND = "libreui";
+
+    /**
+     * The sub-command of the {@link VirtualBook#NAVIGATION_COMMAND}
+     * opening a window.
+     */
+    public static final String WINDOW_SUB_COMMAND = "window";
+
+    private final UUID id = UUID.randomUUID();
+
+    private final IndexedDataSource<T> source;
+    private final Function<? super List<T>, ? extends Page> renderer;
+    private final int entriesPerPage;
+    private final int pagesPerWindow;
+
+    private final LoadingCache<Integer, Book> windows;
+
+    private VirtualBook(IndexedDataSource<T> source,
+                        Function<? super List<T>, ? extends Page> renderer,
+                        int entriesPerPage,
+                        int pagesPerWindow,
+                        int maximumCachedWindows) {
+        this.source = source;
+        this.renderer = renderer;
+        this.entriesPerPage = entriesPerPage;
+        this.pagesPerWindow = pagesPerWindow;
+        this.windows = CacheBuilder.newBuilder()
+                .maximumSize(maximumCachedWindows)
+                .build(new CacheLoader<Integer, Book>() {
+                    @Override
+                    public Book load(Integer window) {
+                        return renderWindow(window);
+                    }
+                });
+    }
+
+    /**
+     * Returns the identifier of this book, used by the navigation links.
+     *
+     * @return the identifier of this book
+     */
+    public UUID getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the number of windows of this book, based on the
+     * current size of the data source. There is always at least
+     * one window.
+     *
+     * @return the number of windows
+     */
+    public int getWindowCount() {
+        int pageCount = ceilDiv(this.source.size(), this.entriesPerPage);
+        return Math.max(1, ceilDiv(pageCount, this.pagesPerWindow));
+    }
+
+    /**
+     * Returns the rendered <tt>window</tt> of this book. The window
+     * is rendered and serialized if it is not cached.
+     *
+     * @param window the index of the window
+     * @return the rendered window
+     * @throws IndexOutOfBoundsException if the window is out of bounds
+     */
+    public Book getWindow(int window) throws IndexOutOfBoundsException {
+        if (window < 0 || window >= this.getWindowCount()) {
+            throw new IndexOutOfBoundsException("window " + window + " of " + this.getWindowCount());
+        }
+
+        return this.windows.getUnchecked(window);
+    }
+
+    /**
+     * Invalidates all rendered windows, they will be rendered again
+     * when they are requested. Must be invoked when the data source
+     * has changed.
+     */
+    public void invalidateAll() {
+        this.windows.invalidateAll();
+    }
+
+    private Book renderWindow(int window) {
+        int entryCount = this.source.size();
+        int windowCount = this.getWindowCount();
+
+        int firstEntry = window * this.pagesPerWindow * this.entriesPerPage;
+        int lastEntry = (int) Math.min(entryCount, (long) firstEntry + (long) this.pagesPerWindow * this.entriesPerPage);
+
+        List<Page> pages = new ArrayList<>(this.pagesPerWindow + 1);
+
+        for (int pageStart = firstEntry; pageStart < lastEntry; pageStart += this.entriesPerPage) {
+            int pageEnd = Math.min(lastEntry, pageStart + this.entriesPerPage);
+            List<T> entries = new ArrayList<>(pageEnd - pageStart);
+
+            for (int index = pageStart; index < pageEnd; index++) {
+                entries.add(this.source.get(index));
+            }
+
+            pages.add(Objects.requireNonNull(this.renderer.apply(Collections.unmodifiableList(entries)), "rendered page"));
+        }
+
+        if (pages.isEmpty()) {
+            pages.add(Objects.requireNonNull(this.renderer.apply(Collections.emptyList()), "rendered page"));
+        }
+
+        Book book = new Book.Builder(pages.get(0))
+                .addPages(pages.subList(1, pages.size()).toArray(new Page[pages.size() - 1]))
+                .addPage(this.createNavigationPage(window, windowCount))
+                .build();
+        book.getJsonRepresentation();
+
+        return book;
+    }
+
+    private Page createNavigationPage(int window, int windowCount) {
+        TextComponent component = new TextComponent((window + 1) + " / " + windowCount + "\n\n");
+        component.setColor(ChatColor.DARK_GRAY);
+
+        if (window > 0) {
+            component.addExtra(this.createNavigationLink("\u00AB Previous", window - 1));
+            component.addExtra("\n");
+        }
+
+        if (window + 1 < windowCount) {
+            component.addExtra(this.createNavigationLink("Next \u00BB", window + 1));
+        }
+
+        return Page.newInstance(component);
+    }
+
+    private TextComponent createNavigationLink(String label, int targetWindow) {
+        TextComponent link = new TextComponent(label);
+        link.setColor(ChatColor.DARK_BLUE);
+        link.setUnderlined(true);
+        link.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND,
+                "/" + NAVIGATION_COMMAND + " " + WINDOW_SUB_COMMAND + " " + this.id + " " + targetWindow));
+
+        return link;
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * Returns the virtual book with the specified <tt>id</tt>, if it
+     * has been built and is still referenced.
+     *
+     * @param id the identifier of the book
+     * @return the virtual book, if present
+     */
+    public static Optional<VirtualBook<?>> getById(UUID id) {
+        return VirtualBookRegistry.lookup(id);
+    }
+
+    /**
+     * A Builder pattern implementation for the {@link VirtualBook} class.
+     *
+     * @param <T> the entry type
+     */
+    public static class Builder<T> {
+        /**
+         * The default number of entries rendered on a page.
+         */
+        private static final int DEFAULT_ENTRIES_PER_PAGE = 1;
+
+        /**
+         * The default number of pages in a window, excluding
+         * the navigation page.
+         */
+        private static final int DEFAULT_PAGES_PER_WINDOW = 20;
+
+        /**
+         * The default maximum number of cached windows.
+         */
+        private static final int DEFAULT_MAXIMUM_CACHED_WINDOWS = 16;
+
+        private final IndexedDataSource<T> source;
+        private final Function<? super List<T>, ? extends Page> renderer;
+
+        private int entriesPerPage = DEFAULT_ENTRIES_PER_PAGE;
+        private int pagesPerWindow = DEFAULT_PAGES_PER_WINDOW;
+        private int maximumCachedWindows = DEFAULT_MAXIMUM_CACHED_WINDOWS;
+
+        /**
+         * Constructs a new {@link VirtualBook.Builder}.
+         *
+         * @param source the data source of the book
+         * @param renderer the function rendering the entries of a page
+         */
+        public Builder(IndexedDataSource<T> source, Function<? super List<T>, ? extends Page> renderer) {
+            this.source = Objects.requireNonNull(source, "source");
+            this.renderer = Objects.requireNonNull(renderer, "renderer");
+        }
+
+        /**
+         * Sets the number of entries rendered on a page.
+         *
+         * @param entriesPerPage the number of entries on a page
+         * @return this builder instance
+         * @throws IllegalArgumentException if <tt>entriesPerPage</tt> is less than 1
+         */
+        public Builder<T> entriesPerPage(int entriesPerPage) throws IllegalArgumentException {
+            if (entriesPerPage < 1) {
+                throw new IllegalArgumentException("entriesPerPage is < 1");
+            }
+
+            this.entriesPerPage = entriesPerPage;
+            return this;
+        }
+
+        /**
+         * Sets the number of pages in a window, excluding the
+         * navigation page.
+         *
+         * @param pagesPerWindow the number of pages in a window
+         * @return this builder instance
+         * @throws IllegalArgumentException if <tt>pagesPerWindow</tt> is less than 1
+         */
+        public Builder<T> pagesPerWindow(int pagesPerWindow) throws IllegalArgumentException {
+            if (pagesPerWindow < 1) {
+                throw new IllegalArgumentException("pagesPerWindow is < 1");
+            }
+
+            this.pagesPerWindow = pagesPerWindow;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached windows.
+         *
+         * @param maximumCachedWindows the maximum number of cached windows
+         * @return this builder instance
+         * @throws IllegalArgumentException if <tt>maximumCachedWindows</tt> is less than 1
+         */
+        public Builder<T> maximumCachedWindows(int maximumCachedWindows) throws IllegalArgumentException {
+            if (maximumCachedWindows < 1) {
+                throw new IllegalArgumentException("maximumCachedWindows is < 1");
+            }
+
+            this.maximumCachedWindows = maximumCachedWindows;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link VirtualBook} object, and registers
+         * it for its navigation links.
+         *
+         * @return a new {@link VirtualBook} object
+         */
+        public VirtualBook<T> build() {
+            VirtualBook<T> book = new VirtualBook<>(this.source, this.renderer,
+                    this.entriesPerPage, this.pagesPerWindow, this.maximumCachedWindows);
+            VirtualBookRegistry.register(book);
+
+            return book;
+        }
+    }
+}
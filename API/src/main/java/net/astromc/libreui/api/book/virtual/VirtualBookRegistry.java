@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.virtual;
+
+import com.google.common.collect.MapMaker;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The registry of {@link VirtualBook}s by their identifiers, used
+ * to resolve the book targeted by a navigation command. The books
+ * are weakly referenced, so registering a book does not prevent it
+ * from being garbage collected.
+ */
+enum VirtualBookRegistry {;
+
+    private static final ConcurrentMap<UUID, VirtualBook<?>> BOOKS = new MapMaker().weakValues().makeMap();
+
+    static void register(VirtualBook<?> book) {
+        BOOKS.put(book.getId(), book);
+    }
+
+    static Optional<VirtualBook<?>> lookup(UUID id) {
+        return Optional.ofNullable(BOOKS.get(id));
+    }
+}
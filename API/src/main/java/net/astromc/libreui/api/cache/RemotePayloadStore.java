@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.api.cache;
+
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A second-level store of rendered books, shared by several servers,
+ * so a book rendered by one server does not have to be rendered again
+ * by the others. Payloads are keyed by the {@link
+ * net.astromc.libreui.api.book.Book#getContentHash() content hash} of
+ * their book, and the {@link ProtocolFamily} they are rendered for. The
+ * payloads are opaque to the store, and describe the server they were
+ * rendered by, so a payload of an incompatible server is ignored.
+ * <p/>
+ *
+ * The store is never consulted while a book is opened, opens are only
+ * served from the local payload cache. The store is looked up when
+ * books are preloaded, such as the recently opened books after a restart,
+ * and a found payload is offered to the local cache in the background.
+ * Implementations must not block the calling thread, all operations
+ * complete asynchronously. LibreUI bounds every lookup by a timeout,
+ * and renders the book locally if the store is slow, or fails, hence
+ * implementations don't have to implement timeouts of their own.
+ * <p/>
+ *
+ * Stores are plugged in by registering them as a Bukkit service,
+ * while the store plugin is loaded, and setting the <tt>remote-store.type</tt>
+ * configuration value to <tt>service</tt>.
+ */
+public interface RemotePayloadStore {
+    /**
+     * Looks up the payload of the book with the <tt>contentHash</tt>,
+     * rendered for the <tt>family</tt>.
+     *
+     * @param contentHash the content hash of the book
+     * @param family the protocol family of the payload
+     * @return a stage completed with the payload, or an empty
+     * {@link Optional} if the store does not hold it
+     */
+    CompletionStage<Optional<byte[]>> get(long contentHash, ProtocolFamily family);
+
+    /**
+     * Stores the payload of the book with the <tt>contentHash</tt>,
+     * rendered for the <tt>family</tt>. The <tt>payload</tt> array
+     * is not modified afterwards, and may be stored as is.
+     *
+     * @param contentHash the content hash of the book
+     * @param family the protocol family of the payload
+     * @param payload the rendered payload
+     * @return a stage completed once the payload is stored
+     */
+    CompletionStage<Void> put(long contentHash, ProtocolFamily family, byte[] payload);
+}
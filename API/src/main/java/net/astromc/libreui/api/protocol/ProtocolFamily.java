@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.protocol;
+
+import java.util.Optional;
+
+/**
+ * A family of client protocol versions, which share the same
+ * way of opening a book. Rendered book payloads are cached per
+ * family, rather than per protocol version, as all versions of a
+ * family are handed the same payload.
+ */
+public enum ProtocolFamily {
+    /**
+     * Minecraft 1.7.2 to 1.8.9, opening the held book through the
+     * <tt>MC|BOpen</tt> channel, without specifying a hand.
+     */
+    LEGACY(4, "MC|BOpen", false),
+    /**
+     * Minecraft 1.9 to 1.12.2, opening the book in the specified
+     * hand through the <tt>MC|BOpen</tt> channel.
+     */
+    DUAL_WIELDING(107, "MC|BOpen", true),
+    /**
+     * Minecraft 1.13 to 1.13.2, opening the book in the specified
+     * hand through the namespaced <tt>minecraft:book_open</tt> channel.
+     */
+    NAMESPACED_CHANNEL(393, "minecraft:book_open", true),
+    /**
+     * Minecraft 1.14 and above, opening the book in the specified
+     * hand through a dedicated packet, rather than a channel.
+     */
+    OPEN_BOOK_PACKET(477, null, true);
+
+    /**
+     * The magic value which signifies the main hand.
+     */
+    private static final byte MAIN_HAND = 0;
+
+    private final int minimumProtocolVersion;
+    private final String openBookChannel;
+    private final boolean handSpecified;
+
+    ProtocolFamily(int minimumProtocolVersion, String openBookChannel, boolean handSpecified) {
+        this.minimumProtocolVersion = minimumProtocolVersion;
+        this.openBookChannel = openBookChannel;
+        this.handSpecified = handSpecified;
+    }
+
+    /**
+     * Returns the lowest protocol version of this family.
+     *
+     * @return the minimum protocol version
+     */
+    public int getMinimumProtocolVersion() {
+        return minimumProtocolVersion;
+    }
+
+    /**
+     * Returns the plugin messaging channel opening a book, or an
+     * empty {@link Optional} if this family uses a dedicated packet.
+     *
+     * @return the open book channel, if any
+     */
+    public Optional<String> getOpenBookChannel() {
+        return Optional.ofNullable(openBookChannel);
+    }
+
+    /**
+     * Returns whether the hand holding the book must be specified
+     * when opening it.
+     *
+     * @return true if the hand must be specified
+     */
+    public boolean isHandSpecified() {
+        return handSpecified;
+    }
+
+    /**
+     * Returns a new copy of the message opening the book in the
+     * main hand, which is empty if the hand is not specified.
+     *
+     * @return the open book message
+     */
+    public byte[] getOpenBookMessage() {
+        return handSpecified ? new byte[] {MAIN_HAND} : new byte[0];
+    }
+
+    /**
+     * Returns the family of the specified <tt>protocolVersion</tt>.
+     * Protocol versions below the supported families are considered
+     * {@link ProtocolFamily#LEGACY}.
+     *
+     * @param protocolVersion the client protocol version
+     * @return the family of the protocol version
+     */
+    public static ProtocolFamily fromProtocolVersion(int protocolVersion) {
+        ProtocolFamily[] families = values();
+
+        for (int i = families.length - 1; i > 0; i--) {
+            if (protocolVersion >= families[i].minimumProtocolVersion) {
+                return families[i];
+            }
+        }
+
+        return LEGACY;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.protocol;
+
+/**
+ * The plugin messaging channel between the LibreUI plugin of a server,
+ * and the LibreUI plugin of the proxy in front of it. The proxy opens
+ * books on its own, by sending the book to the held slot of the client,
+ * hence it relies on the server to report the held slot, and to send
+ * the original item of the slot again, once the book is opened.
+ * <p/>
+ *
+ * Every message starts with a byte identifying the message type,
+ * followed by the fields of the message.
+ */
+public enum ProxyChannel {;
+
+    /**
+     * The name of the channel, which is namespaced, as required on
+     * servers from Minecraft 1.13, but also accepted by older servers.
+     */
+    public static final String NAME = "libreui:proxy";
+
+    /**
+     * Sent by the server, whenever the held slot of the player changes,
+     * followed by the held hotbar slot as a byte, from 0 to 8.
+     */
+    public static final byte HELD_SLOT_MESSAGE = 0;
+
+    /**
+     * Sent by the proxy, once a book has been opened to the player, for
+     * the server to send the inventory of the player again, restoring
+     * the original item of the held slot. The message has no fields.
+     */
+    public static final byte RESYNC_INVENTORY_MESSAGE = 1;
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The Flight Recorder events of the {@link BookOpenStage stages}.
+ * This is the only class referencing the <tt>jdk.jfr</tt> package,
+ * and is only loaded by {@link BookOpenProfiling} once the package
+ * is known to be available.
+ */
+enum BookOpenEvents {;
+
+    /**
+     * An event per stage, which is never committed, but used to check
+     * whether the events of the stage are enabled without allocating.
+     */
+    private static final Map<BookOpenStage, BookOpenEvent> PROTOTYPES = new EnumMap<>(BookOpenStage.class);
+
+    static {
+        for (BookOpenStage stage : BookOpenStage.values()) {
+            PROTOTYPES.put(stage, newEvent(stage));
+        }
+    }
+
+    /**
+     * Begins an event of the <tt>stage</tt>, if its events are enabled.
+     *
+     * @param stage the stage being timed
+     * @return the begun event, or <tt>null</tt> if disabled
+     */
+    static StageTimer begin(BookOpenStage stage) {
+        if (!PROTOTYPES.get(stage).isEnabled()) {
+            return null;
+        }
+
+        BookOpenEvent event = newEvent(stage);
+        event.begin();
+        return event;
+    }
+
+    private static BookOpenEvent newEvent(BookOpenStage stage) {
+        switch (stage) {
+            case PAGE_SERIALIZATION:
+                return new PageSerializationEvent();
+            case BOOK_SERIALIZATION:
+                return new BookSerializationEvent();
+            case ITEM_BUILD:
+                return new ItemBuildEvent();
+            case INVENTORY_SWAP:
+                return new InventorySwapEvent();
+            case CHANNEL_REGISTRATION:
+                return new ChannelRegistrationEvent();
+            case MESSAGE_SEND:
+                return new MessageSendEvent();
+            default:
+                throw new AssertionError(stage);
+        }
+    }
+
+    @Category({"LibreUI", "Book Open"})
+    @StackTrace(false)
+    abstract static class BookOpenEvent extends Event implements StageTimer {
+        // The fields are not private, as private fields of a superclass are not recorded
+        @Label("Content Hash")
+        long contentHash;
+
+        @Label("Page Count")
+        int pageCount;
+
+        @Label("Byte Size")
+        @DataAmount
+        long byteSize;
+
+        @Label("Player")
+        String player;
+
+        @Override
+        public boolean stop() {
+            this.end();
+            return this.shouldCommit();
+        }
+
+        @Override
+        public void record(long contentHash, int pageCount, long byteSize, String player) {
+            this.contentHash = contentHash;
+            this.pageCount = pageCount;
+            this.byteSize = byteSize;
+            this.player = player;
+            this.commit();
+        }
+    }
+
+    @Name("net.astromc.libreui.PageSerialization")
+    @Label("Page Serialization")
+    static final class PageSerializationEvent extends BookOpenEvent {
+    }
+
+    @Name("net.astromc.libreui.BookSerialization")
+    @Label("Book Serialization")
+    static final class BookSerializationEvent extends BookOpenEvent {
+    }
+
+    @Name("net.astromc.libreui.ItemBuild")
+    @Label("Item Build")
+    static final class ItemBuildEvent extends BookOpenEvent {
+    }
+
+    @Name("net.astromc.libreui.InventorySwap")
+    @Label("Inventory Swap")
+    static final class InventorySwapEvent extends BookOpenEvent {
+    }
+
+    @Name("net.astromc.libreui.ChannelRegistration")
+    @Label("Channel Registration")
+    static final class ChannelRegistrationEvent extends BookOpenEvent {
+    }
+
+    @Name("net.astromc.libreui.MessageSend")
+    @Label("Message Send")
+    static final class MessageSendEvent extends BookOpenEvent {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.profiling;
+
+/**
+ * Utility class recording the {@link BookOpenStage stages} of opening
+ * books as Flight Recorder events, which identify the book, and the
+ * player of every stage. Usage is as following:
+ * <pre>{@code
+ * StageTimer timer = BookOpenProfiling.begin(BookOpenStage.ITEM_BUILD);
+ * ItemStack item = build(book);
+ * timer.finish(book, player);
+ * }</pre>
+ *
+ * The events are named <tt>net.astromc.libreui.*</tt>, and are only
+ * recorded when enabled in a recording. When they are disabled, or the
+ * Flight Recorder is not available on the running JVM, a shared timer
+ * doing nothing is returned, hence continuous recordings may run in
+ * production.
+ */
+public enum BookOpenProfiling {;
+
+    /**
+     * The timer returned when the stage is not recorded.
+     */
+    private static final StageTimer DISABLED_TIMER = new StageTimer() {
+        @Override
+        public boolean stop() {
+            return false;
+        }
+
+        @Override
+        public void record(long contentHash, int pageCount, long byteSize, String player) {
+        }
+    };
+
+    private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    /**
+     * Starts timing the <tt>stage</tt>, if it is recorded.
+     *
+     * @param stage the stage being timed
+     * @return the timer of the stage
+     */
+    public static StageTimer begin(BookOpenStage stage) {
+        if (!AVAILABLE) {
+            return DISABLED_TIMER;
+        }
+
+        StageTimer timer = BookOpenEvents.begin(stage);
+        return timer == null ? DISABLED_TIMER : timer;
+    }
+
+    /**
+     * Returns whether the Flight Recorder is available on the
+     * running JVM, which is from Java 8u262, and Java 11.
+     *
+     * @return true if the stages may be recorded
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, BookOpenProfiling.class.getClassLoader());
+            BookOpenEvents.begin(BookOpenStage.PAGE_SERIALIZATION);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.profiling;
+
+/**
+ * The stages of opening a book, each of which is recorded as
+ * a separate Flight Recorder event, as described by {@link
+ * BookOpenProfiling}.
+ */
+public enum BookOpenStage {
+    /**
+     * Serializing the backing component of a page to JSON.
+     */
+    PAGE_SERIALIZATION,
+    /**
+     * Joining the JSON representations of the pages of a book.
+     */
+    BOOK_SERIALIZATION,
+    /**
+     * Looking up, or building the written book item of a book.
+     */
+    ITEM_BUILD,
+    /**
+     * Swapping the written book item into, or out of the hand of a player.
+     */
+    INVENTORY_SWAP,
+    /**
+     * Insuring the open book channel is registered to a player.
+     */
+    CHANNEL_REGISTRATION,
+    /**
+     * Sending the open book plugin message to a player.
+     */
+    MESSAGE_SEND
+}
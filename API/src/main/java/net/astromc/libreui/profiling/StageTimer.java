@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.profiling;
+
+import com.google.common.base.Utf8;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.utils.ContentHashes;
+import org.bukkit.entity.Player;
+
+/**
+ * Times a single {@link BookOpenStage}, started by {@link
+ * BookOpenProfiling#begin(BookOpenStage)}. The stage is recorded
+ * when one of the <tt>finish</tt> methods is invoked, which may be
+ * invoked at most once. Stages which fail are not finished, and are
+ * therefore not recorded.
+ * <p/>
+ *
+ * The recorded values are only computed if the stage is actually
+ * recorded, so the arguments must be cheap to pass.
+ *
+ * @implNote The <tt>finish</tt> methods are default methods, as the
+ * Flight Recorder reflects on the methods declared by its events, which
+ * must therefore not refer to classes missing on a proxy, such as
+ * {@link Player}.
+ */
+public interface StageTimer {
+    /**
+     * Stops timing the stage.
+     *
+     * @return true if the stage should be recorded
+     */
+    boolean stop();
+
+    /**
+     * Records the stopped stage with the specified values.
+     *
+     * @param contentHash the content hash of the book or page
+     * @param pageCount the number of pages
+     * @param byteSize the encoded length of the book or page
+     * @param player the name of the player, or <tt>null</tt> if none
+     */
+    void record(long contentHash, int pageCount, long byteSize, String player);
+
+    /**
+     * Finishes the stage of the <tt>book</tt>, recording its content
+     * hash, page count and encoded length.
+     *
+     * @param book the book of the stage
+     * @param player the player of the stage, or <tt>null</tt> if none
+     */
+    default void finish(Book book, Player player) {
+        if (this.stop()) {
+            this.record(book.getContentHash(), book.getPageCount(), book.getEncodedLength(),
+                    player == null ? null : player.getName());
+        }
+    }
+
+    /**
+     * Finishes the stage of a single page, recording the content hash
+     * and the encoded length of its <tt>jsonRepresentation</tt>.
+     *
+     * @param jsonRepresentation the JSON representation of the page
+     */
+    default void finishPage(String jsonRepresentation) {
+        if (this.stop()) {
+            this.record(ContentHashes.hash(jsonRepresentation), 1, Utf8.encodedLength(jsonRepresentation), null);
+        }
+    }
+}
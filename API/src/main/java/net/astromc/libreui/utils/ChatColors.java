@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.utils;
+
+import net.md_5.bungee.api.ChatColor;
+
+/**
+ * Utility class for {@link ChatColor}s. The chat colors are only
+ * compared by identity, as {@link ChatColor} is an enum on older
+ * servers, but a final class from Minecraft 1.16, so it may not be
+ * used with enum specific classes such as {@link java.util.EnumSet}.
+ */
+public enum ChatColors {;
+
+    /**
+     * Returns whether the <tt>color</tt> is a formatting code, rather
+     * than an actual color.
+     *
+     * @param color the chat color being checked
+     * @return true if the chat color is a formatting code
+     */
+    public static boolean isFormattingCode(ChatColor color) {
+        return color == ChatColor.MAGIC
+                || color == ChatColor.BOLD
+                || color == ChatColor.STRIKETHROUGH
+                || color == ChatColor.UNDERLINE
+                || color == ChatColor.ITALIC
+                || color == ChatColor.RESET;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.utils;
+
+import com.google.common.collect.MapMaker;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The registry of {@link ReleasingCachedSupplier}s, which releases
+ * idle cached values to the cold tier, where they are not held at
+ * all, and are created again once requested. The suppliers are
+ * weakly referenced, so registering a supplier does not prevent
+ * its owner from being garbage collected.
+ */
+public enum ColdTier {;
+
+    private static final Set<ReleasingCachedSupplier<?>> SUPPLIERS =
+            Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    static void register(ReleasingCachedSupplier<?> supplier) {
+        SUPPLIERS.add(supplier);
+    }
+
+    /**
+     * Releases the cached values of all registered suppliers,
+     * which have not been requested for at least the specified
+     * idle time. This method is safe to invoke asynchronously.
+     *
+     * @param idleTime the minimum idle time
+     * @param unit the unit of the idle time
+     * @return the number of released values
+     */
+    public static int releaseIdle(long idleTime, TimeUnit unit) {
+        long idleNanos = unit.toNanos(idleTime);
+        int releasedValues = 0;
+
+        for (ReleasingCachedSupplier<?> supplier : SUPPLIERS) {
+            if (supplier.releaseIfIdle(idleNanos)) {
+                releasedValues++;
+            }
+        }
+
+        return releasedValues;
+    }
+}
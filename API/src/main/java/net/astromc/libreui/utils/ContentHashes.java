@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.utils;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Utility class computing the 64-bit content hashes of pages
+ * and books. The hashes are stable for the same content, but
+ * not across different versions of this library.
+ */
+public enum ContentHashes {;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    /**
+     * The 64-bit golden ratio, used to spread positions.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Returns the 64-bit hash of the JSON representation of a page.
+     *
+     * @param jsonRepresentation the JSON representation
+     * @return the content hash
+     */
+    public static long hash(String jsonRepresentation) {
+        return HASH_FUNCTION.hashUnencodedChars(jsonRepresentation).asLong();
+    }
+
+    /**
+     * Mixes the content hash of a page with its position in a book.
+     * A book hash is the sum of the mixed hashes of its pages, so it
+     * can be updated by subtracting and adding the mixed hashes of
+     * the changed pages, while the order of the pages still matters.
+     *
+     * @param contentHash the content hash of the page
+     * @param index the index of the page in the book
+     * @return the mixed hash
+     */
+    public static long mix(long contentHash, int index) {
+        long hash = contentHash + (index + 1) * GOLDEN_RATIO;
+
+        // The finalization mix of MurmurHash3
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
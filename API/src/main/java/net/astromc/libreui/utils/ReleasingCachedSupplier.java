@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * A caching supplier, which releases its cached value once it has not
+ * been used for a while, see {@link ColdTier#releaseIdle(long,
+ * java.util.concurrent.TimeUnit)}. A released value is created again
+ * by the backing supplier, the next time it is requested, so the
+ * supplier should be cheap to invoke.
+ * <p/>
+ *
+ * Unlike the {@link CachedSupplier}, this supplier is thread-safe, as
+ * values are released by a background task. The backing supplier is
+ * never invoked while holding the monitor of this supplier, so the
+ * background task is never blocked by the creation of a value.
+ *
+ * @param <T> the type of the cached value
+ */
+public final class ReleasingCachedSupplier<T> implements Supplier<T> {
+    private final Supplier<T> supplier;
+
+    private volatile T value;
+    private volatile long lastAccessNanos;
+
+    /**
+     * The number of invalidations, used to discard values
+     * created before the latest invalidation.
+     */
+    private long generation;
+
+    private ReleasingCachedSupplier(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    public synchronized void invalidate() {
+        this.value = null;
+        this.generation++;
+    }
+
+    public T get() {
+        this.lastAccessNanos = System.nanoTime();
+
+        T value = this.value;
+
+        if (value == null) {
+            long generation;
+
+            synchronized (this) {
+                generation = this.generation;
+            }
+
+            value = this.supplier.get();
+
+            synchronized (this) {
+                if (this.generation == generation) {
+                    this.value = value;
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Releases the cached value, if it has not been requested for
+     * at least <tt>idleNanos</tt> nanoseconds.
+     *
+     * @param idleNanos the minimum idle time in nanoseconds
+     * @return true if a cached value was released
+     */
+    boolean releaseIfIdle(long idleNanos) {
+        if (this.value == null || System.nanoTime() - this.lastAccessNanos < idleNanos) {
+            return false;
+        }
+
+        this.value = null;
+        return true;
+    }
+
+    /**
+     * Creates a new <tt>ReleasingCachedSupplier</tt>, and
+     * registers it to the {@link ColdTier}.
+     *
+     * @param supplier the supplier creating the value
+     * @param <T> the type of the cached value
+     * @return a new releasing cached supplier
+     */
+    public static <T> ReleasingCachedSupplier<T> of(Supplier<T> supplier) {
+        ReleasingCachedSupplier<T> cachedSupplier = new ReleasingCachedSupplier<>(supplier);
+        ColdTier.register(cachedSupplier);
+
+        return cachedSupplier;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.LazyPage;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BookContentHashTest {
+
+    private static Page page(String text) {
+        return new PageWriter().text(text).build();
+    }
+
+    private static Book book(String... texts) {
+        Book.Builder builder = new Book.Builder(page(texts[0]));
+
+        for (int i = 1; i < texts.length; i++) {
+            builder.addPage(page(texts[i]));
+        }
+
+        return builder.build();
+    }
+
+    @Test
+    public void equalPagesHaveEqualHashes() {
+        assertEquals(book("a", "b", "c").getContentHash(), book("a", "b", "c").getContentHash());
+        assertEquals(book("a", "b", "c"), book("a", "b", "c"));
+    }
+
+    @Test
+    public void pageOrderChangesHash() {
+        assertNotEquals(book("a", "b").getContentHash(), book("b", "a").getContentHash());
+    }
+
+    @Test
+    public void insertUpdatesHash() {
+        Book book = book("a", "c");
+        book.insertPage(1, page("b"));
+
+        assertEquals(book("a", "b", "c").getContentHash(), book.getContentHash());
+
+        book.insertPage(0, page("z"));
+        assertEquals(book("z", "a", "b", "c").getContentHash(), book.getContentHash());
+    }
+
+    @Test
+    public void removeUpdatesHash() {
+        Book book = book("a", "b", "c", "d");
+        book.removePage(1);
+
+        assertEquals(book("a", "c", "d").getContentHash(), book.getContentHash());
+
+        book.removePage(2);
+        assertEquals(book("a", "c").getContentHash(), book.getContentHash());
+    }
+
+    @Test
+    public void setUpdatesHash() {
+        Book book = book("a", "b", "c");
+        book.setPage(1, page("x"));
+
+        assertEquals(book("a", "x", "c").getContentHash(), book.getContentHash());
+    }
+
+    @Test
+    public void editUpdatesHash() {
+        Book book = book("a", "b", "c");
+        book.edit(editor -> editor
+                .removePage(0)
+                .insertPage(1, page("x"))
+                .addPage(page("d"))
+                .setPage(0, page("y")));
+
+        assertEquals(book("y", "x", "c", "d").getContentHash(), book.getContentHash());
+        assertEquals(book("y", "x", "c", "d"), book);
+    }
+
+    @Test
+    public void addThenRemoveRestoresHash() {
+        Book book = book("a", "b");
+        long contentHash = book.getContentHash();
+
+        book.addPage(page("c"));
+        book.removePage(2);
+
+        assertEquals(contentHash, book.getContentHash());
+    }
+
+    @Test
+    public void resolvedLazyPageIsHashedByItsContent() {
+        LazyPage lazyPage = LazyPage.ofAsync(() -> CompletableFuture.completedFuture(page("fetched")),
+                page("placeholder"), 1, TimeUnit.SECONDS);
+
+        Book book = book("a");
+        book.addPage(lazyPage);
+
+        assertTrue(book.hasPendingPages());
+        assertEquals(book("a", "placeholder").getContentHash(), book.getContentHash());
+
+        book.fetchPendingPages().join();
+
+        assertFalse(book.hasPendingPages());
+        assertEquals(book("a", "fetched").getContentHash(), book.getContentHash());
+
+        book.removePage(1);
+        assertEquals(book("a").getContentHash(), book.getContentHash());
+    }
+
+    @Test
+    public void copyIsIndependentOfTheOriginal() {
+        Book original = book("a", "b", "c");
+        Book copy = original.copy();
+
+        assertEquals(original, copy);
+        assertEquals(original.getEncodedLength(), copy.getEncodedLength());
+
+        copy.setPage(1, page("x")).removePage(2);
+
+        assertEquals(book("a", "b", "c"), original);
+        assertEquals(book("a", "x").getContentHash(), copy.getContentHash());
+        assertEquals(book("a", "x").getEncodedLength(), copy.getEncodedLength());
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.Page;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class BookEditorTest {
+
+    private static Page page(String text) {
+        return Page.newInstance(new TextComponent(text));
+    }
+
+    private static Book book(String... texts) {
+        Book.Builder builder = new Book.Builder(page(texts[0]));
+
+        for (int i = 1; i < texts.length; i++) {
+            builder.addPage(page(texts[i]));
+        }
+
+        return builder.build();
+    }
+
+    private static void assertSameContent(Book expected, Book actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getContentHash(), actual.getContentHash());
+        assertEquals(expected.getEncodedLength(), actual.getEncodedLength());
+        assertEquals(expected.getJsonRepresentation(), actual.getJsonRepresentation());
+    }
+
+    private static BaseComponent append(BaseComponent component, String text) {
+        TextComponent textComponent = (TextComponent) component;
+        textComponent.setText(textComponent.getText() + text);
+        return textComponent;
+    }
+
+    @Test
+    public void repeatedSetPageKeepsLastPage() {
+        Book book = book("a", "b", "c");
+        book.edit(editor -> editor
+                .setPage(1, page("x"))
+                .setPage(1, page("y")));
+
+        assertSameContent(book("a", "y", "c"), book);
+    }
+
+    @Test
+    public void modifyPageChainsOperators() {
+        AtomicReference<BaseComponent> first = new AtomicReference<>();
+        Book book = book("a", "b");
+
+        book.edit(editor -> editor
+                .modifyPage(0, component -> {
+                    first.set(component);
+                    return append(component, "x");
+                })
+                .modifyPage(0, component -> {
+                    assertSame(first.get(), component);
+                    return append(component, "y");
+                }));
+
+        assertSameContent(book("axy", "b"), book);
+    }
+
+    @Test
+    public void modifyPageReplacesPreviousSet() {
+        Page simplePage = page("s");
+        Book book = book("a", "b");
+
+        book.edit(editor -> editor
+                .setPage(1, simplePage)
+                .modifyPage(1, component -> append(component, "t")));
+
+        assertSameContent(book("a", "st"), book);
+        assertEquals(page("s").getJsonRepresentation(), simplePage.getJsonRepresentation());
+    }
+
+    @Test
+    public void setPageReplacesPreviousModification() {
+        Book book = book("a", "b");
+        book.edit(editor -> editor
+                .modifyPage(0, component -> append(component, "x"))
+                .setPage(0, page("z")));
+
+        assertSameContent(book("z", "b"), book);
+    }
+
+    @Test
+    public void structuralEditsMatchDirectEdits() {
+        Book edited = book("a", "b", "c", "d");
+        edited.edit(editor -> editor
+                .insertPage(1, page("x"))
+                .removePage(3)
+                .addPage(page("y"))
+                .modifyPage(4, component -> append(component, "z"))
+                .setPage(0, page("w")));
+
+        Book direct = book("a", "b", "c", "d");
+        direct.insertPage(1, page("x"));
+        direct.removePage(3);
+        direct.addPage(page("y"));
+        direct.modifyPage(4, component -> append(component, "z"));
+        direct.setPage(0, page("w"));
+
+        assertSameContent(book("w", "x", "b", "d", "yz"), edited);
+        assertSameContent(direct, edited);
+    }
+
+    @Test
+    public void parallelCommitKeepsPageOrder() {
+        String[] texts = new String[64];
+        String[] expectedTexts = new String[texts.length];
+
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = "page " + i;
+            expectedTexts[i] = texts[i] + "!";
+        }
+
+        Book book = book(texts);
+        book.edit(editor -> {
+            for (int i = 0; i < editor.getPageCount(); i++) {
+                editor.modifyPage(i, component -> append(component, "!"));
+            }
+        });
+
+        assertSameContent(book(expectedTexts), book);
+    }
+
+    @Test
+    public void commitExceedingLimitsLeavesBookUnchanged() {
+        Book expected = book("a", "b");
+        BookLimits limits = new BookLimits(32767, BookLimits.UNLIMITED_PAGES, expected.getEncodedLength() + 10);
+        Book book = new Book.Builder(page("a"))
+                .addPage(page("b"))
+                .limits(limits)
+                .build();
+
+        try {
+            book.edit(editor -> editor
+                    .setPage(0, page("c"))
+                    .modifyPage(1, component -> append(component, "0123456789a")));
+            fail("Expected the edit to exceed the book limits");
+        } catch (IllegalStateException expectedException) {
+            // expected
+        }
+
+        assertSameContent(expected, book);
+        assertEquals(2, book.getPageCount());
+    }
+
+    @Test
+    public void editorCannotBeUsedAfterCommit() {
+        List<BookEditor> editors = new ArrayList<>();
+        Book book = book("a");
+        book.edit(editors::add);
+
+        try {
+            editors.get(0).getPageCount();
+            fail("Expected the committed editor to be rejected");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void pagesAreNotSharedWithCopies() {
+        Book book = book("a");
+        Book copy = book.copy();
+
+        book.edit(editor -> editor.modifyPage(0, component -> append(component, "b")));
+
+        assertNotSame(book.getPage(0), copy.getPage(0));
+        assertSameContent(book("a"), copy);
+        assertSameContent(book("ab"), book);
+    }
+}
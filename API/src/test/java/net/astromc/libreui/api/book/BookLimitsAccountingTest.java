@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.LazyPage;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BookLimitsAccountingTest {
+
+    private static Page page(String text) {
+        return new PageWriter().text(text).build();
+    }
+
+    private static LazyPage lazyPage(String fetchedText, String placeholderText) {
+        return LazyPage.ofAsync(() -> CompletableFuture.completedFuture(page(fetchedText)),
+                page(placeholderText), 1, TimeUnit.SECONDS);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    @Test
+    public void fetchedPageIsAccountedByItsLength() {
+        LazyPage lazyPage = lazyPage(repeat('x', 100), "placeholder");
+        Book book = new Book.Builder(page("a")).addPage(lazyPage).build();
+
+        book.fetchPendingPages().join();
+
+        assertFalse(book.hasPendingPages());
+        assertSame(lazyPage, book.getPage(1));
+        assertEquals(new Book.Builder(page("a")).addPage(page(repeat('x', 100))).build().getEncodedLength(),
+                book.getEncodedLength());
+    }
+
+    @Test
+    public void fetchedPageExceedingLimitsFallsBackToPlaceholder() {
+        Book expected = new Book.Builder(page("a")).addPage(page("placeholder")).build();
+        BookLimits limits = new BookLimits(32767, BookLimits.UNLIMITED_PAGES, expected.getEncodedLength() + 10);
+
+        Book book = new Book.Builder(page("a"))
+                .addPage(lazyPage(repeat('x', 100), "placeholder"))
+                .limits(limits)
+                .build();
+
+        assertTrue(book.hasPendingPages());
+        book.fetchPendingPages().join();
+
+        assertFalse(book.hasPendingPages());
+        assertEquals(expected.getEncodedLength(), book.getEncodedLength());
+        assertEquals(expected.getContentHash(), book.getContentHash());
+        assertEquals(expected.getJsonRepresentation(), book.getJsonRepresentation());
+    }
+
+    @Test
+    public void fetchedPageExceedingPageLimitFallsBackToPlaceholder() {
+        Page placeholder = page("placeholder");
+        BookLimits limits = new BookLimits(placeholder.getEncodedLength(), BookLimits.UNLIMITED_PAGES, 2097152);
+
+        Book book = new Book.Builder(page("a"))
+                .addPage(lazyPage(repeat('x', 100), "placeholder"))
+                .limits(limits)
+                .build();
+
+        book.fetchPendingPages().join();
+
+        assertFalse(book.hasPendingPages());
+        assertSame(placeholder, book.getPage(1));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book;
+
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BookLimitsTest {
+
+    private static Page page(String text) {
+        return new PageWriter().text(text).build();
+    }
+
+    private static int serializedLength(Book book) {
+        return book.getJsonRepresentation().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Test
+    public void encodedLengthMatchesSerializedLength() {
+        Book book = new Book.Builder(page("plain"))
+                .addPage(page("café € 📖"))
+                .addPage(page("quote \" backslash \\ newline \n tab \t"))
+                .addPage(page("control \u0001 and html <&>'="))
+                .build();
+
+        assertEquals(serializedLength(book), book.getEncodedLength());
+
+        book.removePage(1).insertPage(0, page("ééé"));
+
+        assertEquals(serializedLength(book), book.getEncodedLength());
+    }
+
+    @Test
+    public void pageLimitCountsEncodedBytes() {
+        Page page = page("€€€€€€€€");
+        int characters = page.getJsonRepresentation().length();
+
+        assertTrue(page.getEncodedLength() > characters);
+
+        try {
+            new Book.Builder(page)
+                    .limits(new BookLimits(characters, BookLimits.UNLIMITED_PAGES, 2097152))
+                    .build();
+            fail("page within the character count but over the byte limit was accepted");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void rejectedModificationLeavesBookUnchanged() {
+        Book book = new Book.Builder(page("a"))
+                .addPage(page("b"))
+                .limits(new BookLimits(32767, 2, 2097152))
+                .build();
+        long contentHash = book.getContentHash();
+        long encodedLength = book.getEncodedLength();
+
+        try {
+            book.addPage(page("c"));
+            fail("page over the page count limit was accepted");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(2, book.getPageCount());
+        assertEquals(contentHash, book.getContentHash());
+        assertEquals(encodedLength, book.getEncodedLength());
+    }
+
+    @Test
+    public void defaultLimitsDoNotCapPages() {
+        Book.Builder builder = new Book.Builder(page("page 0"));
+
+        for (int i = 1; i < 150; i++) {
+            builder.addPage(page("page " + i));
+        }
+
+        assertEquals(150, builder.build().getPageCount());
+    }
+
+    @Test
+    public void bookWithinByteLimitButOverNbtLimitIsRejected() {
+        Page page = page(new String(new char[30000]).replace('\0', 'a'));
+        Book.Builder builder = new Book.Builder(page).limits(BookLimits.DEFAULT);
+
+        for (int i = 1; i < 40; i++) {
+            builder.addPage(page);
+        }
+
+        try {
+            builder.build();
+            fail("book over the NBT limit was accepted");
+        } catch (IllegalStateException expected) {
+        }
+
+        Book book = new Book.Builder(page)
+                .limits(new BookLimits(32767, BookLimits.UNLIMITED_PAGES, 2097152))
+                .build();
+
+        for (int i = 1; i < 40; i++) {
+            book.addPage(page);
+        }
+
+        assertTrue(book.getEncodedLength() <= 2097152);
+    }
+
+    @Test
+    public void pagesAreCheckedAgainstTheBookLimits() {
+        Page page = page(new String(new char[40000]).replace('\0', 'a'));
+
+        try {
+            new Book.Builder(page).limits(BookLimits.DEFAULT).build();
+            fail("page over the default page limit was accepted");
+        } catch (IllegalStateException expected) {
+        }
+
+        Book book = new Book.Builder(page)
+                .limits(new BookLimits(65536, BookLimits.UNLIMITED_PAGES, 2097152))
+                .build();
+
+        assertEquals(1, book.getPageCount());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.markup;
+
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.md_5.bungee.api.ChatColor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MarkupCompilerTest {
+
+    private static void assertCompiles(PageWriter expected, String source) {
+        assertEquals(expected.build().getJsonRepresentation(),
+                PageMarkup.compileUncached(source).getJsonRepresentation());
+    }
+
+    @Test
+    public void closingInnerTagRestoresOuterStyle() {
+        assertCompiles(new PageWriter()
+                        .text("a").color(ChatColor.RED)
+                        .text("b").color(ChatColor.RED).bold()
+                        .text("c").color(ChatColor.RED)
+                        .text("d"),
+                "<red>a<b>b</b>c</red>d");
+    }
+
+    @Test
+    public void closingOuterTagClosesInnerTags() {
+        assertCompiles(new PageWriter()
+                        .text("a").color(ChatColor.RED)
+                        .text("b").color(ChatColor.RED).bold().italic()
+                        .text("c"),
+                "<red>a<b><i>b</red>c");
+    }
+
+    @Test
+    public void emptyClosingTagClosesLastOpenedTag() {
+        assertCompiles(new PageWriter()
+                        .text("a").color(ChatColor.RED).bold()
+                        .text("b").color(ChatColor.RED),
+                "<red><b>a</>b");
+    }
+
+    @Test
+    public void sameTagNestsAndClosesInnermostFirst() {
+        assertCompiles(new PageWriter()
+                        .text("a").bold()
+                        .text("b").color(ChatColor.BLUE).bold()
+                        .text("c").color(ChatColor.BLUE).bold()
+                        .text("d").bold()
+                        .text("e"),
+                "<b>a<blue>b<b>c</b></blue>d</b>e");
+    }
+
+    @Test
+    public void closingTagWhichIsNotOpenIsText() {
+        assertCompiles(new PageWriter()
+                        .text("a").bold()
+                        .text("</i>b"),
+                "<b>a</b></i>b");
+    }
+
+    @Test
+    public void tagContainingLessThanIsText() {
+        assertCompiles(new PageWriter()
+                        .text("<hover:a")
+                        .text("b").bold(),
+                "<hover:a<b>b");
+    }
+
+    @Test
+    public void unterminatedTagsAreText() {
+        StringBuilder source = new StringBuilder();
+
+        for (int i = 0; i < 10000; i++) {
+            source.append("<b");
+        }
+
+        assertCompiles(new PageWriter().text(source.toString()), source.toString());
+    }
+}
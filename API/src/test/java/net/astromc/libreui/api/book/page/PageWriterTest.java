@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.api.book.page;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import net.md_5.bungee.api.chat.ClickEvent;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class PageWriterTest {
+
+    /**
+     * The number of characters written per page, so the escaped
+     * pages stay within the maximum page size.
+     */
+    private static final int CHARACTERS_PER_PAGE = 1024;
+
+    /**
+     * Returns the representation of a page with a single plain text
+     * element, as escaped by Gson at both levels, the component JSON
+     * and the JSON string holding it.
+     */
+    private static String gsonRepresentation(String text) {
+        String componentJson = "{\"text\":\"\",\"extra\":[{\"text\":" + new JsonPrimitive(text) + "}]}";
+        return new JsonPrimitive(componentJson).toString();
+    }
+
+    private static void assertEscapedLikeGson(String text) {
+        Page page = new PageWriter().text(text).build();
+
+        assertEquals(gsonRepresentation(text), page.getJsonRepresentation());
+        assertEquals(page.getJsonRepresentation().getBytes(StandardCharsets.UTF_8).length, page.getEncodedLength());
+    }
+
+    @Test
+    public void everyCharacterIsEscapedLikeGson() {
+        StringBuilder text = new StringBuilder(CHARACTERS_PER_PAGE);
+
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (Character.isSurrogate((char) c)) {
+                continue;
+            }
+
+            text.append((char) c);
+
+            if (text.length() == CHARACTERS_PER_PAGE) {
+                assertEscapedLikeGson(text.toString());
+                text.setLength(0);
+            }
+        }
+
+        assertEscapedLikeGson(text.toString());
+    }
+
+    @Test
+    public void surrogatePairsAreEscapedLikeGson() {
+        assertEscapedLikeGson("book 📖 and 😀");
+    }
+
+    @Test
+    public void eventValuesAreEscaped() {
+        String value = "/say \"quoted\" \\ \n \u0000  ";
+        Page page = new PageWriter()
+                .text("text")
+                .click(ClickEvent.Action.RUN_COMMAND, value)
+                .hover(value)
+                .build();
+
+        String componentJson = new JsonParser().parse(page.getJsonRepresentation()).getAsString();
+        JsonObject element = new JsonParser().parse(componentJson).getAsJsonObject()
+                .getAsJsonArray("extra").get(0).getAsJsonObject();
+
+        assertEquals(value, element.getAsJsonObject("clickEvent").get("value").getAsString());
+        assertEquals(value, element.getAsJsonObject("hoverEvent").getAsJsonObject("value").get("text").getAsString());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.utils;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReleasingCachedSupplierTest {
+
+    @Test
+    public void valueIsCachedUntilReleased() {
+        AtomicInteger created = new AtomicInteger();
+        ReleasingCachedSupplier<String> supplier = ReleasingCachedSupplier.of(() -> "value " + created.incrementAndGet());
+
+        assertEquals("value 1", supplier.get());
+        assertEquals("value 1", supplier.get());
+        assertFalse(supplier.releaseIfIdle(TimeUnit.HOURS.toNanos(1)));
+
+        assertTrue(supplier.releaseIfIdle(0));
+        assertFalse(supplier.releaseIfIdle(0));
+        assertEquals("value 2", supplier.get());
+    }
+
+    @Test
+    public void valueCreatedBeforeInvalidationIsNotCached() {
+        AtomicInteger created = new AtomicInteger();
+        ReleasingCachedSupplier<String>[] holder = new ReleasingCachedSupplier[1];
+
+        holder[0] = ReleasingCachedSupplier.of(() -> {
+            if (created.incrementAndGet() == 1) {
+                holder[0].invalidate();
+            }
+
+            return "value " + created.get();
+        });
+
+        assertEquals("value 1", holder[0].get());
+        assertEquals("value 2", holder[0].get());
+        assertEquals("value 2", holder[0].get());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.scheduling.PlayerTaskScheduler;
+import net.astromc.libreui.warmup.RecentBooksJournal;
+import org.bukkit.entity.Player;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Routes the books opened through the {@link LibreUIPlugin} to the
+ * thread owning each player, through a {@link PlayerTaskScheduler}.
+ * Books with pending pages are fetched first, and only opened if the
+ * player is still online once every page has been fetched. This class
+ * is package-private as it is not intended to by used to any classes
+ * except for the {@link LibreUIPlugin}.
+ */
+final class BookOpener {
+    private final PlayerTaskScheduler scheduler;
+    private final BiConsumer<Player, Book> openBook;
+    private final RecentBooksJournal journal;
+
+    /**
+     * Constructs a new <tt>BookOpener</tt> running the <tt>openBook</tt>
+     * method on the threads owning the players.
+     *
+     * @param scheduler the scheduler running tasks on the owning threads
+     * @param openBook the method opening a book on the owning thread
+     * @param journal the journal recording the opened books, or <tt>null</tt>
+     */
+    BookOpener(PlayerTaskScheduler scheduler, BiConsumer<Player, Book> openBook, RecentBooksJournal journal) {
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.openBook = Objects.requireNonNull(openBook);
+        this.journal = journal;
+    }
+
+    /**
+     * Opens the <tt>book</tt> to the <tt>player</tt>, on the thread owning
+     * the player, and records it to the {@link RecentBooksJournal} if it is
+     * <tt>journaled</tt>. Books resolved for a single player, or its locale,
+     * are not journaled, so their content is never persisted.
+     *
+     * @param player player opening the book screen for
+     * @param book book opening to the player
+     * @param journaled whether the book is recorded to the journal
+     */
+    void openBook(Player player, Book book, boolean journaled) {
+        if (book.hasPendingPages()) {
+            book.fetchPendingPages().thenAccept(fetchedBook -> this.scheduler.execute(player, () -> {
+                if (player.isOnline()) {
+                    this.openBookOnOwningThread(player, fetchedBook, journaled);
+                }
+            }));
+            return;
+        }
+
+        this.scheduler.execute(player, () -> this.openBookOnOwningThread(player, book, journaled));
+    }
+
+    private void openBookOnOwningThread(Player player, Book book, boolean journaled) {
+        this.openBook.accept(player, book);
+
+        if (journaled && this.journal != null) {
+            this.journal.record(book);
+        }
+    }
+}
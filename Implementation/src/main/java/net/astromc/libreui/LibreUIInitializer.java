@@ -16,14 +16,46 @@
 
 package net.astromc.libreui;
 
+import net.astromc.libreui.api.book.BookLimits;
+import net.astromc.libreui.api.cache.RemotePayloadStore;
+import net.astromc.libreui.bridge.BookLimitsTable;
 import net.astromc.libreui.bridge.UnsupportedVersionException;
 import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.bridge.VersionBridgeSelector;
 import net.astromc.libreui.bridge.VersionBridgeProviders;
+import net.astromc.libreui.bridge.impl.NativeVersionBridgeProvider;
+import net.astromc.libreui.bridge.impl.PacketVersionBridgeProvider;
 import net.astromc.libreui.bridge.impl.VersatileVersionBridgeProvider;
+import net.astromc.libreui.bridge.nms.AccessorResolutionException;
+import net.astromc.libreui.bridge.nms.MinecraftAccessors;
+import net.astromc.libreui.cache.ColdTierSweeper;
+import net.astromc.libreui.cache.PayloadCache;
+import net.astromc.libreui.cache.PayloadKey;
+import net.astromc.libreui.cache.remote.FileRemotePayloadStore;
+import net.astromc.libreui.cache.remote.InMemoryRemotePayloadStore;
+import net.astromc.libreui.cache.remote.ItemStackPayloadCodec;
+import net.astromc.libreui.cache.remote.RemotePayloadTier;
+import net.astromc.libreui.definition.BookDefinitions;
+import net.astromc.libreui.live.LiveBookViewers;
+import net.astromc.libreui.protocol.ProtocolFamilies;
+import net.astromc.libreui.scheduling.PlayerTaskScheduler;
+import net.astromc.libreui.scheduling.PlayerTaskSchedulers;
+import net.astromc.libreui.scheduling.TickBudgetExecutor;
 import net.astromc.libreui.utils.messaging.BookOpenPluginMessageHandler;
 import net.astromc.libreui.utils.version.Version;
 import net.astromc.libreui.utils.version.craftbukkit.CraftBukkitImplementationStringVersionSupplier;
 import net.astromc.libreui.utils.version.craftbukkit.CraftBukkitImplementationVersionParser;
+import net.astromc.libreui.warmup.BookWarmUp;
+import net.astromc.libreui.warmup.RecentBooksJournal;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 /**
  * This class is responsible for initializing and providing
@@ -32,6 +64,51 @@ import net.astromc.libreui.utils.version.craftbukkit.CraftBukkitImplementationVe
 final class LibreUIInitializer {
 
     private static final String VERSATILE_VERSION_BRIDGE_PROVIDER_NAME = "versatile";
+    private static final String NATIVE_VERSION_BRIDGE_PROVIDER_NAME = "native";
+    private static final String PACKET_VERSION_BRIDGE_PROVIDER_NAME = "packet";
+
+    /**
+     * The configured version bridge value, which selects the first
+     * working provider in the configured priority order.
+     */
+    private static final String AUTOMATIC_VERSION_BRIDGE_PROVIDER_NAME = "auto";
+
+    private static final String VERSION_BRIDGE_CONFIG_PATH = "version-bridge";
+    private static final String VERSION_BRIDGE_PRIORITY_CONFIG_PATH = "version-bridge-priority";
+    private static final String BOOK_LIMITS_CAP_PAGES_CONFIG_PATH = "book-limits.cap-pages";
+    private static final String PAYLOAD_CACHE_MAXIMUM_WEIGHT_CONFIG_PATH = "payload-cache.maximum-weight";
+    private static final String PAYLOAD_CACHE_PRELOAD_MILLIS_PER_TICK_CONFIG_PATH = "payload-cache.preload-millis-per-tick";
+    private static final String COLD_TIER_IDLE_SECONDS_CONFIG_PATH = "cold-tier.idle-seconds";
+    private static final String REMOTE_STORE_TYPE_CONFIG_PATH = "remote-store.type";
+    private static final String REMOTE_STORE_TIMEOUT_MILLIS_CONFIG_PATH = "remote-store.timeout-millis";
+    private static final String REMOTE_STORE_MEMORY_MAXIMUM_WEIGHT_CONFIG_PATH = "remote-store.memory.maximum-weight";
+    private static final String REMOTE_STORE_FILE_DIRECTORY_CONFIG_PATH = "remote-store.file.directory";
+    private static final String LIVE_BOOKS_MAXIMUM_VIEWING_SECONDS_CONFIG_PATH = "live-books.maximum-viewing-seconds";
+    private static final String BOOK_DEFINITIONS_ENABLED_CONFIG_PATH = "book-definitions.enabled";
+    private static final String BOOK_DEFINITIONS_DIRECTORY_CONFIG_PATH = "book-definitions.directory";
+    private static final String WARM_UP_ENABLED_CONFIG_PATH = "warm-up.enabled";
+    private static final String WARM_UP_DELAY_SECONDS_CONFIG_PATH = "warm-up.delay-seconds";
+    private static final String WARM_UP_ITERATIONS_CONFIG_PATH = "warm-up.iterations";
+    private static final String WARM_UP_JOURNAL_SIZE_CONFIG_PATH = "warm-up.journal-size";
+
+    /**
+     * The estimated number of heap bytes retained per byte of the
+     * encoded JSON representation of a cached book, by the NBT strings
+     * of the pages of the payload, each storing a character in 2 bytes.
+     */
+    private static final int PAYLOAD_BYTES_PER_JSON_BYTE = 2;
+
+    /**
+     * The estimated number of heap bytes retained by a cached payload
+     * regardless of its content, by the item stacks, the NBT compound
+     * and tag list of the written book, and the cache entry.
+     */
+    private static final int PAYLOAD_OVERHEAD_BYTES = 512;
+
+    /**
+     * The name of the recent books journal file, in the plugin data folder.
+     */
+    private static final String RECENT_BOOKS_JOURNAL_FILE_NAME = "recent-books.dat";
 
     private final LibreUIPlugin plugin;
 
@@ -40,19 +117,81 @@ final class LibreUIInitializer {
     }
 
     /**
-     * Registers the {@link VersatileVersionBridgeProvider}
-     * as the default provider, it by the name <tt>"versatile"</tt>
-     * in {@link VersionBridgeProviders}.
+     * Registers the {@link VersatileVersionBridgeProvider} by the
+     * name <tt>"versatile"</tt>, and the {@link NativeVersionBridgeProvider}
+     * by the name <tt>"native"</tt> in {@link VersionBridgeProviders}.
+     * The native provider is registered as the default provider, if
+     * the native open book method is available, otherwise the versatile.
      */
     public void registerAndDefaultVersionBridgeProvider() {
         VersionBridgeProviders.registerProvider(VERSATILE_VERSION_BRIDGE_PROVIDER_NAME, VersatileVersionBridgeProvider.INSTANCE);
+        VersionBridgeProviders.registerProvider(NATIVE_VERSION_BRIDGE_PROVIDER_NAME, NativeVersionBridgeProvider.INSTANCE);
 
-        VersionBridgeProviders.registerDefaultProvider(VersatileVersionBridgeProvider.INSTANCE);
+        if (NativeVersionBridgeProvider.isAvailable()) {
+            VersionBridgeProviders.registerDefaultProvider(NativeVersionBridgeProvider.INSTANCE);
+        } else {
+            VersionBridgeProviders.registerDefaultProvider(VersatileVersionBridgeProvider.INSTANCE);
+        }
+    }
+
+    /**
+     * Sets the current {@link BookLimits} to the limits of the
+     * server version, as found in the {@link BookLimitsTable}. The
+     * number of pages is capped if the <tt>book-limits.cap-pages</tt>
+     * configuration value is true.
+     */
+    public void applyBookLimits() {
+        String stringVersion = CraftBukkitImplementationStringVersionSupplier.INSTANCE.get();
+        Version version = CraftBukkitImplementationVersionParser.parse(stringVersion);
+
+        BookLimits limits = BookLimitsTable.forVersion(version,
+                plugin.getConfig().getBoolean(BOOK_LIMITS_CAP_PAGES_CONFIG_PATH));
+        BookLimits.setCurrent(limits);
+
+        plugin.getLogger().info("Using " + limits);
+    }
+
+    /**
+     * Creates the {@link PlayerTaskScheduler} for the {@link LibreUIPlugin}
+     * instance to use, as detected by {@link PlayerTaskSchedulers#detect}.
+     *
+     * @return the scheduler for the running server
+     */
+    public PlayerTaskScheduler createPlayerTaskScheduler() {
+        PlayerTaskScheduler scheduler = PlayerTaskSchedulers.detect(plugin, plugin.getLogger());
+        plugin.getLogger().info("Using " + scheduler.getClass().getSimpleName());
+
+        return scheduler;
+    }
+
+    /**
+     * Creates the {@link TickBudgetExecutor} rendering payloads ahead of
+     * their first open, on the global thread of the <tt>scheduler</tt>.
+     * The time budget per tick is configured by the
+     * <tt>payload-cache.preload-millis-per-tick</tt> configuration value.
+     *
+     * @param scheduler the scheduler of the plugin
+     * @return a new tick budget executor
+     */
+    public TickBudgetExecutor createPreloadExecutor(PlayerTaskScheduler scheduler) {
+        return new TickBudgetExecutor(scheduler,
+                plugin.getConfig().getLong(PAYLOAD_CACHE_PRELOAD_MILLIS_PER_TICK_CONFIG_PATH),
+                TimeUnit.MILLISECONDS, plugin.getLogger());
     }
 
     /**
      * Loads a {@link VersionBridge} implementation for the
-     * {@link LibreUIPlugin} instance to use.
+     * {@link LibreUIPlugin} instance to use. The version specific
+     * {@link MinecraftAccessors} are resolved first, and if they are
+     * available, a {@link PacketVersionBridgeProvider} using them is
+     * registered by the name <tt>"packet"</tt>. The provider is then
+     * chosen by the <tt>version-bridge</tt> configuration value.
+     * If the value is <tt>"auto"</tt>, the first working provider in
+     * the <tt>version-bridge-priority</tt> configuration value, which
+     * is native, packet, then versatile by default, is selected by a
+     * {@link VersionBridgeSelector}. Providers which don't support the
+     * server, such as the native one without a native open book method,
+     * are skipped.
      *
      * @return a {@link VersionBridge} implementation
      */
@@ -60,22 +199,241 @@ final class LibreUIInitializer {
         String stringVersion = CraftBukkitImplementationStringVersionSupplier.INSTANCE.get();
         Version version = CraftBukkitImplementationVersionParser.parse(stringVersion);
 
+        FileConfiguration config = plugin.getConfig();
+        String providerName = config.getString(VERSION_BRIDGE_CONFIG_PATH, AUTOMATIC_VERSION_BRIDGE_PROVIDER_NAME);
+
+        MinecraftAccessors accessors = this.resolveMinecraftAccessors(stringVersion);
+        if (accessors != null) {
+            VersionBridgeProviders.registerProvider(PACKET_VERSION_BRIDGE_PROVIDER_NAME, new PacketVersionBridgeProvider(accessors));
+        }
+
         try {
-            //TODO: Load which provider to use from config
-            return VersionBridgeProviders.newInstance(version);
+            if (!providerName.equalsIgnoreCase(AUTOMATIC_VERSION_BRIDGE_PROVIDER_NAME)) {
+                plugin.getLogger().info("Using configured version bridge '" + providerName + "'");
+                return VersionBridgeProviders.newInstance(providerName, version);
+            }
+
+            VersionBridgeSelector selector = new VersionBridgeSelector(plugin.getLogger());
+
+            return selector.select(VersionBridgeProviders.getRegisteredProviders(),
+                    config.getStringList(VERSION_BRIDGE_PRIORITY_CONFIG_PATH), version);
         } catch (UnsupportedVersionException e) {
             throw new IllegalStateException("Bukkit version not supported", e);
         }
     }
 
+    /**
+     * Resolves the version specific {@link MinecraftAccessors} for the
+     * CraftBukkit implementation <tt>stringVersion</tt>. If the accessors
+     * cannot be resolved on the running server, the reason is logged, with
+     * the stack trace only logged at the <tt>FINE</tt> level, and
+     * <tt>null</tt> is returned, as the accessors are only required by
+     * the packet version bridge.
+     *
+     * @param stringVersion the CraftBukkit implementation version
+     * @return the resolved accessors, or <tt>null</tt> if unavailable
+     */
+    private MinecraftAccessors resolveMinecraftAccessors(String stringVersion) {
+        try {
+            return MinecraftAccessors.resolve(stringVersion);
+        } catch (AccessorResolutionException e) {
+            plugin.getLogger().info("The packet version bridge is unavailable: " + e.getMessage());
+            plugin.getLogger().log(Level.FINE, "Unable to resolve the Minecraft accessors", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the {@link PayloadCache} of rendered book payloads for
+     * the {@link LibreUIPlugin} instance to use. The payloads are keyed
+     * by the content hash of their book, and weighted by their estimated
+     * retained heap size, as the NBT of the rendered written book holds
+     * the text of the pages. The maximum weight is configured
+     * by the <tt>payload-cache.maximum-weight</tt> configuration value.
+     *
+     * @return a new payload cache
+     */
+    public PayloadCache<PayloadKey, ItemStack> createPayloadCache() {
+        long maximumWeight = plugin.getConfig().getLong(PAYLOAD_CACHE_MAXIMUM_WEIGHT_CONFIG_PATH);
+        return new PayloadCache<>(maximumWeight, (key, payload) -> weighPayload(key));
+    }
+
+    private static int weighPayload(PayloadKey key) {
+        long weight = PAYLOAD_OVERHEAD_BYTES + PAYLOAD_BYTES_PER_JSON_BYTE * key.getEncodedLength();
+
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    /**
+     * Creates the {@link LiveBookViewers} for the {@link LibreUIPlugin}
+     * instance to register. The maximum viewing time is configured by the
+     * <tt>live-books.maximum-viewing-seconds</tt> configuration value.
+     *
+     * @return a new live book viewers tracker
+     */
+    public LiveBookViewers createLiveBookViewers() {
+        return new LiveBookViewers(plugin,
+                plugin.getConfig().getLong(LIVE_BOOKS_MAXIMUM_VIEWING_SECONDS_CONFIG_PATH), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates the {@link ColdTierSweeper} for the {@link LibreUIPlugin}
+     * instance to schedule. The idle threshold is configured by the
+     * <tt>cold-tier.idle-seconds</tt> configuration value.
+     *
+     * @return a new cold tier sweeper
+     */
+    public ColdTierSweeper createColdTierSweeper() {
+        return new ColdTierSweeper(plugin.getLogger(), plugin.getConfig().getLong(COLD_TIER_IDLE_SECONDS_CONFIG_PATH));
+    }
+
+    /**
+     * Creates the {@link RemotePayloadTier} below the <tt>cache</tt>, for
+     * the {@link LibreUIPlugin} instance to preload payloads through, and
+     * registers it to publish the payloads loaded by the cache. The tier
+     * is configured by the <tt>remote-store</tt> configuration section.
+     * The store is selected by the <tt>remote-store.type</tt> value,
+     * <tt>"memory"</tt>, <tt>"file"</tt>, or <tt>"service"</tt>, to use the
+     * {@link RemotePayloadStore} registered as a Bukkit service. Returns
+     * <tt>null</tt> if the type is <tt>"none"</tt>, or no store is available.
+     *
+     * @param cache the payload cache of the plugin
+     * @param owningExecutor the executor decoding and encoding the payloads
+     * @return a new remote payload tier, or <tt>null</tt> if disabled
+     */
+    public RemotePayloadTier<ItemStack> createRemotePayloadTier(PayloadCache<PayloadKey, ItemStack> cache,
+                                                               Executor owningExecutor) {
+        FileConfiguration config = plugin.getConfig();
+        String type = config.getString(REMOTE_STORE_TYPE_CONFIG_PATH, "none").toLowerCase(Locale.ROOT);
+        RemotePayloadStore store;
+        boolean ownsStore = true;
+
+        switch (type) {
+            case "none":
+                return null;
+            case "memory":
+                store = new InMemoryRemotePayloadStore(config.getLong(REMOTE_STORE_MEMORY_MAXIMUM_WEIGHT_CONFIG_PATH));
+                break;
+            case "file":
+                File directory = new File(config.getString(REMOTE_STORE_FILE_DIRECTORY_CONFIG_PATH));
+                if (!directory.isAbsolute()) {
+                    directory = new File(plugin.getDataFolder(), directory.getPath());
+                }
+
+                store = new FileRemotePayloadStore(directory);
+                break;
+            case "service":
+                store = Bukkit.getServicesManager().load(RemotePayloadStore.class);
+                ownsStore = false;
+
+                if (store == null) {
+                    plugin.getLogger().warning("No remote payload store service is registered, rendering locally only");
+                    return null;
+                }
+                break;
+            default:
+                plugin.getLogger().warning("Unknown remote store type '" + type + "', rendering locally only");
+                return null;
+        }
+
+        String stringVersion = CraftBukkitImplementationStringVersionSupplier.INSTANCE.get();
+        Version version = CraftBukkitImplementationVersionParser.parse(stringVersion);
+
+        RemotePayloadTier<ItemStack> tier = new RemotePayloadTier<>(store, ownsStore,
+                ProtocolFamilies.fromServerVersion(version), new ItemStackPayloadCodec(stringVersion),
+                cache, owningExecutor, config.getLong(REMOTE_STORE_TIMEOUT_MILLIS_CONFIG_PATH), plugin.getLogger());
+        cache.setLoadListener(tier::publish);
+
+        plugin.getLogger().info("Sharing rendered books through " + store.getClass().getSimpleName());
+        return tier;
+    }
+
+    /**
+     * Creates the {@link BookDefinitions} for the {@link LibreUIPlugin}
+     * instance to start, loading the definition files of the directory
+     * configured by <tt>book-definitions.directory</tt>, relative to the
+     * plugin data folder. Changed books are preloaded into the payload
+     * cache by {@link LibreUIPlugin#preloadPayload(PayloadKey, String)},
+     * through the <tt>executor</tt>.
+     * Returns <tt>null</tt> if book definitions are disabled.
+     *
+     * @param executor the executor the payloads are preloaded by
+     * @return new book definitions, or <tt>null</tt> if disabled
+     */
+    public BookDefinitions createBookDefinitions(TickBudgetExecutor executor) {
+        FileConfiguration config = plugin.getConfig();
+
+        if (!config.getBoolean(BOOK_DEFINITIONS_ENABLED_CONFIG_PATH)) {
+            return null;
+        }
+
+        File directory = new File(plugin.getDataFolder(), config.getString(BOOK_DEFINITIONS_DIRECTORY_CONFIG_PATH));
+
+        return new BookDefinitions(directory.toPath(),
+                book -> {
+                    PayloadKey key = PayloadKey.of(book);
+                    String jsonRepresentation = book.getJsonRepresentation();
+
+                    executor.execute(() -> plugin.preloadPayload(key, jsonRepresentation));
+                },
+                plugin.getLogger());
+    }
+
+    /**
+     * Creates the {@link RecentBooksJournal} for the {@link LibreUIPlugin}
+     * instance to record opened books to, saved in the plugin data folder.
+     * The size of the journal is configured by the <tt>warm-up.journal-size</tt>
+     * configuration value. Returns <tt>null</tt> if the warm-up is disabled,
+     * as nothing would read the journal.
+     *
+     * @return a new recent books journal, or <tt>null</tt> if disabled
+     */
+    public RecentBooksJournal createRecentBooksJournal() {
+        if (!plugin.getConfig().getBoolean(WARM_UP_ENABLED_CONFIG_PATH)) {
+            return null;
+        }
+
+        return new RecentBooksJournal(
+                new File(plugin.getDataFolder(), RECENT_BOOKS_JOURNAL_FILE_NAME),
+                plugin.getConfig().getInt(WARM_UP_JOURNAL_SIZE_CONFIG_PATH));
+    }
+
+    /**
+     * Creates the {@link BookWarmUp} for the {@link LibreUIPlugin} instance
+     * to start, configured by the <tt>warm-up</tt> configuration section, or
+     * returns <tt>null</tt> if the warm-up is disabled.
+     *
+     * @param bridge the version bridge rendering the payloads
+     * @param journal the recent books journal of the plugin
+     * @param executor the executor running the warm-up tasks
+     * @return a new book warm-up, or <tt>null</tt> if disabled
+     */
+    public BookWarmUp createBookWarmUp(VersionBridge bridge, RecentBooksJournal journal,
+                                       TickBudgetExecutor executor) {
+        FileConfiguration config = plugin.getConfig();
+
+        if (!config.getBoolean(WARM_UP_ENABLED_CONFIG_PATH)) {
+            return null;
+        }
+
+        return new BookWarmUp(plugin, bridge, journal, executor,
+                TimeUnit.SECONDS.toMillis(config.getLong(WARM_UP_DELAY_SECONDS_CONFIG_PATH)),
+                config.getInt(WARM_UP_ITERATIONS_CONFIG_PATH));
+    }
+
     /**
      * Creates and configures a {@link BookOpenPluginMessageHandler}
-     * for the {@link LibreUIPlugin} instance to use.
+     * for the {@link LibreUIPlugin} instance to use, sending messages
+     * in the protocol family of the server.
      *
      * @return a new and configures {@link BookOpenPluginMessageHandler} instance
      */
     public BookOpenPluginMessageHandler createAndConfigureBookOpenPluginMessageHandler() {
-        BookOpenPluginMessageHandler bookOpenPluginMessageHandler = new BookOpenPluginMessageHandler(plugin);
+        String stringVersion = CraftBukkitImplementationStringVersionSupplier.INSTANCE.get();
+        Version version = CraftBukkitImplementationVersionParser.parse(stringVersion);
+
+        BookOpenPluginMessageHandler bookOpenPluginMessageHandler =
+                new BookOpenPluginMessageHandler(plugin, ProtocolFamilies.fromServerVersion(version));
         bookOpenPluginMessageHandler.registerBookOpenMessagingChannel();
         return bookOpenPluginMessageHandler;
     }
@@ -16,51 +16,229 @@
 
 package net.astromc.libreui;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import net.astromc.libreui.api.LibreUI;
 import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.live.LiveBook;
+import net.astromc.libreui.api.book.variant.LocalizedBook;
+import net.astromc.libreui.api.book.variant.VariantBook;
+import net.astromc.libreui.api.book.virtual.VirtualBook;
 import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.cache.ColdTierSweeper;
+import net.astromc.libreui.cache.PayloadCache;
+import net.astromc.libreui.cache.PayloadKey;
+import net.astromc.libreui.cache.remote.RemotePayloadTier;
+import net.astromc.libreui.command.LibreUICommandExecutor;
+import net.astromc.libreui.definition.BookDefinitions;
+import net.astromc.libreui.live.LiveBookViewers;
+import net.astromc.libreui.proxy.ProxyChannelHandler;
+import net.astromc.libreui.scheduling.PlayerTaskScheduler;
+import net.astromc.libreui.scheduling.TickBudgetExecutor;
 import net.astromc.libreui.utils.messaging.BookOpenPluginMessageHandler;
+import net.astromc.libreui.warmup.BookWarmUp;
+import net.astromc.libreui.warmup.RecentBooksJournal;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
 public final class LibreUIPlugin extends JavaPlugin implements LibreUI {
 
+    private static final String COLD_TIER_SWEEP_INTERVAL_SECONDS_CONFIG_PATH = "cold-tier.sweep-interval-seconds";
+    private static final String PROXY_ENABLED_CONFIG_PATH = "proxy.enabled";
+
     private VersionBridge bridge;
 
+    private PlayerTaskScheduler playerTaskScheduler;
+
     private BookOpenPluginMessageHandler bookOpenPluginMessageHandler;
 
+    private LiveBookViewers liveBookViewers;
+
+    private PayloadCache<PayloadKey, ItemStack> payloadCache;
+
+    private ColdTierSweeper coldTierSweeper;
+
+    private RemotePayloadTier<ItemStack> remotePayloadTier;
+
+    private BookDefinitions bookDefinitions;
+
+    private RecentBooksJournal recentBooksJournal;
+
+    private BookWarmUp bookWarmUp;
+
+    private TickBudgetExecutor preloadExecutor;
+
+    private BookOpener bookOpener;
+
     @Override
     public void onLoad() {
+        this.saveDefaultConfig();
+
         LibreUIInitializer initializer = new LibreUIInitializer(this);
 
+        initializer.applyBookLimits();
+        this.playerTaskScheduler = initializer.createPlayerTaskScheduler();
         initializer.registerAndDefaultVersionBridgeProvider();
 
+        this.payloadCache = initializer.createPayloadCache();
+        this.coldTierSweeper = initializer.createColdTierSweeper();
         this.bridge = initializer.loadVersionBridge();
         this.bookOpenPluginMessageHandler = initializer.createAndConfigureBookOpenPluginMessageHandler();
+        this.preloadExecutor = initializer.createPreloadExecutor(this.playerTaskScheduler);
+        this.recentBooksJournal = initializer.createRecentBooksJournal();
+        this.bookWarmUp = initializer.createBookWarmUp(this.bridge, this.recentBooksJournal, this.preloadExecutor);
+        this.bookOpener = new BookOpener(this.playerTaskScheduler,
+                (player, book) -> this.bridge.openBook(player, book, this), this.recentBooksJournal);
+        this.liveBookViewers = initializer.createLiveBookViewers();
         Bukkit.getServicesManager().register(LibreUI.class, this, this, ServicePriority.Normal);
     }
 
+    @Override
+    public void onEnable() {
+        Bukkit.getPluginManager().registerEvents(this.liveBookViewers, this);
+
+        if (this.getConfig().getBoolean(PROXY_ENABLED_CONFIG_PATH)) {
+            ProxyChannelHandler proxyChannelHandler = new ProxyChannelHandler(this, this.playerTaskScheduler);
+            proxyChannelHandler.registerChannel();
+            Bukkit.getPluginManager().registerEvents(proxyChannelHandler, this);
+        }
+        this.getCommand(VirtualBook.NAVIGATION_COMMAND).setExecutor(new LibreUICommandExecutor(this));
+
+        long sweepIntervalSeconds = this.getConfig().getLong(COLD_TIER_SWEEP_INTERVAL_SECONDS_CONFIG_PATH);
+        this.playerTaskScheduler.runAsyncRepeating(this.coldTierSweeper, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+
+        LibreUIInitializer initializer = new LibreUIInitializer(this);
+        this.remotePayloadTier = initializer.createRemotePayloadTier(this.payloadCache, this.preloadExecutor);
+
+        if (this.bookWarmUp != null) {
+            this.bookWarmUp.start();
+        }
+
+        this.bookDefinitions = initializer.createBookDefinitions(this.preloadExecutor);
+
+        if (this.bookDefinitions != null) {
+            try {
+                this.bookDefinitions.start();
+            } catch (IOException e) {
+                this.getLogger().log(Level.WARNING, "Unable to watch the book definitions", e);
+            }
+        }
+    }
+
     public void openBook(Player player, Book book) {
-        this.bridge.openBook(player, book, this);
+        this.bookOpener.openBook(player, book, true);
+    }
+
+    public void openBook(Player player, LiveBook book) {
+        this.liveBookViewers.openBook(player, book);
+    }
+
+    @Override
+    public void stopViewingLiveBook(Player player) {
+        this.liveBookViewers.stopViewing(player);
+    }
+
+    public void openBook(Player player, VariantBook<?> book) {
+        this.bookOpener.openBook(player, book.resolve(player), false);
+    }
+
+    public void openBook(Player player, LocalizedBook book) {
+        this.bookOpener.openBook(player, book.resolve(player), false);
+    }
+
+    public void openBook(Player player, VirtualBook<?> book) {
+        this.openBook(player, book, 0);
+    }
+
+    public void openBook(Player player, VirtualBook<?> book, int window) {
+        this.openBook(player, book.getWindow(window));
+    }
+
+    /**
+     * Renders the payload of the <tt>key</tt> into the payload cache,
+     * ahead of its first open, unless it is already cached. If a remote
+     * payload store is configured, the payload is looked up in the store
+     * in the background first, and only rendered locally if the store
+     * does not hold it in time. This method must be invoked by a task of
+     * the preload executor.
+     *
+     * @param key the key of the payload
+     * @param jsonRepresentation the JSON representation of the book
+     */
+    public void preloadPayload(PayloadKey key, String jsonRepresentation) {
+        Runnable localRender = () -> this.bridge.preloadPayload(key, jsonRepresentation, this);
+
+        if (this.remotePayloadTier != null) {
+            this.remotePayloadTier.preload(key, localRender);
+        } else {
+            localRender.run();
+        }
+    }
+
+    @Override
+    public Optional<Book> getDefinedBook(String name) {
+        return this.bookDefinitions == null ? Optional.empty() : this.bookDefinitions.getBook(name).map(Book::copy);
     }
 
     @Override
     public void onDisable() {
+        if (this.bookDefinitions != null) {
+            this.bookDefinitions.stop();
+        }
+
+        if (this.bookWarmUp != null) {
+            this.bookWarmUp.stop();
+        }
+
+        this.preloadExecutor.shutdown();
+
+        if (this.recentBooksJournal != null) {
+            try {
+                this.recentBooksJournal.save();
+            } catch (IOException e) {
+                this.getLogger().log(Level.WARNING, "Unable to save the recent books journal", e);
+            }
+        }
+
+        if (this.remotePayloadTier != null) {
+            this.getLogger().info(String.format("Remote payload store: %d hits, %d misses",
+                    this.remotePayloadTier.getHitCount(), this.remotePayloadTier.getMissCount()));
+
+            try {
+                this.remotePayloadTier.close();
+            } catch (Exception e) {
+                this.getLogger().log(Level.WARNING, "Unable to close the remote payload store", e);
+            }
+        }
+
+        this.getLogger().info("Payload cache: " + this.payloadCache.getStatistics());
     }
 
     public BookOpenPluginMessageHandler getBookOpenPluginMessageHandler() {
         return bookOpenPluginMessageHandler;
     }
 
-    public static <T> LoadingCache<T, String> buildSerialisationCache(CacheLoader<T, String> loader) {
-        return CacheBuilder
-                .newBuilder()
-                .weakKeys()
-                .build(loader);
+    /**
+     * Returns the scheduler running tasks on the thread owning a player.
+     *
+     * @return the player task scheduler
+     */
+    public PlayerTaskScheduler getPlayerTaskScheduler() {
+        return playerTaskScheduler;
+    }
+
+    /**
+     * Returns the central cache of rendered book payloads.
+     *
+     * @return the payload cache
+     */
+    public PayloadCache<PayloadKey, ItemStack> getPayloadCache() {
+        return payloadCache;
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge;
+
+import net.astromc.libreui.api.book.BookLimits;
+import net.astromc.libreui.utils.version.Version;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * The table of {@link BookLimits} by server {@link Version}. Each
+ * entry applies from its version, until the next higher version in
+ * the table.
+ * <p/>
+ *
+ * The client charges the NBT data of a book by the estimated heap size
+ * of its tags, see {@link BookLimits.NbtAccounting}, which the table
+ * accounts by the costs of each version. Versions older than the table
+ * are not accounted.
+ * <p/>
+ *
+ * The number of pages is only capped on request, as the cap of each
+ * version is the number of pages a writable book may hold, while the
+ * client displays written books of any number of pages. Capping the
+ * pages is only useful if the opened books are also handed to players.
+ */
+public enum BookLimitsTable {;
+
+    /**
+     * The maximum size of a JSON formatted page, as a book page is
+     * read as a String of at most this many characters, and every
+     * character encodes to at least one byte.
+     */
+    private static final int MAXIMUM_PAGE_BYTES = 32767;
+
+    /**
+     * The maximum size of a serialized book, as the NBT data is written
+     * with the pages as modified UTF-8 strings, and the packet holding
+     * it may be at most this large.
+     */
+    private static final long MAXIMUM_BOOK_BYTES = 2097152;
+
+    /**
+     * The maximum number of pages of a writable book, by version.
+     */
+    private static final NavigableMap<Version, Integer> WRITABLE_BOOK_PAGES = new TreeMap<>();
+
+    /**
+     * The accounting of the NBT data of a book by the client, by version.
+     */
+    private static final NavigableMap<Version, BookLimits.NbtAccounting> NBT_ACCOUNTING = new TreeMap<>();
+
+    static {
+        WRITABLE_BOOK_PAGES.put(Version.from(1, 7, 0), 50);
+        WRITABLE_BOOK_PAGES.put(Version.from(1, 14, 0), 100);
+
+        // The read limiter charges 288 bits for a string tag, 16 bits per
+        // character, and 32 bits for a list element, and counts bits / 8
+        // against a quota of 2097152. Since 1.20.2 the same costs are
+        // charged in bytes directly. The root compound, its keys, and the
+        // title and author tags are charged at most 512 bytes.
+        NBT_ACCOUNTING.put(Version.from(1, 7, 0), new BookLimits.NbtAccounting(512, 36 + 4, 2, 2097152));
+    }
+
+    /**
+     * Returns the limits for the specified <tt>version</tt>. If
+     * <tt>capPages</tt> is true, the number of pages is capped to the
+     * number of pages a writable book may hold in the version, otherwise
+     * it is not capped. Versions older than the table do not cap the
+     * number of pages, nor account the NBT data.
+     *
+     * @param version the server version
+     * @param capPages whether the number of pages is capped
+     * @return the limits for the version
+     */
+    public static BookLimits forVersion(Version version, boolean capPages) {
+        Map.Entry<Version, Integer> entry = WRITABLE_BOOK_PAGES.floorEntry(version);
+        int maximumPages = capPages && entry != null ? entry.getValue() : BookLimits.UNLIMITED_PAGES;
+
+        Map.Entry<Version, BookLimits.NbtAccounting> nbtEntry = NBT_ACCOUNTING.floorEntry(version);
+        BookLimits.NbtAccounting nbtAccounting = nbtEntry != null
+                ? nbtEntry.getValue()
+                : BookLimits.NbtAccounting.NONE;
+
+        return new BookLimits(MAXIMUM_PAGE_BYTES, maximumPages, MAXIMUM_BOOK_BYTES, nbtAccounting);
+    }
+}
@@ -36,6 +36,20 @@ public final class UnsupportedVersionException extends Exception {
         this.version = version;
     }
 
+    /**
+     * Constructs a new <tt>UnsupportedVersionException</tt>
+     * with an error message, the unsupported version, and
+     * the cause of the version not being supported.
+     *
+     * @param message the error message
+     * @param version the unsupported version
+     * @param cause the cause of the version not being supported
+     */
+    public UnsupportedVersionException(String message, Version version, Throwable cause) {
+        super(message, cause);
+        this.version = version;
+    }
+
     /**
      * Returns the unsupported version.
      *
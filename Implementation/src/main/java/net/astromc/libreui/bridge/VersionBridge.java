@@ -18,6 +18,7 @@ package net.astromc.libreui.bridge;
 
 import net.astromc.libreui.LibreUIPlugin;
 import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.cache.PayloadKey;
 import org.bukkit.entity.Player;
 
 /**
@@ -43,4 +44,35 @@ public interface VersionBridge {
      *                plugin message
      */
     void openBook(Player player, Book book, LibreUIPlugin plugin);
+
+    /**
+     * Performs the player independent work of opening the <tt>book</tt>
+     * for the first time, such as serializing it, building the data sent
+     * to the client, and the packets sending it, without opening it to any
+     * player, nor caching the built data. This is used to probe the
+     * implementations at startup, therefore implementations should throw
+     * an exception if the prepared data is invalid. The default
+     * implementation serializes the book.
+     *
+     * @param book book being prepared
+     */
+    default void prepareBook(Book book) {
+        book.getJsonRepresentation();
+    }
+
+    /**
+     * Renders the payload of the <tt>key</tt>, whose book has the
+     * specified <tt>jsonRepresentation</tt>, into the payload cache
+     * of the <tt>plugin</tt>, so the next open of the book does not
+     * have to render it. This is used to warm up the cache at startup,
+     * and is invoked on the thread ticking the server globally, see
+     * {@link net.astromc.libreui.scheduling.TickBudgetExecutor}. The default implementation
+     * does nothing, for implementations which don't cache payloads.
+     *
+     * @param key the key of the payload being rendered
+     * @param jsonRepresentation the JSON representation of the book
+     * @param plugin the LibreUIPlugin plugin instance
+     */
+    default void preloadPayload(PayloadKey key, String jsonRepresentation, LibreUIPlugin plugin) {
+    }
 }
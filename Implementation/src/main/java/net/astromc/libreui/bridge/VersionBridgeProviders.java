@@ -19,6 +19,7 @@ package net.astromc.libreui.bridge;
 import net.astromc.libreui.utils.version.Version;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -72,6 +73,27 @@ public enum VersionBridgeProviders {;
         PROVIDERS.put(name, provider);
     }
 
+    /**
+     * Returns an unmodifiable snapshot of the providers registered
+     * by name, ordered by their names. The default provider is only
+     * included by the name it was registered with, if any.
+     *
+     * @return the providers registered by name
+     */
+    public static Map<String, VersionBridgeProvider> getRegisteredProviders() {
+        Map<String, VersionBridgeProvider> providers = new LinkedHashMap<>();
+
+        synchronized (PROVIDERS) {
+            PROVIDERS.forEach((name, provider) -> {
+                if (!name.equals(DEFAULT_PROVIDER_NAME)) {
+                    providers.put(name, provider);
+                }
+            });
+        }
+
+        return Collections.unmodifiableMap(providers);
+    }
+
     /**
      * Creates a new {@link VersionBridge} instance using
      * the default provider. This method delegates to the
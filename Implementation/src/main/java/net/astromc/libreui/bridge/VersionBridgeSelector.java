@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.bridge;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.astromc.libreui.utils.version.Version;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.ClickEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Selects the first working {@link VersionBridge} among a set of
+ * {@link VersionBridgeProvider}s, in a fixed priority order. Every
+ * provider in the order is created for the version, and probed with
+ * a synthetic {@link Book}, using {@link VersionBridge#prepareBook(Book)}.
+ * Providers which are not registered, don't support the version, or
+ * fail the probe, are skipped. The skipped providers and the decision
+ * are logged.
+ * <p/>
+ *
+ * The bridges are not benchmarked, as the work which differs between
+ * them, such as swapping the held item, sending packets or calling the
+ * native open book method, requires a player, and no player is online
+ * at startup. The player independent work they share is not a sensible
+ * basis for a decision.
+ */
+public final class VersionBridgeSelector {
+    /**
+     * The number of pages in the synthetic probe book.
+     */
+    private static final int PROBE_BOOK_PAGES = 10;
+
+    private final Logger logger;
+
+    /**
+     * Constructs a new <tt>VersionBridgeSelector</tt>.
+     *
+     * @param logger the logger the skipped providers and the decision are logged to
+     */
+    public VersionBridgeSelector(Logger logger) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+    }
+
+    /**
+     * Creates a {@link VersionBridge} from the <tt>providers</tt>, in the
+     * order of their names in <tt>priority</tt>, and returns the first one
+     * which supports the <tt>version</tt> and passes the probe. Names are
+     * matched regardless of their casing.
+     *
+     * @param providers the registered providers, by name
+     * @param priority the names of the providers, in order of preference
+     * @param version the underlying system version
+     * @return the first working {@link VersionBridge}
+     * @throws UnsupportedVersionException if none of the providers in
+     * <tt>priority</tt> support the version and pass the probe
+     */
+    public VersionBridge select(Map<String, VersionBridgeProvider> providers, List<String> priority, Version version)
+            throws UnsupportedVersionException {
+        Map<String, VersionBridgeProvider> providersByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        providersByName.putAll(providers);
+
+        for (String name : priority) {
+            VersionBridgeProvider provider = providersByName.get(name);
+
+            if (provider == null) {
+                logger.info("Version bridge '" + name + "' skipped: not registered");
+                continue;
+            }
+
+            VersionBridge bridge;
+
+            try {
+                bridge = provider.create(version);
+                bridge.prepareBook(createProbeBook());
+            } catch (UnsupportedVersionException e) {
+                logger.info("Version bridge '" + name + "' skipped: " + e.getMessage());
+                continue;
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Version bridge '" + name + "' failed the probe", e);
+                continue;
+            }
+
+            logger.info("Selected version bridge '" + name + "', in the priority order " + priority);
+            return bridge;
+        }
+
+        throw new UnsupportedVersionException("No version bridge supports this version", version);
+    }
+
+    /**
+     * Creates a synthetic book used to probe the bridges, which
+     * has formatted text, and click and hover events on all of its
+     * pages.
+     *
+     * @return a new synthetic probe book
+     */
+    private static Book createProbeBook() {
+        Book.Builder builder = new Book.Builder(createProbePage(0));
+
+        for (int i = 1; i < PROBE_BOOK_PAGES; i++) {
+            builder.addPage(createProbePage(i));
+        }
+
+        return builder.build();
+    }
+
+    private static Page createProbePage(int index) {
+        return new PageWriter()
+                .text("Probe page " + index).color(ChatColor.DARK_BLUE).bold()
+                .text("\n\nClick here").color(ChatColor.BLACK)
+                .click(ClickEvent.Action.CHANGE_PAGE, String.valueOf(index + 1))
+                .hover("Page " + (index + 1))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.impl;
+
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.cache.PayloadKey;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link VersionBridge} implementation delegating to the native
+ * <tt>Player#openBook(ItemStack)</tt> method, available on servers
+ * from Minecraft 1.14. Unlike the {@link VersatileVersionBridge},
+ * the player inventory is never modified, and no plugin message is
+ * sent. This class is package-private as it is not intended to by
+ * used to any classes except for the {@link NativeVersionBridgeProvider}.
+ */
+final class NativeVersionBridge implements VersionBridge {
+    private final BiConsumer<Player, ItemStack> nativeOpenBook;
+
+    private NativeVersionBridge(BiConsumer<Player, ItemStack> nativeOpenBook) {
+        this.nativeOpenBook = nativeOpenBook;
+    }
+
+    /**
+     * The specified <tt>book</tt> is sent and displayed to the
+     * <tt>player</tt>, by passing a written book {@link ItemStack}
+     * to the native open book method. The {@link ItemStack} is cached
+     * in the {@link LibreUIPlugin#getPayloadCache() payload cache} by
+     * the content hash of the book.
+     *
+     * @param player player opening the book screen for
+     * @param book book opening to the player
+     * @param plugin the LibreUIPlugin plugin instance
+     */
+    @Override
+    public void openBook(Player player, Book book, LibreUIPlugin plugin) {
+        StageTimer itemBuildTimer = BookOpenProfiling.begin(BookOpenStage.ITEM_BUILD);
+        ItemStack writtenBookItemStack = plugin.getPayloadCache()
+                .get(PayloadKey.of(book), key -> WrittenBookItemStacks.fromJson(book.getJsonRepresentation()));
+        itemBuildTimer.finish(book, player);
+
+        this.nativeOpenBook.accept(player, writtenBookItemStack);
+    }
+
+    /**
+     * Builds the written book {@link ItemStack}, without opening it.
+     *
+     * @param book book being prepared
+     * @throws IllegalStateException if the built {@link ItemStack} is
+     * not a written book
+     */
+    @Override
+    public void prepareBook(Book book) throws IllegalStateException {
+        WrittenBookItemStacks.prepare(book);
+    }
+
+    /**
+     * Renders the written book {@link ItemStack} of the <tt>key</tt>
+     * into the {@link LibreUIPlugin#getPayloadCache() payload cache},
+     * unless it is already cached.
+     *
+     * @param key the key of the payload being rendered
+     * @param jsonRepresentation the JSON representation of the book
+     * @param plugin the LibreUIPlugin plugin instance
+     */
+    @Override
+    public void preloadPayload(PayloadKey key, String jsonRepresentation, LibreUIPlugin plugin) {
+        plugin.getPayloadCache().get(key, ignored -> WrittenBookItemStacks.fromJson(jsonRepresentation));
+    }
+
+    /**
+     * Creates a new {@link NativeVersionBridge} instance invoking
+     * the bound <tt>nativeOpenBook</tt> method.
+     *
+     * @param nativeOpenBook the bound native open book method
+     * @return a new {@link NativeVersionBridge}
+     */
+    static NativeVersionBridge newInstance(BiConsumer<Player, ItemStack> nativeOpenBook) {
+        return new NativeVersionBridge(Objects.requireNonNull(nativeOpenBook));
+    }
+}
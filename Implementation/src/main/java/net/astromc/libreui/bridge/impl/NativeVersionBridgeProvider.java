@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.impl;
+
+import net.astromc.libreui.bridge.UnsupportedVersionException;
+import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.bridge.VersionBridgeProvider;
+import net.astromc.libreui.bridge.nms.AccessorResolutionException;
+import net.astromc.libreui.bridge.nms.LambdaAccessorBinder;
+import net.astromc.libreui.utils.version.Version;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link VersionBridgeProvider} which provides instances of
+ * {@link NativeVersionBridge}, on servers exposing the native
+ * <tt>Player#openBook(ItemStack)</tt> method. The method is bound
+ * to a {@link BiConsumer} once per created bridge, using the
+ * {@link LambdaAccessorBinder}.
+ */
+public enum NativeVersionBridgeProvider implements VersionBridgeProvider {
+    /**
+     * Singleton implementation instance.
+     */
+    INSTANCE;
+
+    /**
+     * The name of the native open book method.
+     */
+    private static final String OPEN_BOOK_METHOD_NAME = "openBook";
+
+    /**
+     * Returns whether the running server exposes the native
+     * open book method.
+     *
+     * @return true if the native open book method is available
+     */
+    public static boolean isAvailable() {
+        return findOpenBookMethod() != null;
+    }
+
+    /**
+     * Creates a new {@link NativeVersionBridge} instance. The
+     * <tt>version</tt> is not used, as the availability of the
+     * native method is checked instead. An {@link UnsupportedVersionException}
+     * is thrown if the method is unavailable, or cannot be bound.
+     *
+     * @param version the underlying system version
+     * @return a new {@link NativeVersionBridge}
+     * @throws UnsupportedVersionException if the native open book
+     * method is unavailable on the running server
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public VersionBridge create(Version version) throws UnsupportedVersionException {
+        Method openBookMethod = findOpenBookMethod();
+
+        if (openBookMethod == null) {
+            throw new UnsupportedVersionException(
+                    "The native open book method is not available", version);
+        }
+
+        try {
+            return NativeVersionBridge.newInstance(LambdaAccessorBinder.bind(BiConsumer.class, openBookMethod));
+        } catch (AccessorResolutionException e) {
+            throw new UnsupportedVersionException(
+                    "The native open book method cannot be bound", version, e);
+        }
+    }
+
+    private static Method findOpenBookMethod() {
+        try {
+            return Player.class.getMethod(OPEN_BOOK_METHOD_NAME, ItemStack.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
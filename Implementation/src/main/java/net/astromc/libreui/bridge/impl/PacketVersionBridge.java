@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.impl;
+
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.bridge.nms.MinecraftAccessors;
+import net.astromc.libreui.cache.PayloadKey;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
+import net.astromc.libreui.utils.messaging.BookOpenPluginMessageHandler;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Objects;
+
+/**
+ * A {@link VersionBridge} implementation opening books through the
+ * same <tt>MC|BOpen</tt> message as the {@link VersatileVersionBridge},
+ * but which never modifies the inventory of the player. The written book
+ * is only sent to the held slot of the client, using a set slot packet
+ * created through the {@link MinecraftAccessors}, and the held item is
+ * sent again once the book is opened. No inventory events are therefore
+ * fired, and the server side inventory is never out of sync. This class
+ * is package-private as it is not intended to by used to any classes
+ * except for the {@link PacketVersionBridgeProvider}.
+ */
+final class PacketVersionBridge implements VersionBridge {
+    /**
+     * The window id of the player inventory.
+     */
+    private static final int PLAYER_INVENTORY_WINDOW_ID = 0;
+
+    /**
+     * The slot of the first hotbar slot in the player inventory window.
+     */
+    private static final int FIRST_HOTBAR_SLOT = 36;
+
+    private final MinecraftAccessors accessors;
+
+    private PacketVersionBridge(MinecraftAccessors accessors) {
+        this.accessors = accessors;
+    }
+
+    /**
+     * The specified <tt>book</tt> is sent and displayed to the
+     * <tt>player</tt>, by sending the written book {@link ItemStack}
+     * to the held slot of the client, then the open book message, as
+     * described by {@link BookOpenPluginMessageHandler#sendOpenBookMessageToPlayer(Player, Book)},
+     * and finally the actual held item to the same slot. The packets are
+     * sent through the same connection, so they are received in order.
+     *
+     * @param player player opening the book screen for
+     * @param book book opening to the player
+     * @param plugin the LibreUIPlugin plugin instance used to send the open book
+     */
+    @Override
+    public void openBook(Player player, Book book, LibreUIPlugin plugin) {
+        StageTimer itemBuildTimer = BookOpenProfiling.begin(BookOpenStage.ITEM_BUILD);
+        ItemStack writtenBookItemStack = plugin.getPayloadCache()
+                .get(PayloadKey.of(book), key -> WrittenBookItemStacks.fromJson(book.getJsonRepresentation()));
+        itemBuildTimer.finish(book, player);
+
+        PlayerInventory inventory = player.getInventory();
+        int slot = FIRST_HOTBAR_SLOT + inventory.getHeldItemSlot();
+
+        try {
+            StageTimer swapTimer = BookOpenProfiling.begin(BookOpenStage.INVENTORY_SWAP);
+            this.sendSlot(player, slot, writtenBookItemStack);
+            swapTimer.finish(book, player);
+
+            plugin.getBookOpenPluginMessageHandler()
+                    .sendOpenBookMessageToPlayer(player, book);
+        } finally {
+            StageTimer restoreTimer = BookOpenProfiling.begin(BookOpenStage.INVENTORY_SWAP);
+            this.sendSlot(player, slot, inventory.getItemInHand());
+            restoreTimer.finish(book, player);
+        }
+    }
+
+    /**
+     * Builds the written book {@link ItemStack}, and the set slot
+     * packet sending it, without sending it to any player.
+     *
+     * @param book book being prepared
+     * @throws IllegalStateException if the built {@link ItemStack} is
+     * not a written book, or the packet cannot be created
+     */
+    @Override
+    public void prepareBook(Book book) throws IllegalStateException {
+        ItemStack writtenBookItemStack = WrittenBookItemStacks.prepare(book);
+
+        this.accessors.newSetSlotPacket(PLAYER_INVENTORY_WINDOW_ID, FIRST_HOTBAR_SLOT,
+                this.accessors.asNmsCopy(writtenBookItemStack));
+    }
+
+    /**
+     * Renders the written book {@link ItemStack} of the <tt>key</tt>
+     * into the {@link LibreUIPlugin#getPayloadCache() payload cache},
+     * unless it is already cached.
+     *
+     * @param key the key of the payload being rendered
+     * @param jsonRepresentation the JSON representation of the book
+     * @param plugin the LibreUIPlugin plugin instance
+     */
+    @Override
+    public void preloadPayload(PayloadKey key, String jsonRepresentation, LibreUIPlugin plugin) {
+        plugin.getPayloadCache().get(key, ignored -> WrittenBookItemStacks.fromJson(jsonRepresentation));
+    }
+
+    private void sendSlot(Player player, int slot, ItemStack itemStack) {
+        Object packet = this.accessors.newSetSlotPacket(PLAYER_INVENTORY_WINDOW_ID, slot,
+                this.accessors.asNmsCopy(itemStack));
+
+        this.accessors.sendPacket(player, packet);
+    }
+
+    /**
+     * Creates a new {@link PacketVersionBridge} instance sending
+     * packets through the <tt>accessors</tt>.
+     *
+     * @param accessors the accessors resolved for the running server
+     * @return a new {@link PacketVersionBridge}
+     */
+    static PacketVersionBridge newInstance(MinecraftAccessors accessors) {
+        return new PacketVersionBridge(Objects.requireNonNull(accessors));
+    }
+}
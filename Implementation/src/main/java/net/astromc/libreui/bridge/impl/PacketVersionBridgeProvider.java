@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.impl;
+
+import net.astromc.libreui.bridge.UnsupportedVersionException;
+import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.bridge.VersionBridgeProvider;
+import net.astromc.libreui.bridge.nms.MinecraftAccessors;
+import net.astromc.libreui.utils.version.Version;
+
+import java.util.Objects;
+
+/**
+ * A {@link VersionBridgeProvider} which provides instances of
+ * {@link PacketVersionBridge}, sending packets through the {@link
+ * MinecraftAccessors} resolved for the running server. Like the
+ * {@link VersatileVersionBridgeProvider}, versions from 1.14 are
+ * not supported, as the <tt>MC|BOpen</tt> channel no longer exists.
+ */
+public final class PacketVersionBridgeProvider implements VersionBridgeProvider {
+    /**
+     * The minimum supported CraftBukkit implementation version.
+     */
+    private static final Version MINIMUM_SUPPORTED_VERSION = Version.from(1,8,0);
+
+    /**
+     * The first CraftBukkit implementation version, which is not
+     * supported, as the <tt>MC|BOpen</tt> channel no longer exists.
+     */
+    private static final Version FIRST_UNSUPPORTED_VERSION = Version.from(1,14,0);
+
+    private final MinecraftAccessors accessors;
+
+    /**
+     * Constructs a new <tt>PacketVersionBridgeProvider</tt> providing
+     * bridges using the <tt>accessors</tt>.
+     *
+     * @param accessors the accessors resolved for the running server
+     */
+    public PacketVersionBridgeProvider(MinecraftAccessors accessors) {
+        this.accessors = Objects.requireNonNull(accessors, "accessors");
+    }
+
+    /**
+     * Creates a new {@link PacketVersionBridge} instance. An
+     * {@link UnsupportedVersionException} is thrown if the
+     * specified <tt>version</tt> is below 1.8, or 1.14 and above.
+     *
+     * @param version the underlying system version
+     * @return a new {@link PacketVersionBridge}
+     * @throws UnsupportedVersionException if the specified version
+     * is below 1.8, or is 1.14 and above
+     */
+    @Override
+    public VersionBridge create(Version version) throws UnsupportedVersionException {
+        if (version.compareTo(MINIMUM_SUPPORTED_VERSION) < 0) {
+            throw new UnsupportedVersionException(
+                    "Versions below 1.8 is not supported", version);
+        } else if (version.compareTo(FIRST_UNSUPPORTED_VERSION) >= 0) {
+            throw new UnsupportedVersionException(
+                    "Versions from 1.14 is not supported, use the native bridge", version);
+        }
+
+        return PacketVersionBridge.newInstance(this.accessors);
+    }
+}
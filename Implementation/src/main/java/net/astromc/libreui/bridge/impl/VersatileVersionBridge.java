@@ -19,28 +19,27 @@ package net.astromc.libreui.bridge.impl;
 import net.astromc.libreui.LibreUIPlugin;
 import net.astromc.libreui.api.book.Book;
 import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.cache.PayloadKey;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
 import net.astromc.libreui.utils.messaging.BookOpenPluginMessageHandler;
-import net.astromc.libreui.utils.version.Version;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 
-import java.util.Objects;
-
 /**
  * This is a versatile {@link VersionBridge} implementation designed to work on
  * all versions from Minecraft 1.7.2 (CB 1_7_R1) to Minecraft 1.11.2 (v1_11_R1).
  * This implementation may support versions outside from this scope, but is not
- * guaranteed. This class is package-private as it is not intended to by used to
- * any classes except for the {@link VersatileVersionBridgeProvider}.
+ * guaranteed. From Minecraft 1.14 the <tt>MC|BOpen</tt> channel no longer exists,
+ * and the {@link NativeVersionBridge} is used instead. This class is package-private
+ * as it is not intended to by used to any classes except for the
+ * {@link VersatileVersionBridgeProvider}.
  */
 final class VersatileVersionBridge implements VersionBridge {
-    private final Version implementationVersion;
-
-    private VersatileVersionBridge(Version implementationVersion) {
-        this.implementationVersion = implementationVersion;
+    private VersatileVersionBridge() {
     }
 
     /**
@@ -54,10 +53,13 @@ final class VersatileVersionBridge implements VersionBridge {
      * which is then applied to the targeted {@link ItemStack}.
      * The current held item in hand is stored, and is replaced
      * with the dummy book {@link ItemStack}. The book is then opened
-     * by invoking {@link BookOpenPluginMessageHandler#sendOpenBookMessageToPlayer(Player, Version)}
+     * by invoking {@link BookOpenPluginMessageHandler#sendOpenBookMessageToPlayer(Player, Book)}
      * which sends the player a open book message, ultimately the
      * original item it restored in a <tt>finally</tt> statement
-     * to assure it is always restored.
+     * to assure it is always restored. The dummy book {@link ItemStack}
+     * is cached in the {@link LibreUIPlugin#getPayloadCache() payload cache}
+     * by the content hash of the book. Every stage is recorded as described by {@link
+     * BookOpenProfiling}.
      *
      * @param player player opening the book screen for
      * @param book book opening to the player
@@ -65,49 +67,64 @@ final class VersatileVersionBridge implements VersionBridge {
      */
     @Override
     public void openBook(Player player, Book book, LibreUIPlugin plugin) {
-        ItemStack dummyWrittenBookItemStack = createDummyWrittenBookItemStackFromBook(book);
+        StageTimer itemBuildTimer = BookOpenProfiling.begin(BookOpenStage.ITEM_BUILD);
+        ItemStack dummyWrittenBookItemStack = plugin.getPayloadCache()
+                .get(PayloadKey.of(book), key -> WrittenBookItemStacks.fromJson(book.getJsonRepresentation()));
+        itemBuildTimer.finish(book, player);
 
         PlayerInventory inventory = player.getInventory();
         ItemStack originalItem = inventory.getItemInHand();
 
         try {
+            StageTimer swapTimer = BookOpenProfiling.begin(BookOpenStage.INVENTORY_SWAP);
             inventory.setItemInHand(dummyWrittenBookItemStack);
+            swapTimer.finish(book, player);
 
             plugin.getBookOpenPluginMessageHandler()
-                    .sendOpenBookMessageToPlayer(player, implementationVersion);
+                    .sendOpenBookMessageToPlayer(player, book);
         } finally {
+            StageTimer restoreTimer = BookOpenProfiling.begin(BookOpenStage.INVENTORY_SWAP);
             inventory.setItemInHand(originalItem);
+            restoreTimer.finish(book, player);
         }
     }
 
     /**
-     * Constructs the dummy book {@link ItemStack} described in the
+     * Builds the dummy book {@link ItemStack}, as described in the
      * {@link VersatileVersionBridge#openBook(Player, Book, LibreUIPlugin)}
-     * method documentation.
+     * method documentation, without opening it.
      *
-     * @param book the book creating the dummy from
-     * @return the dummy book {@link ItemStack}
+     * @param book book being prepared
+     * @throws IllegalStateException if the built {@link ItemStack} is
+     * not a {@link Material#WRITTEN_BOOK written book}
      */
-    private static ItemStack createDummyWrittenBookItemStackFromBook(Book book) {
-        ItemStack dummyWrittenBookItemStack = new ItemStack(Material.WRITTEN_BOOK);
-        String jsonRepresentation = book.getJsonRepresentation();
-
-        dummyWrittenBookItemStack = Bukkit.getUnsafe()
-                .modifyItemStack(dummyWrittenBookItemStack, jsonRepresentation);
+    @Override
+    public void prepareBook(Book book) throws IllegalStateException {
+        WrittenBookItemStacks.prepare(book);
+    }
 
-        return dummyWrittenBookItemStack;
+    /**
+     * Renders the written book {@link ItemStack} of the <tt>key</tt>
+     * into the {@link LibreUIPlugin#getPayloadCache() payload cache},
+     * unless it is already cached.
+     *
+     * @param key the key of the payload being rendered
+     * @param jsonRepresentation the JSON representation of the book
+     * @param plugin the LibreUIPlugin plugin instance
+     */
+    @Override
+    public void preloadPayload(PayloadKey key, String jsonRepresentation, LibreUIPlugin plugin) {
+        plugin.getPayloadCache().get(key, ignored -> WrittenBookItemStacks.fromJson(jsonRepresentation));
     }
 
     /**
-     * Creates a new {@link VersatileVersionBridge} instance targeting
-     * the CraftBukkit implementation version specified by the
-     * <tt>implementationVersion</tt> parameter.
+     * Creates a new {@link VersatileVersionBridge} instance. The
+     * open book message is formatted for the protocol family of the
+     * running server, as described by {@link BookOpenPluginMessageHandler}.
      *
-     * @param implementationVersion CraftBukkit implementation this
-     * {@link VersionBridge} instance is targeting
-     * @return a new {@link VersatileVersionBridge} targeting the specified version
+     * @return a new {@link VersatileVersionBridge}
      */
-    static VersatileVersionBridge newInstance(Version implementationVersion) {
-        return new VersatileVersionBridge(Objects.requireNonNull(implementationVersion));
+    static VersatileVersionBridge newInstance() {
+        return new VersatileVersionBridge();
     }
 }
@@ -23,9 +23,9 @@ import net.astromc.libreui.utils.version.Version;
 
 /**
  * A {@link VersionBridgeProvider} which provides instances of
- * {@link VersatileVersionBridge} with the implementation version,
- * specified in the {@link VersionBridgeProvider#create(Version)
- * create} method.
+ * {@link VersatileVersionBridge}, for the implementation versions
+ * supporting the <tt>MC|BOpen</tt> channel, as checked by the
+ * {@link VersionBridgeProvider#create(Version) create} method.
  */
 public enum VersatileVersionBridgeProvider implements VersionBridgeProvider {
     /**
@@ -39,17 +39,21 @@ public enum VersatileVersionBridgeProvider implements VersionBridgeProvider {
     private static final Version MINIMUM_SUPPORTED_VERSION = Version.from(1,7,0);
 
     /**
-     * Creates a new {@link VersatileVersionBridge} instance with
-     * the specified implementation <tt>version</tt>. An
+     * The first CraftBukkit implementation version, which is not
+     * supported, as the <tt>MC|BOpen</tt> channel no longer exists.
+     */
+    private static final Version FIRST_UNSUPPORTED_VERSION = Version.from(1,14,0);
+
+    /**
+     * Creates a new {@link VersatileVersionBridge} instance. An
      * {@link UnsupportedVersionException} is thrown if the
-     * specified <tt>version</tt> is below 1.7.
+     * specified <tt>version</tt> is below 1.7, or 1.14 and above.
      *
-     * @param version implementation version used by the
-     * <tt>VersatileVersionBridge</tt> instance
-     * @return a new {@link VersatileVersionBridge} using
-     * the specified <tt>version</tt>
+     * @param version the underlying system version
+     * @return a new {@link VersatileVersionBridge}
      * @throws UnsupportedVersionException if the specified version
-     * is below the server version 1.7 (CraftBukkit 1_7_R1)
+     * is below the server version 1.7 (CraftBukkit 1_7_R1), or is
+     * 1.14 (CraftBukkit 1_14_R1) and above
      */
     @Override
     public VersionBridge create(Version version)
@@ -57,8 +61,11 @@ public enum VersatileVersionBridgeProvider implements VersionBridgeProvider {
         if (version.compareTo(MINIMUM_SUPPORTED_VERSION) < 0) {
             throw new UnsupportedVersionException(
                     "Versions below 1.7 is not supported", version);
+        } else if (version.compareTo(FIRST_UNSUPPORTED_VERSION) >= 0) {
+            throw new UnsupportedVersionException(
+                    "Versions from 1.14 is not supported, use the native bridge", version);
         }
 
-        return VersatileVersionBridge.newInstance(version);
+        return VersatileVersionBridge.newInstance();
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.impl;
+
+import net.astromc.libreui.api.book.Book;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Utility class constructing the written book {@link ItemStack}s
+ * shared by the {@link net.astromc.libreui.bridge.VersionBridge}
+ * implementations in this package.
+ */
+enum WrittenBookItemStacks {;
+
+    /**
+     * Constructs a written book {@link ItemStack} from the JSON
+     * representation of a book. The JSON representation is applied
+     * using {@link org.bukkit.UnsafeValues#modifyItemStack(ItemStack, String)
+     * Bukkit.getUnsafe().modifyItemStack}, which converts it to NBT data.
+     *
+     * @param jsonRepresentation the JSON representation of the book
+     * @return the written book {@link ItemStack}
+     */
+    static ItemStack fromJson(String jsonRepresentation) {
+        ItemStack writtenBookItemStack = new ItemStack(Material.WRITTEN_BOOK);
+
+        return Bukkit.getUnsafe().modifyItemStack(writtenBookItemStack, jsonRepresentation);
+    }
+
+    /**
+     * Constructs a written book {@link ItemStack} from the <tt>book</tt>,
+     * and verifies it is a {@link Material#WRITTEN_BOOK written book}.
+     *
+     * @param book the book being prepared
+     * @return the written book {@link ItemStack}
+     * @throws IllegalStateException if the built {@link ItemStack} is
+     * not a {@link Material#WRITTEN_BOOK written book}
+     */
+    static ItemStack prepare(Book book) throws IllegalStateException {
+        ItemStack writtenBookItemStack = fromJson(book.getJsonRepresentation());
+
+        if (writtenBookItemStack == null || writtenBookItemStack.getType() != Material.WRITTEN_BOOK) {
+            throw new IllegalStateException("Dummy book item stack is not a written book");
+        }
+
+        return writtenBookItemStack;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.nms;
+
+/**
+ * This exception indicates that a version specific
+ * member could not be resolved or bound by the
+ * {@link MinecraftAccessors}.
+ */
+public final class AccessorResolutionException extends Exception {
+
+    /**
+     * Constructs a new <tt>AccessorResolutionException</tt>
+     * with an error message and a <tt>cause</tt>.
+     *
+     * @param message the error message
+     * @param cause exception which caused this exception
+     *              to be thrown
+     */
+    public AccessorResolutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
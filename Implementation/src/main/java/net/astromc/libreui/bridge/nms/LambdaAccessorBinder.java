@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.nms;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * Utility class binding reflectively resolved methods to
+ * functional interfaces using the {@link LambdaMetafactory}.
+ * The returned instances invoke the target method directly,
+ * just like a compiled lambda expression would, which allows
+ * the JIT compiler to inline the call, unlike {@link
+ * Method#invoke(Object, Object...)}.
+ */
+public enum LambdaAccessorBinder {;
+
+    /**
+     * Binds the <tt>method</tt> to a new instance of the
+     * <tt>functionalInterface</tt>. For instance methods, the
+     * receiver is the first parameter of the functional method,
+     * followed by the method parameters.
+     *
+     * @param functionalInterface the interface being implemented
+     * @param method the method the implementation delegates to
+     * @param <T> the functional interface type
+     * @return an instance of the functional interface delegating to the method
+     * @throws AccessorResolutionException if the method cannot be bound
+     * to the functional interface
+     */
+    public static <T> T bind(Class<T> functionalInterface, Method method) throws AccessorResolutionException {
+        Method functionalMethod = findFunctionalMethod(functionalInterface);
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle implementation = lookup.unreflect(method);
+
+            MethodType functionalType = MethodType.methodType(
+                    functionalMethod.getReturnType(),
+                    functionalMethod.getParameterTypes());
+
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    functionalMethod.getName(),
+                    MethodType.methodType(functionalInterface),
+                    functionalType,
+                    implementation,
+                    instantiatedType(implementation.type(), functionalType));
+
+            return functionalInterface.cast(callSite.getTarget().invoke());
+        } catch (Throwable e) {
+            throw new AccessorResolutionException(
+                    "Unable to bind " + method + " to " + functionalInterface.getName(), e);
+        }
+    }
+
+    /**
+     * Returns the single abstract method of the <tt>functionalInterface</tt>.
+     *
+     * @param functionalInterface the interface searched
+     * @return the single abstract method of the interface
+     * @throws IllegalArgumentException if the class is not a functional interface
+     */
+    private static Method findFunctionalMethod(Class<?> functionalInterface) throws IllegalArgumentException {
+        Method[] abstractMethods = Arrays.stream(functionalInterface.getMethods())
+                .filter(method -> Modifier.isAbstract(method.getModifiers()))
+                .toArray(Method[]::new);
+
+        if (!functionalInterface.isInterface() || abstractMethods.length != 1) {
+            throw new IllegalArgumentException(functionalInterface.getName() + " is not a functional interface");
+        }
+
+        return abstractMethods[0];
+    }
+
+    /**
+     * Computes the instantiated method type, which is the
+     * implementation type with its primitives boxed wherever
+     * the functional method expects a reference type.
+     *
+     * @param implementationType the type of the implementation method handle
+     * @param functionalType the erased type of the functional method
+     * @return the instantiated method type
+     */
+    private static MethodType instantiatedType(MethodType implementationType, MethodType functionalType) {
+        MethodType instantiatedType = implementationType;
+
+        for (int i = 0; i < implementationType.parameterCount(); i++) {
+            if (!functionalType.parameterType(i).isPrimitive()) {
+                instantiatedType = instantiatedType.changeParameterType(i, box(implementationType.parameterType(i)));
+            }
+        }
+
+        Class<?> returnType = functionalType.returnType() == void.class
+                ? void.class
+                : functionalType.returnType().isPrimitive()
+                ? implementationType.returnType()
+                : box(implementationType.returnType());
+
+        return instantiatedType.changeReturnType(returnType);
+    }
+
+    /**
+     * Returns the wrapper type of the <tt>type</tt>, or the
+     * <tt>type</tt> itself if it is not primitive.
+     *
+     * @param type the type being boxed
+     * @return the boxed type
+     */
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive() && type != void.class
+                ? MethodType.methodType(type).wrap().returnType()
+                : type;
+    }
+}
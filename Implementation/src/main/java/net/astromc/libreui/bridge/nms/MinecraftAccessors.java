@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge.nms;
+
+import net.astromc.libreui.utils.version.craftbukkit.CraftBukkitImplementationStringVersionSupplier;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Version specific CraftBukkit and NMS (net.minecraft.server)
+ * members used by {@link net.astromc.libreui.bridge.VersionBridge}
+ * implementations which go beyond the Bukkit API. All members are
+ * resolved once, when the accessors are created, so a member missing
+ * on the running server is discovered at startup, rather than when
+ * the first book is opened.
+ * <p/>
+ *
+ * Methods are bound to functional interfaces using the {@link
+ * LambdaAccessorBinder}, making the accessors direct, inlinable
+ * calls instead of reflective invocations.
+ */
+public final class MinecraftAccessors {
+    /**
+     * The CraftBukkit package format, which takes the
+     * implementation version, such as <tt>1_8_R3</tt>.
+     */
+    private static final String CRAFT_BUKKIT_PACKAGE_FORMAT = "org.bukkit.craftbukkit.v%s.";
+
+    /**
+     * The NMS package format, which takes the implementation
+     * version, such as <tt>1_8_R3</tt>.
+     */
+    private static final String MINECRAFT_SERVER_PACKAGE_FORMAT = "net.minecraft.server.v%s.";
+
+    private final String implementationVersion;
+
+    private final Function<Player, Object> playerHandleAccessor;
+    private final Function<ItemStack, Object> itemStackCopyAccessor;
+    private final MethodHandle playerConnectionGetter;
+    private final BiConsumer<Object, Object> packetSender;
+    private final MethodHandle setSlotPacketConstructor;
+
+    private MinecraftAccessors(String implementationVersion,
+                               Function<Player, Object> playerHandleAccessor,
+                               Function<ItemStack, Object> itemStackCopyAccessor,
+                               MethodHandle playerConnectionGetter,
+                               BiConsumer<Object, Object> packetSender,
+                               MethodHandle setSlotPacketConstructor) {
+        this.implementationVersion = implementationVersion;
+        this.playerHandleAccessor = playerHandleAccessor;
+        this.itemStackCopyAccessor = itemStackCopyAccessor;
+        this.playerConnectionGetter = playerConnectionGetter;
+        this.packetSender = packetSender;
+        this.setSlotPacketConstructor = setSlotPacketConstructor;
+    }
+
+    /**
+     * Returns the CraftBukkit implementation version these
+     * accessors are resolved for.
+     *
+     * @return the CraftBukkit implementation version
+     */
+    public String getImplementationVersion() {
+        return implementationVersion;
+    }
+
+    /**
+     * Returns the NMS <tt>EntityPlayer</tt> of the <tt>player</tt>.
+     *
+     * @param player the CraftPlayer retrieving the handle of
+     * @return the NMS player handle
+     */
+    public Object getPlayerHandle(Player player) {
+        return this.playerHandleAccessor.apply(player);
+    }
+
+    /**
+     * Returns a NMS copy of the Bukkit <tt>itemStack</tt>.
+     *
+     * @param itemStack the item stack being copied
+     * @return a NMS item stack copy
+     */
+    public Object asNmsCopy(ItemStack itemStack) {
+        return this.itemStackCopyAccessor.apply(itemStack);
+    }
+
+    /**
+     * Returns the NMS <tt>PlayerConnection</tt> of the <tt>player</tt>.
+     *
+     * @param player the player retrieving the connection of
+     * @return the NMS player connection
+     */
+    public Object getPlayerConnection(Player player) {
+        try {
+            return this.playerConnectionGetter.invokeExact(this.getPlayerHandle(player));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to retrieve the connection of " + player.getName(), e);
+        }
+    }
+
+    /**
+     * Sends the NMS <tt>packet</tt> to the <tt>player</tt>.
+     *
+     * @param player the player the packet is sent to
+     * @param packet the NMS packet being sent
+     */
+    public void sendPacket(Player player, Object packet) {
+        this.packetSender.accept(this.getPlayerConnection(player), packet);
+    }
+
+    /**
+     * Creates a NMS <tt>PacketPlayOutSetSlot</tt>, which sets the
+     * <tt>slot</tt> of the window <tt>windowId</tt> to the NMS
+     * <tt>itemStack</tt> on the client only.
+     *
+     * @param windowId the id of the window, <tt>0</tt> for the player inventory
+     * @param slot the slot of the window
+     * @param itemStack the NMS item stack, as returned by {@link MinecraftAccessors#asNmsCopy(ItemStack)}
+     * @return the NMS set slot packet
+     */
+    public Object newSetSlotPacket(int windowId, int slot, Object itemStack) {
+        try {
+            return this.setSlotPacketConstructor.invokeExact(windowId, slot, itemStack);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to create a set slot packet", e);
+        }
+    }
+
+    /**
+     * Resolves and binds the accessors for the CraftBukkit
+     * implementation version, as returned by {@link
+     * CraftBukkitImplementationStringVersionSupplier}, such as
+     * <tt>1_8_R3</tt>.
+     *
+     * @param implementationVersion the CraftBukkit implementation version
+     * @return the resolved accessors
+     * @throws AccessorResolutionException if any of the members cannot
+     * be resolved or bound on the running server
+     */
+    public static MinecraftAccessors resolve(String implementationVersion) throws AccessorResolutionException {
+        Objects.requireNonNull(implementationVersion, "implementationVersion");
+
+        String craftBukkitPackage = String.format(CRAFT_BUKKIT_PACKAGE_FORMAT, implementationVersion);
+        String minecraftServerPackage = String.format(MINECRAFT_SERVER_PACKAGE_FORMAT, implementationVersion);
+
+        try {
+            Class<?> craftPlayerClass = Class.forName(craftBukkitPackage + "entity.CraftPlayer");
+            Class<?> craftItemStackClass = Class.forName(craftBukkitPackage + "inventory.CraftItemStack");
+            Class<?> entityPlayerClass = Class.forName(minecraftServerPackage + "EntityPlayer");
+            Class<?> playerConnectionClass = Class.forName(minecraftServerPackage + "PlayerConnection");
+            Class<?> packetClass = Class.forName(minecraftServerPackage + "Packet");
+            Class<?> itemStackClass = Class.forName(minecraftServerPackage + "ItemStack");
+            Class<?> setSlotPacketClass = Class.forName(minecraftServerPackage + "PacketPlayOutSetSlot");
+
+            Method getHandle = craftPlayerClass.getMethod("getHandle");
+            Method asNmsCopy = craftItemStackClass.getMethod("asNMSCopy", ItemStack.class);
+            Method sendPacket = playerConnectionClass.getMethod("sendPacket", packetClass);
+            Field playerConnection = entityPlayerClass.getField("playerConnection");
+
+            MethodHandle playerConnectionGetter = MethodHandles.publicLookup()
+                    .unreflectGetter(playerConnection)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+
+            MethodHandle setSlotPacketConstructor = MethodHandles.publicLookup()
+                    .unreflectConstructor(setSlotPacketClass.getConstructor(int.class, int.class, itemStackClass))
+                    .asType(MethodType.methodType(Object.class, int.class, int.class, Object.class));
+
+            return new MinecraftAccessors(
+                    implementationVersion,
+                    castFunction(LambdaAccessorBinder.bind(Function.class, getHandle)),
+                    castFunction(LambdaAccessorBinder.bind(Function.class, asNmsCopy)),
+                    playerConnectionGetter,
+                    castBiConsumer(LambdaAccessorBinder.bind(BiConsumer.class, sendPacket)),
+                    setSlotPacketConstructor);
+        } catch (ReflectiveOperationException e) {
+            throw new AccessorResolutionException(
+                    "Unable to resolve members for implementation version " + implementationVersion, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, R> Function<T, R> castFunction(Function<?, ?> function) {
+        return (Function<T, R>) function;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, U> BiConsumer<T, U> castBiConsumer(BiConsumer<?, ?> consumer) {
+        return (BiConsumer<T, U>) consumer;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache;
+
+/**
+ * An immutable snapshot of the statistics of a {@link PayloadCache}.
+ */
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long weightedSize;
+    private final int entryCount;
+
+    CacheStatistics(long hitCount, long missCount, long evictionCount, long weightedSize, int entryCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.weightedSize = weightedSize;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * Returns the number of lookups which found a cached payload.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups which found no cached payload.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of payloads evicted, or rejected by
+     * the admission policy.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the total weight, in bytes, of the cached payloads.
+     *
+     * @return the weighted size
+     */
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Returns the number of cached payloads.
+     *
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the ratio of lookups which found a cached payload,
+     * or 1 if there has been no lookups.
+     *
+     * @return the hit rate, between 0 and 1
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1D : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{"
+                + "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", weightedSize=" + weightedSize +
+                ", entryCount=" + entryCount + '}';
+    }
+}
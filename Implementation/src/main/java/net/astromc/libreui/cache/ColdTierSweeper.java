@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache;
+
+import net.astromc.libreui.utils.ColdTier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A task releasing the cached book representations, which have
+ * been idle for longer than the idle threshold, to the {@link
+ * ColdTier}. The task is intended to run periodically on an
+ * asynchronous thread.
+ */
+public final class ColdTierSweeper implements Runnable {
+    private final Logger logger;
+    private final long idleSeconds;
+
+    /**
+     * Constructs a new <tt>ColdTierSweeper</tt>.
+     *
+     * @param logger the logger the released amounts are logged to
+     * @param idleSeconds the idle threshold in seconds
+     * @throws IllegalArgumentException if <tt>idleSeconds</tt> is negative
+     */
+    public ColdTierSweeper(Logger logger, long idleSeconds) throws IllegalArgumentException {
+        if (idleSeconds < 0) {
+            throw new IllegalArgumentException("idleSeconds is < 0");
+        }
+
+        this.logger = logger;
+        this.idleSeconds = idleSeconds;
+    }
+
+    @Override
+    public void run() {
+        int releasedValues = ColdTier.releaseIdle(this.idleSeconds, TimeUnit.SECONDS);
+
+        if (releasedValues > 0) {
+            this.logger.log(Level.FINE, "Released the cached JSON of {0} idle books", releasedValues);
+        }
+    }
+}
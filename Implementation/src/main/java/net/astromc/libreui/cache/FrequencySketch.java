@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache;
+
+/**
+ * A Count-Min sketch with 4 rows of saturating 4-bit counters,
+ * estimating the popularity of keys for the {@link PayloadCache}
+ * admission policy. The counters are halved once the number of
+ * increments reaches the sample size, so the estimated frequencies
+ * age, and keys which were popular a long time ago lose their
+ * advantage over recently popular keys.
+ */
+final class FrequencySketch {
+    /**
+     * The number of rows, each indexed by a different hash.
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * The maximum value of a 4-bit counter.
+     */
+    private static final int MAXIMUM_COUNT = 15;
+
+    /**
+     * The number of increments per counter, after which
+     * all counters are halved.
+     */
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+
+    /**
+     * The seeds of the row hashes.
+     */
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+            0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private final byte[] counters;
+    private final int widthMask;
+    private final int sampleSize;
+
+    private int size;
+
+    /**
+     * Constructs a new <tt>FrequencySketch</tt> sized for the
+     * expected number of distinct keys.
+     *
+     * @param expectedKeys the expected number of distinct keys
+     */
+    FrequencySketch(int expectedKeys) {
+        int width = Integer.highestOneBit(Math.max(16, expectedKeys - 1) << 1);
+
+        this.counters = new byte[DEPTH * width];
+        this.widthMask = width - 1;
+        this.sampleSize = SAMPLE_SIZE_MULTIPLIER * width;
+    }
+
+    /**
+     * Increments the estimated frequency of the <tt>key</tt>.
+     *
+     * @param key the key being accessed
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean incremented = false;
+
+        for (int row = 0; row < DEPTH; row++) {
+            int index = this.indexOf(hash, row);
+
+            if (this.counters[index] < MAXIMUM_COUNT) {
+                this.counters[index]++;
+                incremented = true;
+            }
+        }
+
+        if (incremented && ++this.size >= this.sampleSize) {
+            this.age();
+        }
+    }
+
+    /**
+     * Returns the estimated frequency of the <tt>key</tt>.
+     *
+     * @param key the key being estimated
+     * @return the estimated frequency, between 0 and 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, this.counters[this.indexOf(hash, row)]);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Halves all counters and the number of increments.
+     */
+    private void age() {
+        for (int i = 0; i < this.counters.length; i++) {
+            this.counters[i] >>>= 1;
+        }
+
+        this.size >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long rowHash = (hash + SEEDS[row]) * SEEDS[row];
+        rowHash += rowHash >>> 32;
+
+        return row * (this.widthMask + 1) + ((int) rowHash & this.widthMask);
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded cache of rendered book payloads, weighted by the
+ * encoded size of each payload. The cache uses a W-TinyLFU
+ * policy: new payloads enter a small LRU window, and payloads
+ * leaving the window are only admitted into the main segmented
+ * LRU if they are estimated, by a {@link FrequencySketch}, to
+ * be used more frequently than the payload they would evict.
+ * This keeps frequently opened books resident, even when many
+ * books are opened only once.
+ * <p/>
+ *
+ * The main segment is split into a probation segment, holding
+ * admitted payloads, and a protected segment holding payloads
+ * which have been used again after their admission. All methods
+ * are thread-safe, loaders are invoked without holding the lock.
+ *
+ * @param <K> the key type
+ * @param <V> the payload type
+ */
+public final class PayloadCache<K, V> {
+    /**
+     * The share of the maximum weight used by the window.
+     */
+    private static final double WINDOW_RATIO = 0.01;
+
+    /**
+     * The share of the main segment used by the protected segment.
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * The assumed average payload weight, used to size
+     * the {@link FrequencySketch}.
+     */
+    private static final int AVERAGE_PAYLOAD_WEIGHT = 1024;
+
+    /**
+     * The maximum number of keys the {@link FrequencySketch}
+     * is sized for.
+     */
+    private static final int MAXIMUM_SKETCH_KEYS = 1 << 20;
+
+    private final long maximumWeight;
+    private final long windowMaximumWeight;
+    private final long protectedMaximumWeight;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final FrequencySketch sketch;
+
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75F, true);
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<>(16, 0.75F, true);
+    private final LinkedHashMap<K, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75F, true);
+
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    /**
+     * The listener notified of the payloads created by a loader,
+     * used to publish them to the remote tier.
+     */
+    private volatile BiConsumer<? super K, ? super V> loadListener;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a new <tt>PayloadCache</tt>.
+     *
+     * @param maximumWeight the maximum total weight of the cached payloads
+     * @param weigher the function returning the weight of a payload
+     * @throws IllegalArgumentException if <tt>maximumWeight</tt> is less than 1
+     */
+    public PayloadCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher)
+            throws IllegalArgumentException {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("maximumWeight is < 1");
+        }
+
+        this.maximumWeight = maximumWeight;
+        this.windowMaximumWeight = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+        this.protectedMaximumWeight = (long) ((maximumWeight - this.windowMaximumWeight) * PROTECTED_RATIO);
+        this.weigher = Objects.requireNonNull(weigher, "weigher");
+        this.sketch = new FrequencySketch((int) Math.min(MAXIMUM_SKETCH_KEYS, maximumWeight / AVERAGE_PAYLOAD_WEIGHT));
+    }
+
+    /**
+     * Returns the payload cached for the <tt>key</tt>, or
+     * <tt>null</tt> if there is no cached payload.
+     *
+     * @param key the key of the payload
+     * @return the cached payload, or <tt>null</tt>
+     */
+    public synchronized V getIfPresent(K key) {
+        this.sketch.increment(key);
+
+        Node<V> node = this.window.get(key);
+
+        if (node == null) {
+            node = this.protectedSegment.get(key);
+        }
+
+        if (node == null) {
+            node = this.probation.remove(key);
+
+            if (node != null) {
+                this.probationWeight -= node.weight;
+                this.promote(key, node);
+            }
+        }
+
+        if (node == null) {
+            this.missCount++;
+            return null;
+        }
+
+        this.hitCount++;
+        return node.value;
+    }
+
+    /**
+     * Returns the payload cached for the <tt>key</tt>. If there is
+     * no cached payload, the payload is created by the <tt>loader</tt>
+     * and offered to the cache, and the load listener is notified.
+     *
+     * @param key the key of the payload
+     * @param loader the function creating the payload
+     * @return the cached or created payload
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = this.getIfPresent(key);
+
+        if (value == null) {
+            value = Objects.requireNonNull(loader.apply(key), "payload");
+            this.put(key, value);
+
+            BiConsumer<? super K, ? super V> loadListener = this.loadListener;
+
+            if (loadListener != null) {
+                loadListener.accept(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns whether a payload is cached for the <tt>key</tt>. Unlike
+     * {@link #getIfPresent(Object)}, the check is not recorded as a use
+     * of the payload, nor in the statistics.
+     *
+     * @param key the key of the payload
+     * @return true if a payload is cached for the key
+     */
+    public synchronized boolean containsKey(K key) {
+        return this.window.containsKey(key)
+                || this.probation.containsKey(key)
+                || this.protectedSegment.containsKey(key);
+    }
+
+    /**
+     * Offers the <tt>value</tt> to the cache, unless a payload is
+     * already cached for the <tt>key</tt>. Payloads heavier than the
+     * maximum weight are not cached.
+     *
+     * @param key the key of the payload
+     * @param value the payload
+     * @return true if no payload was cached for the key
+     */
+    public synchronized boolean offer(K key, V value) {
+        if (this.containsKey(key)) {
+            return false;
+        }
+
+        this.put(key, value);
+        return true;
+    }
+
+    /**
+     * Sets the listener notified of the payloads created by the loader
+     * of {@link #get(Object, Function)}, on the thread which created them.
+     * Payloads offered by other means are not passed to the listener.
+     *
+     * @param loadListener the load listener, or <tt>null</tt> to remove it
+     */
+    public void setLoadListener(BiConsumer<? super K, ? super V> loadListener) {
+        this.loadListener = loadListener;
+    }
+
+    /**
+     * Offers the <tt>value</tt> to the cache. Payloads heavier
+     * than the maximum weight are not cached.
+     *
+     * @param key the key of the payload
+     * @param value the payload
+     */
+    public synchronized void put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        this.remove(key);
+
+        int weight = this.weigher.applyAsInt(key, value);
+
+        if (weight > this.maximumWeight) {
+            return;
+        }
+
+        this.window.put(key, new Node<>(value, weight));
+        this.windowWeight += weight;
+
+        this.evictFromWindow();
+    }
+
+    /**
+     * Removes all cached payloads. The statistics are retained.
+     */
+    public synchronized void invalidateAll() {
+        this.window.clear();
+        this.probation.clear();
+        this.protectedSegment.clear();
+
+        this.windowWeight = 0;
+        this.probationWeight = 0;
+        this.protectedWeight = 0;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this cache.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(
+                this.hitCount,
+                this.missCount,
+                this.evictionCount,
+                this.windowWeight + this.probationWeight + this.protectedWeight,
+                this.window.size() + this.probation.size() + this.protectedSegment.size());
+    }
+
+    private void remove(K key) {
+        Node<V> node;
+
+        if ((node = this.window.remove(key)) != null) {
+            this.windowWeight -= node.weight;
+        } else if ((node = this.probation.remove(key)) != null) {
+            this.probationWeight -= node.weight;
+        } else if ((node = this.protectedSegment.remove(key)) != null) {
+            this.protectedWeight -= node.weight;
+        }
+    }
+
+    /**
+     * Moves a payload, used again while on probation, to the
+     * protected segment, and demotes the least recently used
+     * protected payloads to probation, if the protected segment
+     * exceeds its maximum weight.
+     */
+    private void promote(K key, Node<V> node) {
+        this.protectedSegment.put(key, node);
+        this.protectedWeight += node.weight;
+
+        while (this.protectedWeight > this.protectedMaximumWeight && this.protectedSegment.size() > 1) {
+            Map.Entry<K, Node<V>> demoted = removeEldest(this.protectedSegment);
+            this.protectedWeight -= demoted.getValue().weight;
+
+            this.probation.put(demoted.getKey(), demoted.getValue());
+            this.probationWeight += demoted.getValue().weight;
+        }
+    }
+
+    /**
+     * Moves the least recently used payloads out of the window,
+     * while it exceeds its maximum weight, and offers them to
+     * the main segment.
+     */
+    private void evictFromWindow() {
+        while (this.windowWeight > this.windowMaximumWeight) {
+            Map.Entry<K, Node<V>> candidate = removeEldest(this.window);
+            this.windowWeight -= candidate.getValue().weight;
+
+            this.admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * Admits the <tt>candidate</tt> to probation, if it fits in the
+     * main segment, or if it is estimated to be used more frequently
+     * than every payload it would evict. The victims are the least
+     * recently used payloads on probation, then the least recently
+     * used protected payloads, and they are only evicted once the
+     * candidate is admitted. Otherwise the candidate itself is
+     * evicted, and the main segment is left untouched.
+     */
+    private void admit(K candidateKey, Node<V> candidate) {
+        long mainMaximumWeight = this.maximumWeight - this.windowMaximumWeight;
+        long excessWeight = this.probationWeight + this.protectedWeight + candidate.weight - mainMaximumWeight;
+
+        if (excessWeight > 0) {
+            int candidateFrequency = this.sketch.frequency(candidateKey);
+            int probationVictims = 0;
+            int protectedVictims = 0;
+
+            Iterator<Map.Entry<K, Node<V>>> probationIterator = this.probation.entrySet().iterator();
+            Iterator<Map.Entry<K, Node<V>>> protectedIterator = this.protectedSegment.entrySet().iterator();
+
+            while (excessWeight > 0) {
+                Map.Entry<K, Node<V>> victim;
+
+                if (probationIterator.hasNext()) {
+                    victim = probationIterator.next();
+                    probationVictims++;
+                } else if (protectedIterator.hasNext()) {
+                    victim = protectedIterator.next();
+                    protectedVictims++;
+                } else {
+                    this.evictionCount++;
+                    return;
+                }
+
+                if (candidateFrequency <= this.sketch.frequency(victim.getKey())) {
+                    this.evictionCount++;
+                    return;
+                }
+
+                excessWeight -= victim.getValue().weight;
+            }
+
+            this.probationWeight -= evictEldest(this.probation, probationVictims);
+            this.protectedWeight -= evictEldest(this.protectedSegment, protectedVictims);
+            this.evictionCount += probationVictims + protectedVictims;
+        }
+
+        this.probation.put(candidateKey, candidate);
+        this.probationWeight += candidate.weight;
+    }
+
+    /**
+     * Removes the <tt>count</tt> least recently used payloads of
+     * the <tt>segment</tt>, and returns their total weight.
+     */
+    private static <K, V> long evictEldest(LinkedHashMap<K, Node<V>> segment, int count) {
+        Iterator<Node<V>> iterator = segment.values().iterator();
+        long weight = 0;
+
+        for (int i = 0; i < count; i++) {
+            weight += iterator.next().weight;
+            iterator.remove();
+        }
+
+        return weight;
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+        Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+        Map.Entry<K, V> eldest = iterator.next();
+        iterator.remove();
+
+        return eldest;
+    }
+
+    /**
+     * A cached payload and its weight.
+     */
+    private static final class Node<V> {
+        private final V value;
+        private final int weight;
+
+        private Node(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache;
+
+import net.astromc.libreui.api.book.Book;
+
+/**
+ * The key of a rendered payload in the {@link PayloadCache}, which
+ * is the content hash of the rendered book, and its encoded length.
+ * The key does not hold the JSON representation of the book, so the
+ * representation held by the book may be released while it is idle,
+ * see {@link net.astromc.libreui.utils.ReleasingCachedSupplier}.
+ * The encoded length is compared along with the 64-bit hash, to make
+ * collisions between distinct books even less likely.
+ * <p/>
+ *
+ * The key holds no client protocol, as the payloads of a backend server
+ * are only rendered in the protocol of the server. Players of other
+ * protocol versions rely on a protocol translation layer, such as
+ * ViaVersion, to convert the payload, so every player opening a book
+ * shares a single entry. Payloads rendered per client protocol family
+ * are only cached on the proxy, by the <tt>ProxyBookOpener</tt> of the
+ * proxy module, which encodes the packets for each client itself.
+ */
+public final class PayloadKey {
+    private final long contentHash;
+    private final long encodedLength;
+
+    private PayloadKey(long contentHash, long encodedLength) {
+        this.contentHash = contentHash;
+        this.encodedLength = encodedLength;
+    }
+
+    /**
+     * Returns the content hash of the rendered book.
+     *
+     * @return the content hash
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Returns the UTF-8 encoded length of the JSON representation
+     * of the rendered book.
+     *
+     * @return the encoded length in bytes
+     */
+    public long getEncodedLength() {
+        return encodedLength;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof PayloadKey)) {
+            return false;
+        }
+
+        PayloadKey other = (PayloadKey) obj;
+        return this.contentHash == other.contentHash && this.encodedLength == other.encodedLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.contentHash);
+    }
+
+    /**
+     * Creates a new payload key for the current content of the <tt>book</tt>.
+     *
+     * @param book the rendered book
+     * @return a new payload key
+     */
+    public static PayloadKey of(Book book) {
+        return new PayloadKey(book.getContentHash(), book.getEncodedLength());
+    }
+
+    /**
+     * Creates a new payload key.
+     *
+     * @param contentHash the content hash of the rendered book
+     * @param encodedLength the encoded length of the rendered book
+     * @return a new payload key
+     */
+    public static PayloadKey of(long contentHash, long encodedLength) {
+        return new PayloadKey(contentHash, encodedLength);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache.remote;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.astromc.libreui.api.cache.RemotePayloadStore;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link RemotePayloadStore} holding every payload in a file of a
+ * directory, which may be shared by several servers, such as a network
+ * mount. The payload of a book is stored in <tt>&lt;family&gt;/&lt;content
+ * hash&gt;.payload</tt>, and is written to a temporary file first,
+ * then moved in place, so readers never see a partially written payload.
+ * <p/>
+ *
+ * The files are read and written by a small pool of daemon threads,
+ * which is shut down when the store is closed.
+ */
+public final class FileRemotePayloadStore implements RemotePayloadStore, AutoCloseable {
+    /**
+     * The number of threads reading and writing the payload files.
+     */
+    private static final int IO_THREADS = 2;
+
+    private static final String PAYLOAD_FILE_EXTENSION = ".payload";
+
+    private final Path directory;
+    private final ExecutorService executor = Executors.newFixedThreadPool(IO_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("LibreUI Payload Store #%d").setDaemon(true).build());
+
+    /**
+     * Constructs a new <tt>FileRemotePayloadStore</tt>.
+     *
+     * @param directory the directory the payloads are stored in
+     */
+    public FileRemotePayloadStore(File directory) {
+        this.directory = Objects.requireNonNull(directory, "directory").toPath();
+    }
+
+    @Override
+    public CompletionStage<Optional<byte[]>> get(long contentHash, ProtocolFamily family) {
+        Path file = this.resolve(contentHash, family);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.isRegularFile(file) ? Optional.of(Files.readAllBytes(file)) : Optional.<byte[]>empty();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.executor);
+    }
+
+    @Override
+    public CompletionStage<Void> put(long contentHash, ProtocolFamily family, byte[] payload) {
+        Path file = this.resolve(contentHash, family);
+
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+
+                Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                Files.write(temporaryFile, payload);
+
+                try {
+                    Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.executor);
+    }
+
+    private Path resolve(long contentHash, ProtocolFamily family) {
+        return this.directory
+                .resolve(family.name().toLowerCase(Locale.ROOT))
+                .resolve(String.format("%016x", contentHash) + PAYLOAD_FILE_EXTENSION);
+    }
+
+    /**
+     * Shuts down the threads of this store. Pending writes are
+     * completed, but no new operations are accepted.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.cache.remote;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.astromc.libreui.api.cache.RemotePayloadStore;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A {@link RemotePayloadStore} holding the payloads in the memory
+ * of this process, bounded by their total size. This store is only
+ * shared by servers running in the same process, and is mainly used
+ * to try out the remote tier, or as a reference implementation.
+ */
+public final class InMemoryRemotePayloadStore implements RemotePayloadStore {
+    private final Map<ProtocolFamily, Cache<Long, byte[]>> payloads = new EnumMap<>(ProtocolFamily.class);
+
+    /**
+     * Constructs a new <tt>InMemoryRemotePayloadStore</tt>.
+     *
+     * @param maximumWeight the maximum total size of the payloads
+     * of each protocol family, in bytes
+     * @throws IllegalArgumentException if <tt>maximumWeight</tt> is negative
+     */
+    public InMemoryRemotePayloadStore(long maximumWeight) throws IllegalArgumentException {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight is < 0");
+        }
+
+        for (ProtocolFamily family : ProtocolFamily.values()) {
+            this.payloads.put(family, CacheBuilder.newBuilder()
+                    .maximumWeight(maximumWeight)
+                    .weigher((Long contentHash, byte[] payload) -> payload.length)
+                    .build());
+        }
+    }
+
+    @Override
+    public CompletionStage<Optional<byte[]>> get(long contentHash, ProtocolFamily family) {
+        return CompletableFuture.completedFuture(Optional.ofNullable(this.payloads.get(family).getIfPresent(contentHash)));
+    }
+
+    @Override
+    public CompletionStage<Void> put(long contentHash, ProtocolFamily family, byte[] payload) {
+        this.payloads.get(family).put(contentHash, payload);
+        return CompletableFuture.completedFuture(null);
+    }
+}
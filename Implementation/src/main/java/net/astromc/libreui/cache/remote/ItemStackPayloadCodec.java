@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache.remote;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A {@link PayloadCodec} of written book {@link ItemStack}s, encoded
+ * by the Bukkit object streams. The format is the CraftBukkit
+ * implementation version, as the serialized form of an item may
+ * change between versions. Encoding and decoding an item may touch
+ * server internals, so both must run on the thread ticking the server.
+ */
+public final class ItemStackPayloadCodec implements PayloadCodec<ItemStack> {
+    private final String implementationVersion;
+
+    /**
+     * Constructs a new <tt>ItemStackPayloadCodec</tt>.
+     *
+     * @param implementationVersion the CraftBukkit implementation version
+     */
+    public ItemStackPayloadCodec(String implementationVersion) {
+        this.implementationVersion = Objects.requireNonNull(implementationVersion, "implementationVersion");
+    }
+
+    @Override
+    public String getFormat() {
+        return "bukkit-" + this.implementationVersion;
+    }
+
+    @Override
+    public byte[] encode(ItemStack payload) throws IOException {
+        ByteArrayOutputStream encodedPayload = new ByteArrayOutputStream();
+
+        try (BukkitObjectOutputStream output = new BukkitObjectOutputStream(encodedPayload)) {
+            output.writeObject(payload);
+        }
+
+        return encodedPayload.toByteArray();
+    }
+
+    @Override
+    public ItemStack decode(byte[] encodedPayload) throws IOException {
+        Object payload;
+
+        try (BukkitObjectInputStream input = new BukkitObjectInputStream(new ByteArrayInputStream(encodedPayload))) {
+            payload = input.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown payload class", e);
+        }
+
+        if (!(payload instanceof ItemStack)) {
+            throw new IOException("Payload is not an ItemStack");
+        }
+
+        return (ItemStack) payload;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache.remote;
+
+import java.io.IOException;
+
+/**
+ * Converts the payloads of the local payload cache to the bytes
+ * shared through a {@link net.astromc.libreui.api.cache.RemotePayloadStore},
+ * and back.
+ *
+ * @param <V> the type of the payloads
+ */
+public interface PayloadCodec<V> {
+    /**
+     * Returns the format of the encoded payloads. Payloads encoded
+     * in another format, such as by a server of another version,
+     * are not decoded.
+     *
+     * @return the format of the encoded payloads
+     */
+    String getFormat();
+
+    /**
+     * Encodes the <tt>payload</tt>.
+     *
+     * @param payload the payload being encoded
+     * @return the encoded payload
+     * @throws IOException if the payload could not be encoded
+     */
+    byte[] encode(V payload) throws IOException;
+
+    /**
+     * Decodes a payload encoded by {@link #encode(Object)}, in the
+     * format of this codec.
+     *
+     * @param encodedPayload the encoded payload
+     * @return the decoded payload
+     * @throws IOException if the payload could not be decoded
+     */
+    V decode(byte[] encodedPayload) throws IOException;
+}
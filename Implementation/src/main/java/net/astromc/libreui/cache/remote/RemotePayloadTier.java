@@ -0,0 +1,308 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache.remote;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.astromc.libreui.api.cache.RemotePayloadStore;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+import net.astromc.libreui.cache.PayloadCache;
+import net.astromc.libreui.cache.PayloadKey;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The remote tier of rendered payloads, below the local {@link
+ * PayloadCache}. Wraps a {@link RemotePayloadStore}, bounding every
+ * lookup by a strict timeout, and degrading to local rendering whenever
+ * the store is slow or fails.
+ * <p/>
+ *
+ * Opens are never served by this tier, they only use the local cache.
+ * The tier is looked up when a payload is preloaded, and a payload found
+ * in time is handed to the owning executor, which decodes it and offers
+ * it to the local cache, or renders the payload locally otherwise. The
+ * payloads rendered locally are handed to the owning executor as well,
+ * which encodes them, and publishes them to the store without waiting.
+ * No book is touched by the tier, the payloads are keyed by {@link
+ * PayloadKey}s.
+ * <p/>
+ *
+ * An encoded payload is prefixed by the format of the {@link PayloadCodec},
+ * and the encoded length of the book, which are compared on lookup, so
+ * payloads of incompatible servers, and hash collisions, are ignored.
+ *
+ * @param <V> the type of the payloads
+ */
+public final class RemotePayloadTier<V> {
+    private final RemotePayloadStore store;
+    private final boolean ownsStore;
+    private final ProtocolFamily family;
+    private final PayloadCodec<V> codec;
+    private final PayloadCache<PayloadKey, V> cache;
+    private final Executor owningExecutor;
+    private final long timeoutMillis;
+    private final Logger logger;
+
+    private final ScheduledExecutorService timeoutScheduler;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Constructs a new <tt>RemotePayloadTier</tt>.
+     *
+     * @param store the store holding the shared payloads
+     * @param ownsStore whether the store is closed along with this tier
+     * @param family the protocol family of the payloads of this server
+     * @param codec the codec of the payloads
+     * @param cache the local cache the found payloads are offered to
+     * @param owningExecutor the executor running the tasks touching payloads
+     * @param timeoutMillis the lookup timeout in milliseconds
+     * @param logger the logger store failures are logged to
+     * @throws IllegalArgumentException if <tt>timeoutMillis</tt> is negative
+     */
+    public RemotePayloadTier(RemotePayloadStore store, boolean ownsStore, ProtocolFamily family,
+                             PayloadCodec<V> codec, PayloadCache<PayloadKey, V> cache, Executor owningExecutor,
+                             long timeoutMillis, Logger logger) throws IllegalArgumentException {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("timeoutMillis is < 0");
+        }
+
+        this.store = Objects.requireNonNull(store, "store");
+        this.ownsStore = ownsStore;
+        this.family = Objects.requireNonNull(family, "family");
+        this.codec = Objects.requireNonNull(codec, "codec");
+        this.cache = Objects.requireNonNull(cache, "cache");
+        this.owningExecutor = Objects.requireNonNull(owningExecutor, "owningExecutor");
+        this.timeoutMillis = timeoutMillis;
+        this.logger = Objects.requireNonNull(logger, "logger");
+
+        ScheduledThreadPoolExecutor timeoutScheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("LibreUI Remote Tier Timeout").setDaemon(true).build());
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
+        this.timeoutScheduler = timeoutScheduler;
+    }
+
+    /**
+     * Preloads the payload of the <tt>key</tt> into the local cache,
+     * unless it is already cached. The payload is looked up in the store
+     * in the background, and the outcome is handed to the owning executor,
+     * which offers the found payload to the local cache, or runs the
+     * <tt>localRender</tt> task, if the store does not hold a compatible
+     * payload in time.
+     *
+     * @param key the key of the payload
+     * @param localRender the task rendering the payload locally
+     */
+    public void preload(PayloadKey key, Runnable localRender) {
+        Objects.requireNonNull(localRender, "localRender");
+
+        if (this.cache.containsKey(key)) {
+            return;
+        }
+
+        this.fetch(key.getContentHash()).thenAccept(encodedPayload -> this.executeOwning(() -> {
+            if (!this.offer(key, encodedPayload.orElse(null))) {
+                this.missCount.incrementAndGet();
+                localRender.run();
+            } else {
+                this.hitCount.incrementAndGet();
+            }
+        }));
+    }
+
+    /**
+     * Publishes a locally rendered <tt>payload</tt> to the store. The
+     * payload is encoded by the owning executor, and stored without
+     * waiting. Failures are logged, and otherwise ignored.
+     *
+     * @param key the key of the payload
+     * @param payload the rendered payload
+     */
+    public void publish(PayloadKey key, V payload) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(payload, "payload");
+
+        this.executeOwning(() -> {
+            byte[] encodedPayload;
+
+            try {
+                encodedPayload = this.encode(key, payload);
+            } catch (IOException | RuntimeException e) {
+                this.logger.log(Level.FINE, "Unable to encode a payload", e);
+                return;
+            }
+
+            try {
+                this.store.put(key.getContentHash(), this.family, encodedPayload)
+                        .whenComplete((ignored, failure) -> {
+                            if (failure != null) {
+                                this.logger.log(Level.FINE, "Remote payload store failed", failure);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                this.logger.log(Level.FINE, "Remote payload store failed", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of preloaded payloads found in the store.
+     *
+     * @return the number of remote hits
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Returns the number of preloaded payloads rendered locally, as the
+     * store did not hold a compatible payload in time.
+     *
+     * @return the number of remote misses
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Shuts down the timeouts of this tier, and closes the store,
+     * if it is owned by this tier.
+     *
+     * @throws Exception if the store could not be closed
+     */
+    public void close() throws Exception {
+        this.timeoutScheduler.shutdownNow();
+
+        if (this.ownsStore && this.store instanceof AutoCloseable) {
+            ((AutoCloseable) this.store).close();
+        }
+    }
+
+    /**
+     * Looks up the encoded payload of the book with the <tt>contentHash</tt>.
+     * The returned future never completes exceptionally, it is completed
+     * with an empty {@link Optional} if the store does not hold the payload,
+     * fails, or does not respond in time.
+     */
+    private CompletableFuture<Optional<byte[]>> fetch(long contentHash) {
+        CompletableFuture<Optional<byte[]>> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = this.timeoutScheduler.schedule(
+                () -> result.complete(Optional.empty()), this.timeoutMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            this.store.get(contentHash, this.family).whenComplete((encodedPayload, failure) -> {
+                timeout.cancel(false);
+
+                if (failure != null) {
+                    this.logger.log(Level.FINE, "Remote payload lookup failed", failure);
+                    result.complete(Optional.empty());
+                } else {
+                    result.complete(encodedPayload == null ? Optional.empty() : encodedPayload);
+                }
+            });
+        } catch (RuntimeException e) {
+            timeout.cancel(false);
+            this.logger.log(Level.FINE, "Remote payload lookup failed", e);
+            result.complete(Optional.empty());
+        }
+
+        return result;
+    }
+
+    /**
+     * Decodes the <tt>encodedPayload</tt> and offers it to the local
+     * cache. Returns false if there is no payload, or if it could not
+     * be decoded, as it is incompatible, or corrupted.
+     */
+    private boolean offer(PayloadKey key, byte[] encodedPayload) {
+        if (encodedPayload == null) {
+            return false;
+        }
+
+        V payload;
+
+        try {
+            payload = this.decode(key, encodedPayload);
+        } catch (IOException | RuntimeException e) {
+            this.logger.log(Level.FINE, "Unable to decode a remote payload", e);
+            return false;
+        }
+
+        if (payload == null) {
+            return false;
+        }
+
+        this.cache.offer(key, payload);
+        return true;
+    }
+
+    private byte[] encode(PayloadKey key, V payload) throws IOException {
+        ByteArrayOutputStream encodedPayload = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(encodedPayload)) {
+            output.writeUTF(this.codec.getFormat());
+            output.writeLong(key.getEncodedLength());
+            output.write(this.codec.encode(payload));
+        }
+
+        return encodedPayload.toByteArray();
+    }
+
+    /**
+     * Decodes the <tt>encodedPayload</tt>, or returns <tt>null</tt>
+     * if it has another format, or belongs to another book.
+     */
+    private V decode(PayloadKey key, byte[] encodedPayload) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(encodedPayload);
+        DataInputStream input = new DataInputStream(bytes);
+
+        if (!this.codec.getFormat().equals(input.readUTF()) || input.readLong() != key.getEncodedLength()) {
+            return null;
+        }
+
+        int headerLength = encodedPayload.length - bytes.available();
+        return this.codec.decode(Arrays.copyOfRange(encodedPayload, headerLength, encodedPayload.length));
+    }
+
+    private void executeOwning(Runnable task) {
+        try {
+            this.owningExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The plugin is being disabled
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.command;
+
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.virtual.VirtualBook;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The executor of the <tt>libreui</tt> command. The command is
+ * run by the navigation links of {@link VirtualBook}s, in the
+ * format <tt>/libreui window &lt;book id&gt; &lt;window&gt;</tt>,
+ * and opens the requested window to the player running it.
+ */
+public final class LibreUICommandExecutor implements CommandExecutor {
+    private final LibreUIPlugin plugin;
+
+    /**
+     * Constructs a new <tt>LibreUICommandExecutor</tt>.
+     *
+     * @param plugin the plugin opening the books
+     */
+    public LibreUICommandExecutor(LibreUIPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (!(sender instanceof Player)
+                || args.length != 3
+                || !args[0].equalsIgnoreCase(VirtualBook.WINDOW_SUB_COMMAND)) {
+            return false;
+        }
+
+        UUID id;
+        int window;
+
+        try {
+            id = UUID.fromString(args[1]);
+            window = Integer.parseInt(args[2]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        Optional<VirtualBook<?>> book = VirtualBook.getById(id);
+
+        if (book.isPresent()) {
+            // The data source may have shrunk since the link was rendered
+            int clampedWindow = Math.max(0, Math.min(window, book.get().getWindowCount() - 1));
+            this.plugin.openBook((Player) sender, book.get(), clampedWindow);
+        }
+
+        return true;
+    }
+}
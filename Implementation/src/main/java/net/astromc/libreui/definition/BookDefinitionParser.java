@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.definition;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.markup.PageMarkup;
+import net.astromc.libreui.api.book.page.Page;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses book definition files. A definition file is a YAML file,
+ * defining any number of books by their names, each with a list of
+ * pages written in {@link PageMarkup}, where <tt>&amp;</tt> may be
+ * used instead of the section sign for legacy codes:
+ * <pre>
+ * server-selector:
+ *   pages:
+ *   - "&amp;9&amp;lServers&lt;br&gt;&lt;click:run_command:/server lobby&gt;Lobby"
+ *   - "..."
+ * </pre>
+ */
+enum BookDefinitionParser {;
+
+    private static final String PAGES_KEY = "pages";
+
+    private static final char ALTERNATE_COLOR_CHAR = '&';
+
+    /**
+     * Parses the books defined in the <tt>file</tt>, in the order
+     * they are defined.
+     *
+     * @param file the definition file
+     * @return the defined books, by their names
+     * @throws IOException if the file could not be read
+     * @throws InvalidConfigurationException if the file is not valid YAML,
+     * or a book does not define any pages
+     * @throws IllegalStateException if a book exceeds the book limits
+     */
+    static Map<String, Book> parse(File file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.load(file);
+
+        Map<String, Book> books = new LinkedHashMap<>();
+
+        for (String name : configuration.getKeys(false)) {
+            ConfigurationSection definition = configuration.getConfigurationSection(name);
+            List<String> pages = definition == null ? null : definition.getStringList(PAGES_KEY);
+
+            if (pages == null || pages.isEmpty()) {
+                throw new InvalidConfigurationException("Book '" + name + "' in " + file + " has no pages");
+            }
+
+            Book.Builder builder = new Book.Builder(compilePage(pages.get(0)));
+
+            for (int i = 1; i < pages.size(); i++) {
+                builder.addPage(compilePage(pages.get(i)));
+            }
+
+            books.put(name, builder.build());
+        }
+
+        return books;
+    }
+
+    private static Page compilePage(String source) {
+        return PageMarkup.compile(ChatColor.translateAlternateColorCodes(ALTERNATE_COLOR_CHAR, source));
+    }
+}
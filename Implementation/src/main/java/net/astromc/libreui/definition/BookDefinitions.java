@@ -0,0 +1,366 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.definition;
+
+import net.astromc.libreui.api.book.Book;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The books defined by the definition files of a directory, as parsed
+ * by the {@link BookDefinitionParser}. The directory is watched by a
+ * {@link WatchService} on a daemon thread, and whenever a file changes,
+ * only the books defined in that file are parsed again, and handed to
+ * the <tt>renderer</tt>, on the thread parsing them. Books whose content is
+ * unchanged keep their previous instance, so they are not rendered again.
+ * <p/>
+ *
+ * The books of a file are swapped in atomically, by replacing the map
+ * of all books, hence readers see either all or none of the changes of
+ * a file. A file which fails to parse keeps its previously loaded books.
+ * Sub-directories are not watched.
+ * <p/>
+ *
+ * If a book is defined by several files, the definition of the file
+ * whose path sorts first wins, regardless of the order in which the
+ * files are loaded. The other definitions are remembered, so they are
+ * loaded again once the winning file no longer defines the book.
+ */
+public final class BookDefinitions implements Runnable {
+    /**
+     * The extension of the definition files.
+     */
+    private static final String DEFINITION_FILE_EXTENSION = ".yml";
+
+    /**
+     * The time to wait after a change is detected, before the changed
+     * files are parsed, so a file written in several steps is parsed
+     * only once.
+     */
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path directory;
+    private final Consumer<Book> renderer;
+    private final Logger logger;
+
+    private volatile Map<String, Book> books = Collections.emptyMap();
+
+    /**
+     * The files defining each book, and the books defined by each file.
+     * Only modified while holding the monitor of this object.
+     */
+    private final Map<String, Path> filesByBook = new HashMap<>();
+    private final Map<Path, Set<String>> booksByFile = new HashMap<>();
+
+    /**
+     * The files whose definition of each book is shadowed by the file
+     * defining it. Only modified while holding the monitor of this object.
+     */
+    private final Map<String, SortedSet<Path>> shadowedFilesByBook = new HashMap<>();
+
+    private WatchService watchService;
+
+    /**
+     * Constructs a new <tt>BookDefinitions</tt>.
+     *
+     * @param directory the directory of the definition files
+     * @param renderer is handed the changed books, on the thread parsing them
+     * @param logger the logger parse failures are logged to
+     */
+    public BookDefinitions(Path directory, Consumer<Book> renderer, Logger logger) {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.renderer = Objects.requireNonNull(renderer, "renderer");
+        this.logger = Objects.requireNonNull(logger, "logger");
+    }
+
+    /**
+     * Returns the book defined by the <tt>name</tt>. The book is shared,
+     * and must not be modified, see {@link Book#copy()}.
+     *
+     * @param name the name of the book
+     * @return the defined book, if any
+     */
+    public Optional<Book> getBook(String name) {
+        return Optional.ofNullable(this.books.get(name));
+    }
+
+    /**
+     * Returns the names of all defined books.
+     *
+     * @return an unmodifiable set of the names
+     */
+    public Set<String> getBookNames() {
+        return Collections.unmodifiableSet(this.books.keySet());
+    }
+
+    /**
+     * Loads all definition files of the directory on the calling thread,
+     * creating the directory if it does not exist, and starts watching it
+     * on a new daemon thread.
+     *
+     * @throws IOException if the directory could not be created or watched
+     * @throws IllegalStateException if the definitions have already been started
+     */
+    public synchronized void start() throws IOException, IllegalStateException {
+        if (this.watchService != null) {
+            throw new IllegalStateException("Book definitions have already been started");
+        }
+
+        Files.createDirectories(this.directory);
+
+        this.watchService = this.directory.getFileSystem().newWatchService();
+        this.directory.register(this.watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.reloadAll();
+
+        Thread thread = new Thread(this, "LibreUI Book Definitions");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory. The loaded books remain available.
+     */
+    public synchronized void stop() {
+        if (this.watchService == null) {
+            return;
+        }
+
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            this.logger.log(Level.FINE, "Unable to close the book definitions watch service", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        WatchService watchService = this.watchService;
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                boolean overflowed = false;
+
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflowed = true;
+                        } else {
+                            changedFiles.add(this.directory.resolve((Path) event.context()));
+                        }
+                    }
+
+                    key.reset();
+                } while ((key = watchService.poll()) != null);
+
+                if (overflowed) {
+                    this.reloadAll();
+                } else {
+                    changedFiles.stream()
+                            .filter(BookDefinitions::isDefinitionFile)
+                            .forEach(this::reload);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Reloads every definition file of the directory, in the order of
+     * their paths, and unloads the books of the files which no longer exist.
+     */
+    private synchronized void reloadAll() {
+        Set<Path> files = new TreeSet<>(this.booksByFile.keySet());
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+            for (Path file : stream) {
+                if (isDefinitionFile(file)) {
+                    files.add(file);
+                }
+            }
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Unable to list the book definitions in " + this.directory, e);
+        }
+
+        files.forEach(this::reload);
+    }
+
+    /**
+     * Parses the books of the <tt>file</tt>, renders those which changed,
+     * and swaps them in. If the file no longer exists, its books are unloaded.
+     * The files shadowed by this file for the books it no longer defines
+     * are reloaded afterwards.
+     *
+     * @param file the changed definition file
+     */
+    private synchronized void reload(Path file) {
+        Map<String, Book> fileBooks;
+
+        if (Files.isRegularFile(file)) {
+            try {
+                fileBooks = BookDefinitionParser.parse(file.toFile());
+            } catch (IOException | InvalidConfigurationException | IllegalStateException e) {
+                this.logger.log(Level.WARNING, "Unable to load book definitions from " + file.getFileName()
+                        + ", keeping the previous books", e);
+                return;
+            }
+        } else {
+            fileBooks = Collections.emptyMap();
+        }
+
+        Map<String, Book> previousBooks = this.books;
+        Map<String, Book> updatedBooks = new HashMap<>(previousBooks);
+        Set<String> fileBookNames = new HashSet<>();
+        Set<String> releasedBookNames = new HashSet<>(this.booksByFile.getOrDefault(file, Collections.emptySet()));
+
+        for (String name : releasedBookNames) {
+            updatedBooks.remove(name);
+            this.filesByBook.remove(name);
+        }
+
+        this.shadowedFilesByBook.values().removeIf(files -> files.remove(file) && files.isEmpty());
+
+        int renderedBooks = 0;
+
+        for (Map.Entry<String, Book> entry : fileBooks.entrySet()) {
+            String name = entry.getKey();
+            Path definingFile = this.filesByBook.get(name);
+
+            if (definingFile != null && definingFile.compareTo(file) < 0) {
+                this.logger.warning("Book '" + name + "' in " + file.getFileName()
+                        + " is already defined in " + definingFile.getFileName() + ", ignoring it");
+                this.shadow(name, file);
+                continue;
+            } else if (definingFile != null) {
+                this.logger.warning("Book '" + name + "' in " + definingFile.getFileName()
+                        + " is also defined in " + file.getFileName() + ", which takes precedence");
+                Set<String> definingFileBookNames = this.booksByFile.get(definingFile);
+                definingFileBookNames.remove(name);
+
+                if (definingFileBookNames.isEmpty()) {
+                    this.booksByFile.remove(definingFile);
+                }
+
+                this.shadow(name, definingFile);
+            }
+
+            Book book = entry.getValue();
+            Book previousBook = previousBooks.get(name);
+
+            if (book.equals(previousBook)) {
+                book = previousBook;
+            } else {
+                this.render(name, book);
+                renderedBooks++;
+            }
+
+            updatedBooks.put(name, book);
+            this.filesByBook.put(name, file);
+            fileBookNames.add(name);
+        }
+
+        if (fileBookNames.isEmpty()) {
+            this.booksByFile.remove(file);
+        } else {
+            this.booksByFile.put(file, fileBookNames);
+        }
+
+        this.books = Collections.unmodifiableMap(updatedBooks);
+        this.logger.log(Level.FINE, "Loaded {0} books from {1}, {2} changed",
+                new Object[] {fileBookNames.size(), file.getFileName(), renderedBooks});
+
+        releasedBookNames.removeAll(fileBookNames);
+        this.reloadShadowedFiles(releasedBookNames);
+    }
+
+    /**
+     * Remembers that the definition of the book <tt>name</tt> by the
+     * <tt>file</tt> is shadowed by the file currently defining it.
+     *
+     * @param name the name of the book
+     * @param file the shadowed file
+     */
+    private void shadow(String name, Path file) {
+        this.shadowedFilesByBook.computeIfAbsent(name, ignored -> new TreeSet<>()).add(file);
+    }
+
+    /**
+     * Reloads the files shadowed for the books which are no longer defined,
+     * so the definition of the file sorting first takes their place.
+     *
+     * @param bookNames the names of the books no longer defined
+     */
+    private void reloadShadowedFiles(Set<String> bookNames) {
+        SortedSet<Path> shadowedFiles = new TreeSet<>();
+
+        for (String name : bookNames) {
+            SortedSet<Path> files = this.shadowedFilesByBook.remove(name);
+
+            if (files != null) {
+                shadowedFiles.addAll(files);
+            }
+        }
+
+        shadowedFiles.forEach(this::reload);
+    }
+
+    private void render(String name, Book book) {
+        try {
+            this.renderer.accept(book);
+        } catch (RuntimeException e) {
+            this.logger.log(Level.WARNING, "Unable to render book '" + name + "'", e);
+        }
+    }
+
+    private static boolean isDefinitionFile(Path file) {
+        return file.getFileName().toString().endsWith(DEFINITION_FILE_EXTENSION);
+    }
+}
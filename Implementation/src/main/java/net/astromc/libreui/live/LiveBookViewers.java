@@ -0,0 +1,217 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.live;
+
+import com.google.common.collect.MapMaker;
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.live.LiveBook;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the players viewing {@link LiveBook}s, and re-sends a
+ * live book to its viewers whenever it renders a new snapshot.
+ * The book is only re-sent to a viewer if the content of the new
+ * snapshot differs from the content last sent to that viewer.
+ * <p/>
+ *
+ * The client does not tell the server when a book is closed,
+ * therefore a player is considered to stop viewing the book when
+ * the player does something which is impossible while the book
+ * screen is open: quitting, changing the held item, interacting,
+ * opening an inventory, chatting or turning the head. A player who
+ * closes the book without doing any of these would otherwise keep
+ * having the book opened again by every update, hence a viewing also
+ * expires once the maximum viewing time has passed since the book was
+ * opened by the player, and may be stopped explicitly through {@link
+ * LiveBookViewers#stopViewing(Player)}.
+ */
+public final class LiveBookViewers implements Listener {
+    private final LibreUIPlugin plugin;
+    private final long maximumViewingNanos;
+
+    private final ConcurrentMap<Player, Viewing> viewers = new MapMaker().weakKeys().makeMap();
+    private final Set<LiveBook> subscribedBooks = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private final Consumer<LiveBook> updateListener = this::refreshViewers;
+
+    /**
+     * Constructs a new <tt>LiveBookViewers</tt>.
+     *
+     * @param plugin the LibreUIPlugin plugin instance opening the books
+     * @param maximumViewingTime the time after which a viewing expires
+     * @param unit the unit of the maximum viewing time
+     * @throws IllegalArgumentException if <tt>maximumViewingTime</tt> is negative
+     */
+    public LiveBookViewers(LibreUIPlugin plugin, long maximumViewingTime, TimeUnit unit) throws IllegalArgumentException {
+        if (maximumViewingTime < 0) {
+            throw new IllegalArgumentException("maximumViewingTime is < 0");
+        }
+
+        this.plugin = Objects.requireNonNull(plugin);
+        this.maximumViewingNanos = unit.toNanos(maximumViewingTime);
+    }
+
+    /**
+     * Opens the current snapshot of the <tt>book</tt> to the
+     * <tt>player</tt>, and tracks the player as its viewer, until
+     * the maximum viewing time has passed.
+     *
+     * @param player player opening the book to
+     * @param book the live book being opened
+     */
+    public void openBook(Player player, LiveBook book) {
+        if (this.subscribedBooks.add(book)) {
+            book.addUpdateListener(this.updateListener);
+        }
+
+        Book snapshot = book.getBook();
+
+        this.viewers.put(player, new Viewing(book, snapshot.getContentHash(), System.nanoTime() + this.maximumViewingNanos));
+        this.plugin.openBook(player, snapshot);
+    }
+
+    /**
+     * Stops tracking the <tt>player</tt> as the viewer of a live book,
+     * so the book is no longer re-sent to the player when it updates.
+     *
+     * @param player the player no longer viewing a live book
+     */
+    public void stopViewing(Player player) {
+        this.removeViewer(player);
+    }
+
+    /**
+     * Re-sends the <tt>book</tt> to all of its viewers, whose
+     * last sent content differs from the current snapshot. The
+     * books are re-sent on the thread owning each viewer. Expired
+     * viewings are removed instead.
+     *
+     * @param book the updated live book
+     */
+    private void refreshViewers(LiveBook book) {
+        Book snapshot = book.getBook();
+        long contentHash = snapshot.getContentHash();
+        long now = System.nanoTime();
+
+        this.viewers.forEach((player, viewing) -> {
+            if (viewing.book != book) {
+                return;
+            }
+
+            if (viewing.isExpired(now)) {
+                this.viewers.remove(player, viewing);
+            } else if (viewing.contentHash != contentHash) {
+                this.plugin.getPlayerTaskScheduler().execute(player, () -> this.resend(player, viewing, snapshot, contentHash));
+            }
+        });
+    }
+
+    private void resend(Player player, Viewing viewing, Book snapshot, long contentHash) {
+        if (viewing.isExpired(System.nanoTime())) {
+            this.viewers.remove(player, viewing);
+        } else if (player.isOnline()
+                && this.viewers.replace(player, viewing, new Viewing(viewing.book, contentHash, viewing.expiryNanos))) {
+            this.plugin.openBook(player, snapshot);
+        }
+    }
+
+    private void removeViewer(Object player) {
+        if (!this.viewers.isEmpty()) {
+            this.viewers.remove(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        this.removeViewer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        this.removeViewer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        this.removeViewer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        this.removeViewer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChat(AsyncPlayerChatEvent event) {
+        this.removeViewer(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onMove(PlayerMoveEvent event) {
+        if (this.viewers.isEmpty()) {
+            return;
+        }
+
+        Location from = event.getFrom();
+        Location to = event.getTo();
+
+        if (from.getYaw() != to.getYaw() || from.getPitch() != to.getPitch()) {
+            this.removeViewer(event.getPlayer());
+        }
+    }
+
+    /**
+     * The live book a player is viewing, the content hash of
+     * the snapshot last sent, and the {@link System#nanoTime()}
+     * at which the viewing expires. Re-sending the book does not
+     * extend the viewing, as the client never acknowledges it.
+     */
+    private static final class Viewing {
+        private final LiveBook book;
+        private final long contentHash;
+        private final long expiryNanos;
+
+        private Viewing(LiveBook book, long contentHash, long expiryNanos) {
+            this.book = book;
+            this.contentHash = contentHash;
+            this.expiryNanos = expiryNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - this.expiryNanos >= 0;
+        }
+    }
+}
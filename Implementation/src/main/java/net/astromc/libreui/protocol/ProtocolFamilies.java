@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.protocol;
+
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+import net.astromc.libreui.utils.version.Version;
+
+/**
+ * Utility class resolving the {@link ProtocolFamily} of a server
+ * {@link Version}.
+ */
+public enum ProtocolFamilies {;
+
+    private static final Version DUAL_WIELDING_VERSION = Version.from(1, 9, 0);
+    private static final Version NAMESPACED_CHANNEL_VERSION = Version.from(1, 13, 0);
+    private static final Version OPEN_BOOK_PACKET_VERSION = Version.from(1, 14, 0);
+
+    /**
+     * Returns the protocol family spoken by a server of the
+     * specified <tt>version</tt>.
+     *
+     * @param version the server version
+     * @return the protocol family of the server
+     */
+    public static ProtocolFamily fromServerVersion(Version version) {
+        if (version.compareTo(OPEN_BOOK_PACKET_VERSION) >= 0) {
+            return ProtocolFamily.OPEN_BOOK_PACKET;
+        } else if (version.compareTo(NAMESPACED_CHANNEL_VERSION) >= 0) {
+            return ProtocolFamily.NAMESPACED_CHANNEL;
+        } else if (version.compareTo(DUAL_WIELDING_VERSION) >= 0) {
+            return ProtocolFamily.DUAL_WIELDING;
+        }
+
+        return ProtocolFamily.LEGACY;
+    }
+}
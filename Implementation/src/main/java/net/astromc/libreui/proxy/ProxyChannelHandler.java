@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import net.astromc.libreui.api.protocol.ProxyChannel;
+import net.astromc.libreui.scheduling.PlayerTaskScheduler;
+import net.astromc.libreui.utils.messaging.ClassValueChannelsRetrieveStrategy;
+import net.astromc.libreui.utils.messaging.PlayerChannelRegistrationInsurer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.util.Objects;
+
+/**
+ * The server side of the {@link ProxyChannel}, which lets the LibreUI
+ * plugin of the proxy open books to the players of this server. The
+ * held slot of every player is reported to the proxy when the player
+ * joins and whenever it changes, and the inventory of a player is sent
+ * again, when the proxy requests it after opening a book.
+ * <p/>
+ *
+ * The messages are sent on the player connection, hence the channel
+ * is insured to be registered to the player, as the client never
+ * registers it itself.
+ */
+public final class ProxyChannelHandler implements Listener, PluginMessageListener {
+    private final PlayerChannelRegistrationInsurer channelRegistrationInsurer =
+            new PlayerChannelRegistrationInsurer(new ClassValueChannelsRetrieveStrategy());
+
+    private final Plugin plugin;
+    private final PlayerTaskScheduler scheduler;
+
+    /**
+     * Constructs a new <tt>ProxyChannelHandler</tt>.
+     *
+     * @param plugin the plugin the channel is registered to
+     * @param scheduler the scheduler running tasks on the thread owning a player
+     */
+    public ProxyChannelHandler(Plugin plugin, PlayerTaskScheduler scheduler) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+    }
+
+    /**
+     * Registers the {@link ProxyChannel} to the plugin, in both
+     * directions, with this handler receiving the messages.
+     */
+    public void registerChannel() {
+        this.plugin.getServer().getMessenger().registerOutgoingPluginChannel(this.plugin, ProxyChannel.NAME);
+        this.plugin.getServer().getMessenger().registerIncomingPluginChannel(this.plugin, ProxyChannel.NAME, this);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        this.sendHeldSlot(player, player.getInventory().getHeldItemSlot());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerItemHeld(PlayerItemHeldEvent event) {
+        this.sendHeldSlot(event.getPlayer(), event.getNewSlot());
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        if (!channel.equals(ProxyChannel.NAME) || message.length == 0) {
+            return;
+        }
+
+        if (message[0] == ProxyChannel.RESYNC_INVENTORY_MESSAGE) {
+            this.scheduler.execute(player, player::updateInventory);
+        }
+    }
+
+    private void sendHeldSlot(Player player, int slot) {
+        this.channelRegistrationInsurer.insureChannelRegistration(player, ProxyChannel.NAME);
+        player.sendPluginMessage(this.plugin, ProxyChannel.NAME, new byte[] {ProxyChannel.HELD_SLOT_MESSAGE, (byte) slot});
+    }
+}
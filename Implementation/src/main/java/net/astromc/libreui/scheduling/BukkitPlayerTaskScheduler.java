@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The classic {@link PlayerTaskScheduler}, on which every player
+ * is owned by the main thread, using the {@link org.bukkit.scheduler.BukkitScheduler}.
+ */
+public final class BukkitPlayerTaskScheduler implements PlayerTaskScheduler {
+    /**
+     * The number of milliseconds per server tick.
+     */
+    private static final long MILLISECONDS_PER_TICK = 50;
+
+    private final Plugin plugin;
+
+    /**
+     * Constructs a new <tt>BukkitPlayerTaskScheduler</tt>.
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     */
+    public BukkitPlayerTaskScheduler(Plugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+    }
+
+    @Override
+    public boolean isOwningThread(Player player) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void execute(Player player, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            Bukkit.getScheduler().runTask(this.plugin, task);
+        }
+    }
+
+    @Override
+    public void runAsyncRepeating(Runnable task, long delay, long period, TimeUnit unit) {
+        Bukkit.getScheduler().runTaskTimerAsynchronously(this.plugin, task,
+                unit.toMillis(delay) / MILLISECONDS_PER_TICK,
+                Math.max(1, unit.toMillis(period) / MILLISECONDS_PER_TICK));
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delay, TimeUnit unit) {
+        Bukkit.getScheduler().runTaskLater(this.plugin, task,
+                Math.max(1, unit.toMillis(delay) / MILLISECONDS_PER_TICK));
+    }
+}
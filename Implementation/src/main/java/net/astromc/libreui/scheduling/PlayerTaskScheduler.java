@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.entity.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules tasks on the thread owning a player. On classic servers
+ * every player is owned by the main thread, while region-threaded
+ * servers own each player by the thread ticking its region. All
+ * player interactions of LibreUI, such as opening books, are routed
+ * through this interface, hence it may be replaced by a local
+ * stand-in, running the tasks directly, for testing.
+ *
+ * @see PlayerTaskSchedulers#detect(org.bukkit.plugin.Plugin, java.util.logging.Logger)
+ */
+public interface PlayerTaskScheduler {
+    /**
+     * Returns whether the current thread owns the <tt>player</tt>.
+     *
+     * @param player the player being checked
+     * @return true if the current thread owns the player
+     */
+    boolean isOwningThread(Player player);
+
+    /**
+     * Runs the <tt>task</tt> on the thread owning the <tt>player</tt>.
+     * The task is run immediately, if the current thread owns the
+     * player, otherwise it is scheduled to run on the owning thread.
+     * The task may be dropped, if the player is no longer online by
+     * the time it would run.
+     *
+     * @param player the player owning the task
+     * @param task the task being run
+     */
+    void execute(Player player, Runnable task);
+
+    /**
+     * Schedules the <tt>task</tt> to run repeatedly on an asynchronous
+     * thread, which is not owned by any player.
+     *
+     * @param task the task being run
+     * @param delay the delay before the first run
+     * @param period the period between runs
+     * @param unit the unit of the delay and period
+     */
+    void runAsyncRepeating(Runnable task, long delay, long period, TimeUnit unit);
+
+    /**
+     * Schedules the <tt>task</tt> to run once on the thread ticking the
+     * server globally, which is the main thread on classic servers, and
+     * the global region thread on region-threaded servers. The delay is
+     * rounded down to whole ticks, and is at least one tick. The task must
+     * not interact with any player.
+     *
+     * @param task the task being run
+     * @param delay the delay before the task runs
+     * @param unit the unit of the delay
+     */
+    void runGlobalLater(Runnable task, long delay, TimeUnit unit);
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Utility class detecting the {@link PlayerTaskScheduler} suitable
+ * for the running server.
+ */
+public enum PlayerTaskSchedulers {;
+
+    /**
+     * A class only present on region-threaded servers.
+     */
+    private static final String REGIONIZED_SERVER_CLASS_NAME = "io.papermc.paper.threadedregions.RegionizedServer";
+
+    /**
+     * Returns a {@link RegionizedPlayerTaskScheduler}, if the running
+     * server is region-threaded, otherwise a {@link BukkitPlayerTaskScheduler}.
+     * If the server is region-threaded, but its scheduling API cannot be
+     * resolved, a warning is logged and the classic scheduler is returned.
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     * @param logger the logger warnings are logged to
+     * @return the scheduler for the running server
+     */
+    public static PlayerTaskScheduler detect(Plugin plugin, Logger logger) {
+        if (isRegionThreaded()) {
+            try {
+                return RegionizedPlayerTaskScheduler.create(plugin);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                logger.log(Level.WARNING, "Unable to resolve the region-threaded scheduler", e);
+            }
+        }
+
+        return new BukkitPlayerTaskScheduler(plugin);
+    }
+
+    private static boolean isRegionThreaded() {
+        try {
+            Class.forName(REGIONIZED_SERVER_CLASS_NAME);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
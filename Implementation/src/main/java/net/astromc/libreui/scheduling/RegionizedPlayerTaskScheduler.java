@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A {@link PlayerTaskScheduler} for region-threaded servers, on
+ * which each player is owned by the thread ticking its region.
+ * Tasks are dispatched to the entity scheduler of the player, global
+ * tasks to the global region scheduler, and asynchronous tasks to the
+ * asynchronous scheduler of the server.
+ * <p/>
+ *
+ * The scheduling API is not part of the Bukkit API this plugin is
+ * compiled against, therefore it is resolved reflectively once, and
+ * invoked through {@link MethodHandle}s.
+ */
+public final class RegionizedPlayerTaskScheduler implements PlayerTaskScheduler {
+    /**
+     * The delay in ticks of entity scheduler tasks, which must
+     * be at least one.
+     */
+    private static final long ENTITY_TASK_DELAY_TICKS = 1;
+
+    /**
+     * The number of milliseconds per server tick.
+     */
+    private static final long MILLISECONDS_PER_TICK = 50;
+
+    private final Plugin plugin;
+
+    /**
+     * <tt>(Player)boolean</tt> handle of <tt>Bukkit.isOwnedByCurrentRegion(Entity)</tt>.
+     */
+    private final MethodHandle isOwnedByCurrentRegion;
+    /**
+     * <tt>(Player)Object</tt> handle of <tt>Entity.getScheduler()</tt>.
+     */
+    private final MethodHandle getEntityScheduler;
+    /**
+     * <tt>(Object,Plugin,Runnable,Runnable,long)void</tt> handle of
+     * <tt>EntityScheduler.execute(Plugin, Runnable, Runnable, long)</tt>.
+     * The returned boolean is discarded, it is false if the player has
+     * been removed, in which case the task is dropped.
+     */
+    private final MethodHandle executeOnEntityScheduler;
+    /**
+     * <tt>(Plugin,Consumer,long,long,TimeUnit)void</tt> handle of
+     * <tt>AsyncScheduler.runAtFixedRate(Plugin, Consumer, long, long, TimeUnit)</tt>,
+     * bound to the asynchronous scheduler of the server.
+     */
+    private final MethodHandle runAtFixedRate;
+    /**
+     * <tt>(Plugin,Consumer,long)void</tt> handle of
+     * <tt>GlobalRegionScheduler.runDelayed(Plugin, Consumer, long)</tt>,
+     * bound to the global region scheduler of the server.
+     */
+    private final MethodHandle runDelayed;
+
+    private RegionizedPlayerTaskScheduler(Plugin plugin,
+                                          MethodHandle isOwnedByCurrentRegion,
+                                          MethodHandle getEntityScheduler,
+                                          MethodHandle executeOnEntityScheduler,
+                                          MethodHandle runAtFixedRate,
+                                          MethodHandle runDelayed) {
+        this.plugin = plugin;
+        this.isOwnedByCurrentRegion = isOwnedByCurrentRegion;
+        this.getEntityScheduler = getEntityScheduler;
+        this.executeOnEntityScheduler = executeOnEntityScheduler;
+        this.runAtFixedRate = runAtFixedRate;
+        this.runDelayed = runDelayed;
+    }
+
+    @Override
+    public boolean isOwningThread(Player player) {
+        try {
+            return (boolean) this.isOwnedByCurrentRegion.invokeExact(player);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to check the region owning " + player.getName(), e);
+        }
+    }
+
+    @Override
+    public void execute(Player player, Runnable task) {
+        if (this.isOwningThread(player)) {
+            task.run();
+            return;
+        }
+
+        try {
+            Object entityScheduler = (Object) this.getEntityScheduler.invokeExact(player);
+            this.executeOnEntityScheduler.invokeExact(
+                    entityScheduler, this.plugin, task, (Runnable) null, ENTITY_TASK_DELAY_TICKS);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to schedule a task for " + player.getName(), e);
+        }
+    }
+
+    @Override
+    public void runAsyncRepeating(Runnable task, long delay, long period, TimeUnit unit) {
+        Consumer<Object> scheduledTask = ignored -> task.run();
+
+        try {
+            this.runAtFixedRate.invokeExact(this.plugin, scheduledTask, delay, period, unit);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to schedule an asynchronous task", e);
+        }
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delay, TimeUnit unit) {
+        Consumer<Object> scheduledTask = ignored -> task.run();
+
+        try {
+            this.runDelayed.invokeExact(this.plugin, scheduledTask,
+                    Math.max(1, unit.toMillis(delay) / MILLISECONDS_PER_TICK));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to schedule a global task", e);
+        }
+    }
+
+    /**
+     * Resolves the region-threaded scheduling API of the running
+     * server, and creates a new <tt>RegionizedPlayerTaskScheduler</tt>.
+     *
+     * @param plugin the plugin owning the scheduled tasks
+     * @return a new region-threaded scheduler
+     * @throws ReflectiveOperationException if the scheduling API cannot be resolved
+     */
+    public static RegionizedPlayerTaskScheduler create(Plugin plugin) throws ReflectiveOperationException {
+        Objects.requireNonNull(plugin, "plugin");
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        Method isOwnedByCurrentRegionMethod = Arrays.stream(Bukkit.class.getMethods())
+                .filter(method -> method.getName().equals("isOwnedByCurrentRegion"))
+                .filter(method -> method.getParameterCount() == 1)
+                .filter(method -> method.getParameterTypes()[0].isAssignableFrom(Player.class))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchMethodException("Bukkit.isOwnedByCurrentRegion(Entity)"));
+
+        Method getEntitySchedulerMethod = Player.class.getMethod("getScheduler");
+        Method executeMethod = getEntitySchedulerMethod.getReturnType()
+                .getMethod("execute", Plugin.class, Runnable.class, Runnable.class, long.class);
+
+        Method getAsyncSchedulerMethod = Bukkit.class.getMethod("getAsyncScheduler");
+        Object asyncScheduler = getAsyncSchedulerMethod.invoke(null);
+        Method runAtFixedRateMethod = getAsyncSchedulerMethod.getReturnType()
+                .getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+
+        Method getGlobalRegionSchedulerMethod = Bukkit.class.getMethod("getGlobalRegionScheduler");
+        Object globalRegionScheduler = getGlobalRegionSchedulerMethod.invoke(null);
+        Method runDelayedMethod = getGlobalRegionSchedulerMethod.getReturnType()
+                .getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+
+        return new RegionizedPlayerTaskScheduler(
+                plugin,
+                lookup.unreflect(isOwnedByCurrentRegionMethod)
+                        .asType(MethodType.methodType(boolean.class, Player.class)),
+                lookup.unreflect(getEntitySchedulerMethod)
+                        .asType(MethodType.methodType(Object.class, Player.class)),
+                lookup.unreflect(executeMethod)
+                        .asType(MethodType.methodType(void.class, Object.class, Plugin.class, Runnable.class, Runnable.class, long.class)),
+                lookup.unreflect(runAtFixedRateMethod)
+                        .bindTo(asyncScheduler)
+                        .asType(MethodType.methodType(void.class, Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class)),
+                lookup.unreflect(runDelayedMethod)
+                        .bindTo(globalRegionScheduler)
+                        .asType(MethodType.methodType(void.class, Plugin.class, Consumer.class, long.class)));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An {@link Executor} running background work, such as rendering
+ * payloads ahead of their first open, on the thread ticking the server
+ * globally, see {@link PlayerTaskScheduler#runGlobalLater(Runnable, long, TimeUnit)}.
+ * The submitted tasks are queued, and run in submission order in the
+ * following ticks, each tick running tasks until the time spent in
+ * that tick exceeds the budget, so the work never competes with the
+ * ticks of the server for more than the budget. At least one task is
+ * run per tick, even if it exceeds the budget on its own.
+ * <p/>
+ *
+ * Tasks may be submitted from any thread. Tasks failing with a
+ * {@link RuntimeException} are logged, and do not affect the
+ * following tasks.
+ */
+public final class TickBudgetExecutor implements Executor {
+    /**
+     * The delay before the queued tasks are run, which is one tick.
+     */
+    private static final long DRAIN_DELAY_MILLIS = 50;
+
+    private final PlayerTaskScheduler scheduler;
+    private final long budgetNanos;
+    private final Logger logger;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a new <tt>TickBudgetExecutor</tt>.
+     *
+     * @param scheduler the scheduler running the tasks on the global thread
+     * @param budget the time the tasks may run for per tick
+     * @param unit the unit of the budget
+     * @param logger the logger failing tasks are logged to
+     * @throws IllegalArgumentException if <tt>budget</tt> is negative
+     */
+    public TickBudgetExecutor(PlayerTaskScheduler scheduler, long budget, TimeUnit unit, Logger logger)
+            throws IllegalArgumentException {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget is < 0");
+        }
+
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+        this.budgetNanos = unit.toNanos(budget);
+        this.logger = Objects.requireNonNull(logger, "logger");
+    }
+
+    /**
+     * Queues the <tt>task</tt> to run on the global thread, in one
+     * of the following ticks.
+     *
+     * @param task the task being run
+     * @throws RejectedExecutionException if this executor has been shut down
+     */
+    @Override
+    public void execute(Runnable task) throws RejectedExecutionException {
+        Objects.requireNonNull(task, "task");
+
+        if (this.shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+
+        this.tasks.add(task);
+        this.scheduleDrain();
+    }
+
+    /**
+     * Shuts this executor down, discarding the queued tasks. A task
+     * which is running completes normally.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        this.tasks.clear();
+    }
+
+    /**
+     * Returns the number of queued tasks, which have not run yet.
+     *
+     * @return the number of queued tasks
+     */
+    public int getQueuedTaskCount() {
+        return this.tasks.size();
+    }
+
+    private void scheduleDrain() {
+        if (!this.tasks.isEmpty() && this.drainScheduled.compareAndSet(false, true)) {
+            this.scheduler.runGlobalLater(this::drain, DRAIN_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs queued tasks until the budget of this tick is spent, then
+     * schedules the remaining tasks to the next tick.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        Runnable task;
+
+        while (!this.shutdown && (task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                this.logger.log(Level.WARNING, "A background task failed", e);
+            }
+
+            if (System.nanoTime() - start >= this.budgetNanos) {
+                break;
+            }
+        }
+
+        this.drainScheduled.set(false);
+
+        if (!this.shutdown) {
+            this.scheduleDrain();
+        }
+    }
+}
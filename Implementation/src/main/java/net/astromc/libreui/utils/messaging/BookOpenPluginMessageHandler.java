@@ -16,7 +16,11 @@
 
 package net.astromc.libreui.utils.messaging;
 
-import net.astromc.libreui.utils.version.Version;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+import net.astromc.libreui.profiling.BookOpenProfiling;
+import net.astromc.libreui.profiling.BookOpenStage;
+import net.astromc.libreui.profiling.StageTimer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.plugin.Plugin;
@@ -27,67 +31,48 @@ import java.util.Set;
 /**
  * A utility class to easily send MC|BOpen messages to
  * the client on both new (with dual wielding) and legacy
- * versions.
+ * versions. The channel and message are chosen by the
+ * {@link ProtocolFamily} of the server, as a protocol
+ * translation layer converts them for other clients.
  */
 public final class BookOpenPluginMessageHandler {
-    /**
-     * The plugin messaging channel for which opens the book
-     * on the player's client. This is a default channel in
-     * Minecraft.
-     */
-    private static final String OPEN_BOOK_MESSAGE_CHANNEL = "MC|BOpen";
-
-    /**
-     * The version at which dual wielding was implemented into the
-     * game. This is used to determine whether or not the hand
-     * holding the book should be included in the plugin message.
-     */
-    private static final Version DUAL_WIELDING_VERSION_DIVIDER = Version.from(1,9,0);
-
-    /**
-     * Magic value which signifies the main hand for the player.
-     */
-    private static final int MAIN_HAND_ENUM_CONSTANT_INDEX = 0;
-
-    /**
-     * The main hand magic value wrapped in a cached byte array,
-     * so it doesn't have to be compiled for each plugin message.
-     */
-    private static final byte[] MAIN_HAND_ENUM_CONSTANT_BYTE_ARRAY = new byte[] {MAIN_HAND_ENUM_CONSTANT_INDEX};
-
-    /**
-     * Cached empty byte array. This is sent as the plugin message
-     * if the version doesn't need to specify the hand which the
-     * book is held in.
-     */
-    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
-
     /**
      * {@link PlayerChannelRegistrationInsurer} instance used
      * for insuring that the MC|BOpen channel is registered when
      * sending the message. The instance is using the
-     * {@link FieldCachingChannelsRetrieveStrategy} strategy by default.
+     * {@link ClassValueChannelsRetrieveStrategy} strategy by default.
      */
     private static final PlayerChannelRegistrationInsurer
-            CHANNEL_REGISTRATION_INSURER = new PlayerChannelRegistrationInsurer(new FieldCachingChannelsRetrieveStrategy());
+            CHANNEL_REGISTRATION_INSURER = new PlayerChannelRegistrationInsurer(new ClassValueChannelsRetrieveStrategy());
 
     //
     private final Plugin plugin;
+    private final ProtocolFamily serverFamily;
+
+    /**
+     * The open book message of the server protocol family, cached
+     * so it doesn't have to be compiled for each plugin message.
+     */
+    private final byte[] openBookMessage;
 
-    public BookOpenPluginMessageHandler(Plugin plugin) {
+    public BookOpenPluginMessageHandler(Plugin plugin, ProtocolFamily serverFamily) {
         this.plugin = Objects.requireNonNull(plugin);
+        this.serverFamily = Objects.requireNonNull(serverFamily);
+        this.openBookMessage = serverFamily.getOpenBookMessage();
     }
 
     /**
-     * Registers the <tt>MC|BOpen</tt> messaging channel to the
-     * plugin, which allows the plugin to send book opening messages
-     * to the client through plugin messaging. This method is safe
-     * to invoke without unregistered the channel. The Bukkit
-     * implementation just re-adds it to the {@link Set} of registered
-     * channels.
+     * Registers the open book messaging channel of the server
+     * protocol family to the plugin, which allows the plugin to
+     * send book opening messages to the client through plugin
+     * messaging. Nothing is registered if the server opens books
+     * through a dedicated packet. This method is safe to invoke
+     * without unregistered the channel. The Bukkit implementation
+     * just re-adds it to the {@link Set} of registered channels.
      */
     public void registerBookOpenMessagingChannel() {
-        this.plugin.getServer().getMessenger().registerOutgoingPluginChannel(this.plugin, OPEN_BOOK_MESSAGE_CHANNEL);
+        this.serverFamily.getOpenBookChannel().ifPresent(channel ->
+                this.plugin.getServer().getMessenger().registerOutgoingPluginChannel(this.plugin, channel));
     }
 
     /**
@@ -106,30 +91,24 @@ public final class BookOpenPluginMessageHandler {
      * The channel is insured to be registered to the player using an
      * instance of {@link PlayerChannelRegistrationInsurer}, and the
      * {@link PlayerChannelRegistrationInsurer#insureChannelRegistration(Player, String)}
-     * method to forcefully register the channel.
+     * method to forcefully register the channel. The registration and
+     * the message are recorded as described by {@link BookOpenProfiling}.
      *
      * @param player the player sending book open message to
-     * @param version the player client version
+     * @param book the book being opened, which is only recorded
+     * @throws IllegalStateException if the server opens books through
+     * a dedicated packet, rather than a channel
      */
-    public void sendOpenBookMessageToPlayer(Player player, Version version) {
-        byte[] message = getAppropriateMessageFromVersion(version);
-
-        CHANNEL_REGISTRATION_INSURER.insureChannelRegistration(player, OPEN_BOOK_MESSAGE_CHANNEL);
+    public void sendOpenBookMessageToPlayer(Player player, Book book) throws IllegalStateException {
+        String channel = this.serverFamily.getOpenBookChannel()
+                .orElseThrow(() -> new IllegalStateException(this.serverFamily + " has no open book channel"));
 
-        player.sendPluginMessage(this.plugin, OPEN_BOOK_MESSAGE_CHANNEL, message);
-    }
+        StageTimer registrationTimer = BookOpenProfiling.begin(BookOpenStage.CHANNEL_REGISTRATION);
+        CHANNEL_REGISTRATION_INSURER.insureChannelRegistration(player, channel);
+        registrationTimer.finish(book, player);
 
-    /**
-     * Returns the appropriate byte array message depending on
-     * the client version of the player. This assures this utility
-     * works on legacy version, and newer versions with dual wielding.
-     *
-     * @param version the player client version
-     * @return an empty byte array for legacy servers, and a
-     * single-element byte array with the value of 0 for newer
-     * version with dual wielding
-     */
-    private static byte[] getAppropriateMessageFromVersion(Version version) {
-        return version.compareTo(DUAL_WIELDING_VERSION_DIVIDER) >= 0 ? MAIN_HAND_ENUM_CONSTANT_BYTE_ARRAY : EMPTY_BYTE_ARRAY;
+        StageTimer sendTimer = BookOpenProfiling.begin(BookOpenStage.MESSAGE_SEND);
+        player.sendPluginMessage(this.plugin, channel, this.openBookMessage);
+        sendTimer.finish(book, player);
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.utils.messaging;
+
+import com.google.common.base.Throwables;
+import org.bukkit.entity.Player;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Set;
+
+/**
+ * A channels retrieve strategy which binds a {@link MethodHandle}
+ * getter for the <tt>channels</tt> field once per concrete player
+ * class, using a {@link ClassValue}. Unlike the {@link
+ * FieldCachingChannelsRetrieveStrategy}, this implementation is
+ * not limited to a single player class, and the bound getter is
+ * invoked exactly, rather than through {@link Field#get(Object)}.
+ */
+public final class ClassValueChannelsRetrieveStrategy implements ChannelsRetrieveStrategy {
+    /**
+     * CraftPlayer implementation <tt>channels</tt> field name.
+     */
+    private static final String CHANNELS_FIELD_NAME = "channels";
+
+    /**
+     * The type every bound getter is adapted to, so the
+     * getters can be invoked exactly regardless of the
+     * declaring class.
+     */
+    private static final MethodType CHANNELS_GETTER_TYPE = MethodType.methodType(Set.class, Object.class);
+
+    private final ClassValue<MethodHandle> channelsGetters = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> playerClass) {
+            try {
+                Field channelsField = resolveChannelsField(playerClass);
+                channelsField.setAccessible(true);
+
+                return MethodHandles.lookup()
+                        .unreflectGetter(channelsField)
+                        .asType(CHANNELS_GETTER_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to bind channels getter for " + playerClass.getName(), e);
+            }
+        }
+    };
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> getChannels(Player source) throws CannotRetrieveChannelsException {
+        try {
+            MethodHandle channelsGetter = this.channelsGetters.get(source.getClass());
+            return (Set<String>) (Set<?>) channelsGetter.invokeExact((Object) source);
+        } catch (Exception e) {
+            throw new CannotRetrieveChannelsException(e);
+        } catch (Throwable e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Resolves the <tt>channels</tt> field for the specified
+     * <tt>playerClass</tt>, searching the superclasses if the
+     * class does not declare the field itself.
+     *
+     * @param playerClass the player class resolving the channels field for
+     * @return the field holding registered channels for the player class
+     * @throws NoSuchFieldException if neither the class or any of its
+     * superclasses declares the channels field
+     */
+    private static Field resolveChannelsField(Class<?> playerClass) throws NoSuchFieldException {
+        for (Class<?> type = playerClass; type != null; type = type.getSuperclass()) {
+            try {
+                return type.getDeclaredField(CHANNELS_FIELD_NAME);
+            } catch (NoSuchFieldException ignored) {
+                // Continue with the superclass
+            }
+        }
+
+        throw new NoSuchFieldException(CHANNELS_FIELD_NAME);
+    }
+}
@@ -28,6 +28,12 @@ import java.util.Set;
  * hasn't explicitly registered to listen for. This can
  * be used to forcefully make players listen for certain
  * vanilla channels such as the MC|BOpen channel.
+ * <p/>
+ *
+ * The membership of the channel is checked in the actual Set
+ * of channels every time, rather than remembered, as the client
+ * may unregister the channel at any time. The Set is therefore
+ * only mutated if the channel is missing.
  */
 public final class PlayerChannelRegistrationInsurer {
     private ChannelsRetrieveStrategy channelsRetrieveStrategy;
@@ -57,7 +63,7 @@ public final class PlayerChannelRegistrationInsurer {
      * Insures that player is listening to the specified channel. The
      * listening channels is retrieved from the player object using an
      * {@link ChannelsRetrieveStrategy} instance, and then adds the
-     * channel to the Set of channels.
+     * channel to the Set of channels, unless it is already contained.
      *
      * @param player the player insuring the channel is registered for
      * @param channel the channel insured registration for
@@ -65,7 +71,10 @@ public final class PlayerChannelRegistrationInsurer {
     public void insureChannelRegistration(Player player, String channel) {
         try {
             Set<String> channels = channelsRetrieveStrategy.getChannels(player);
-            channels.add(channel);
+
+            if (!channels.contains(channel)) {
+                channels.add(channel);
+            }
         } catch (CannotRetrieveChannelsException e) {
             e.printStackTrace();
         }
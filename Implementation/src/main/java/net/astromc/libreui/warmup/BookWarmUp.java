@@ -0,0 +1,230 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.warmup;
+
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.markup.PageMarkup;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.bridge.VersionBridge;
+import net.astromc.libreui.scheduling.TickBudgetExecutor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Warms up the book open pipeline after startup. First synthetic books
+ * are prepared by the {@link VersionBridge}, to have the serializers and
+ * the payload rendering compiled by the JIT, then the books journaled by
+ * the previous run in the {@link RecentBooksJournal} are rendered into
+ * the payload cache, unless they are found in the remote payload store.
+ * Rendering a payload may touch server internals, hence every book is
+ * prepared or rendered as a separate task of the {@link TickBudgetExecutor},
+ * on the thread ticking the server, within the time budget per tick of
+ * the executor. The warm-up starts after a delay, so it does not compete
+ * with the first ticks.
+ * <p/>
+ *
+ * The open pipeline is exercised up to the player independent part,
+ * as the player specific part sends packets to a real connection.
+ */
+public final class BookWarmUp {
+    /**
+     * The number of pages in the synthetic warm-up books.
+     */
+    private static final int SYNTHETIC_BOOK_PAGES = 10;
+
+    private final LibreUIPlugin plugin;
+    private final VersionBridge bridge;
+    private final RecentBooksJournal journal;
+    private final TickBudgetExecutor executor;
+    private final Logger logger;
+
+    private final long delayMillis;
+    private final int iterations;
+
+    private boolean started;
+    private volatile boolean stopped;
+
+    private long startNanos;
+    private int preloadedBooks;
+
+    /**
+     * Constructs a new <tt>BookWarmUp</tt>.
+     *
+     * @param plugin the plugin whose payload cache is warmed up
+     * @param bridge the version bridge rendering the payloads
+     * @param journal the journal of the previous run
+     * @param executor the executor running the warm-up tasks
+     * @param delayMillis the delay before the warm-up starts, in milliseconds
+     * @param iterations the number of synthetic books prepared
+     * @throws IllegalArgumentException if any of the numeric arguments
+     * is negative
+     */
+    public BookWarmUp(LibreUIPlugin plugin, VersionBridge bridge, RecentBooksJournal journal,
+                      TickBudgetExecutor executor, long delayMillis, int iterations) throws IllegalArgumentException {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("delayMillis is < 0");
+        } else if (iterations < 0) {
+            throw new IllegalArgumentException("iterations is < 0");
+        }
+
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.bridge = Objects.requireNonNull(bridge, "bridge");
+        this.journal = Objects.requireNonNull(journal, "journal");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.logger = plugin.getLogger();
+        this.delayMillis = delayMillis;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Loads the journal of the previous run, and schedules the warm-up
+     * tasks to be queued to the executor after the delay.
+     *
+     * @throws IllegalStateException if the warm-up has already been started
+     */
+    public synchronized void start() throws IllegalStateException {
+        if (this.started) {
+            throw new IllegalStateException("Warm-up has already been started");
+        }
+
+        this.started = true;
+        List<RecentBooksJournal.Entry> entries = this.loadJournal();
+
+        this.plugin.getPlayerTaskScheduler().runGlobalLater(
+                () -> this.submit(entries), this.delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the warm-up, the tasks which have not run yet do nothing.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    private List<RecentBooksJournal.Entry> loadJournal() {
+        try {
+            return this.journal.load();
+        } catch (IOException e) {
+            this.logger.log(Level.WARNING, "Unable to load the recent books journal", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Queues a task per synthetic book, and per journaled book, followed
+     * by a task logging the outcome of the warm-up.
+     *
+     * @param entries the books journaled by the previous run
+     */
+    private void submit(List<RecentBooksJournal.Entry> entries) {
+        if (this.stopped) {
+            return;
+        }
+
+        this.startNanos = System.nanoTime();
+
+        for (int i = 0; i < this.iterations; i++) {
+            int iteration = i;
+            this.executor.execute(() -> this.prepareSyntheticBook(iteration));
+        }
+
+        for (RecentBooksJournal.Entry entry : entries) {
+            this.executor.execute(() -> this.preloadJournaledBook(entry));
+        }
+
+        this.executor.execute(this::finish);
+    }
+
+    /**
+     * Prepares a synthetic book, built and serialized from scratch. If
+     * it fails, the warm-up is stopped, as the following books would fail
+     * the same way.
+     *
+     * @param iteration the warm-up iteration
+     */
+    private void prepareSyntheticBook(int iteration) {
+        if (this.stopped) {
+            return;
+        }
+
+        try {
+            this.bridge.prepareBook(createSyntheticBook(iteration));
+        } catch (RuntimeException e) {
+            this.stopped = true;
+            this.logger.log(Level.WARNING, "Warm-up failed", e);
+        }
+    }
+
+    /**
+     * Preloads a book journaled by the previous run into the payload
+     * cache, from the remote payload store if one is configured.
+     *
+     * @param entry the journaled book
+     */
+    private void preloadJournaledBook(RecentBooksJournal.Entry entry) {
+        if (this.stopped) {
+            return;
+        }
+
+        try {
+            this.plugin.preloadPayload(entry.getKey(), entry.getJsonRepresentation());
+            this.preloadedBooks++;
+        } catch (RuntimeException e) {
+            this.logger.log(Level.FINE, "Unable to warm up a journaled book", e);
+        }
+    }
+
+    private void finish() {
+        if (this.stopped) {
+            return;
+        }
+
+        this.logger.info(String.format("Warmed up %d recently used books in %d ms",
+                this.preloadedBooks, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos)));
+    }
+
+    /**
+     * Creates a synthetic book, with formatted text, and click
+     * and hover events on all of its pages. The pages are compiled
+     * from markup, so the markup compiler is warmed up as well.
+     *
+     * @param iteration the warm-up iteration
+     * @return a new synthetic book
+     */
+    private static Book createSyntheticBook(int iteration) {
+        Book.Builder builder = new Book.Builder(createSyntheticPage(iteration, 0));
+
+        for (int i = 1; i < SYNTHETIC_BOOK_PAGES; i++) {
+            builder.addPage(createSyntheticPage(iteration, i));
+        }
+
+        return builder.build();
+    }
+
+    private static Page createSyntheticPage(int iteration, int index) {
+        return PageMarkup.compileUncached("<dark_blue><bold>Warm-up " + iteration + " page " + index + "</bold></>"
+                + "<br><br><click:change_page:" + (index + 1) + "><hover:Page " + (index + 1) + ">Click here");
+    }
+}
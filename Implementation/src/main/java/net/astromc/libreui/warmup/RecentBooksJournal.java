@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.warmup;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.cache.PayloadKey;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A bounded journal of the most recently opened books, keyed by
+ * their content hash. The journal is saved to a file when the
+ * plugin is disabled, and loaded by the {@link BookWarmUp} of the
+ * next run, to render the books before they are opened again.
+ * <p/>
+ *
+ * The journal only holds weak references to the opened books, so
+ * it never retains their JSON representation in memory, and a book
+ * which is no longer referenced by the time the journal is saved is
+ * not journaled. The JSON representation of the books which are
+ * still alive is written to the file, as a hash alone cannot be
+ * rendered. All methods are thread-safe.
+ */
+public final class RecentBooksJournal {
+    /**
+     * The format version written at the start of the journal file.
+     */
+    private static final int FORMAT_VERSION = 3;
+
+    private final File file;
+    private final int maximumSize;
+
+    private final LinkedHashMap<Long, WeakReference<Book>> entries;
+
+    /**
+     * Constructs a new <tt>RecentBooksJournal</tt>.
+     *
+     * @param file the file the journal is saved to
+     * @param maximumSize the maximum number of journaled books
+     * @throws IllegalArgumentException if <tt>maximumSize</tt> is negative
+     */
+    public RecentBooksJournal(File file, int maximumSize) throws IllegalArgumentException {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize is < 0");
+        }
+
+        this.file = Objects.requireNonNull(file, "file");
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Long, WeakReference<Book>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, WeakReference<Book>> eldest) {
+                return size() > RecentBooksJournal.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Records an open of the specified <tt>book</tt>.
+     *
+     * @param book the opened book
+     */
+    public void record(Book book) {
+        long contentHash = book.getContentHash();
+
+        synchronized (this.entries) {
+            WeakReference<Book> reference = this.entries.get(contentHash);
+
+            if (reference == null || reference.get() != book) {
+                this.entries.put(contentHash, new WeakReference<>(book));
+            }
+        }
+    }
+
+    /**
+     * Loads the books journaled by the previous run, from the most
+     * to the least recently opened. The in-memory journal is not
+     * modified. An empty list is returned if there is no journal file.
+     *
+     * @return the journaled books
+     * @throws IOException if the journal file could not be read
+     */
+    public List<Entry> load() throws IOException {
+        if (!this.file.isFile()) {
+            return Collections.emptyList();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(this.file))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return Collections.emptyList();
+            }
+
+            int count = Math.min(in.readInt(), this.maximumSize);
+            List<Entry> entries = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                long contentHash = in.readLong();
+                byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+
+                entries.add(new Entry(PayloadKey.of(contentHash, json.length),
+                        new String(json, StandardCharsets.UTF_8)));
+            }
+
+            return entries;
+        } catch (NegativeArraySizeException e) {
+            throw new IOException("Malformed journal " + this.file, e);
+        }
+    }
+
+    /**
+     * Saves the journaled books which are still alive to the journal
+     * file, from the most to the least recently opened. Books whose
+     * pages have not all been fetched are skipped. The file is replaced
+     * atomically where supported, so a failed save keeps the previous
+     * journal.
+     *
+     * @throws IOException if the journal file could not be written
+     */
+    public void save() throws IOException {
+        List<WeakReference<Book>> references;
+
+        synchronized (this.entries) {
+            references = new ArrayList<>(this.entries.values());
+        }
+
+        Collections.reverse(references);
+
+        List<Book> books = new ArrayList<>(references.size());
+        Set<Long> contentHashes = new HashSet<>();
+
+        for (WeakReference<Book> reference : references) {
+            Book book = reference.get();
+
+            if (book != null && !book.hasPendingPages() && contentHashes.add(book.getContentHash())) {
+                books.add(book);
+            }
+        }
+
+        File directory = this.file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create directory " + directory);
+        }
+
+        File temporaryFile = new File(directory, this.file.getName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(temporaryFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(books.size());
+
+            for (Book book : books) {
+                byte[] json = book.getJsonRepresentation().getBytes(StandardCharsets.UTF_8);
+
+                out.writeLong(book.getContentHash());
+                out.writeInt(json.length);
+                out.write(json);
+            }
+        }
+
+        Files.move(temporaryFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * A book loaded from the journal file, which is its payload key,
+     * and its JSON representation to render the payload from.
+     */
+    public static final class Entry {
+        private final PayloadKey key;
+        private final String jsonRepresentation;
+
+        private Entry(PayloadKey key, String jsonRepresentation) {
+            this.key = key;
+            this.jsonRepresentation = jsonRepresentation;
+        }
+
+        /**
+         * Returns the payload key of the journaled book.
+         *
+         * @return the payload key
+         */
+        public PayloadKey getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the JSON representation of the journaled book.
+         *
+         * @return the JSON representation
+         */
+        public String getJsonRepresentation() {
+            return jsonRepresentation;
+        }
+    }
+}
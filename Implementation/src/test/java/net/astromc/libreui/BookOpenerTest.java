@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.LazyPage;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.astromc.libreui.scheduling.DirectPlayerTaskScheduler;
+import net.astromc.libreui.warmup.RecentBooksJournal;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BookOpenerTest {
+    private final DirectPlayerTaskScheduler scheduler = new DirectPlayerTaskScheduler();
+    private final List<Book> openedBooks = Collections.synchronizedList(new ArrayList<>());
+    private File journalFile;
+
+    @Before
+    public void createJournalFile() throws IOException {
+        this.journalFile = File.createTempFile("recent-books", ".dat");
+    }
+
+    @After
+    public void deleteJournalFile() {
+        this.journalFile.delete();
+    }
+
+    private static Player player(AtomicBoolean online) {
+        return (Player) Proxy.newProxyInstance(BookOpenerTest.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isOnline":
+                            return online.get();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Player";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Page page(String text) {
+        return new PageWriter().text(text).build();
+    }
+
+    private RecentBooksJournal newJournal() {
+        return new RecentBooksJournal(this.journalFile, 16);
+    }
+
+    private BookOpener newOpener(RecentBooksJournal journal) {
+        return new BookOpener(this.scheduler, (player, book) -> {
+            assertTrue(this.scheduler.getExecutedPlayers().contains(player));
+            this.openedBooks.add(book);
+        }, journal);
+    }
+
+    @Test
+    public void opensBookOnTheOwningThread() {
+        Player player = player(new AtomicBoolean(true));
+        Book book = new Book.Builder(page("a")).build();
+
+        this.newOpener(null).openBook(player, book, true);
+
+        assertEquals(Collections.singletonList(player), this.scheduler.getExecutedPlayers());
+        assertEquals(1, this.openedBooks.size());
+        assertSame(book, this.openedBooks.get(0));
+    }
+
+    @Test
+    public void recordsOnlyJournaledBooks() throws IOException {
+        Player player = player(new AtomicBoolean(true));
+        Book journaledBook = new Book.Builder(page("journaled")).build();
+        Book resolvedBook = new Book.Builder(page("resolved")).build();
+        RecentBooksJournal journal = this.newJournal();
+        BookOpener opener = this.newOpener(journal);
+
+        opener.openBook(player, journaledBook, true);
+        opener.openBook(player, resolvedBook, false);
+        journal.save();
+
+        List<RecentBooksJournal.Entry> entries = this.newJournal().load();
+
+        assertEquals(2, this.openedBooks.size());
+        assertEquals(1, entries.size());
+        assertEquals(journaledBook.getJsonRepresentation(), entries.get(0).getJsonRepresentation());
+    }
+
+    @Test
+    public void opensBookWithPendingPagesOnceFetched() {
+        Player player = player(new AtomicBoolean(true));
+        CompletableFuture<Page> fetch = new CompletableFuture<>();
+        Book book = new Book.Builder(page("a"))
+                .addPage(LazyPage.ofAsync(() -> fetch, page("loading"), 10, TimeUnit.SECONDS))
+                .build();
+
+        this.newOpener(null).openBook(player, book, true);
+
+        assertTrue(this.openedBooks.isEmpty());
+        assertTrue(this.scheduler.getExecutedPlayers().isEmpty());
+
+        fetch.complete(page("fetched"));
+
+        assertEquals(Collections.singletonList(player), this.scheduler.getExecutedPlayers());
+        assertEquals(1, this.openedBooks.size());
+        assertSame(book, this.openedBooks.get(0));
+        assertEquals(new Book.Builder(page("a")).addPage(page("fetched")).build().getJsonRepresentation(),
+                book.getJsonRepresentation());
+    }
+
+    @Test
+    public void dropsBookWhenPlayerLeavesDuringFetch() {
+        AtomicBoolean online = new AtomicBoolean(true);
+        Player player = player(online);
+        CompletableFuture<Page> fetch = new CompletableFuture<>();
+        Book book = new Book.Builder(page("a"))
+                .addPage(LazyPage.ofAsync(() -> fetch, page("loading"), 10, TimeUnit.SECONDS))
+                .build();
+
+        this.newOpener(null).openBook(player, book, true);
+        online.set(false);
+        fetch.complete(page("fetched"));
+
+        assertEquals(Collections.singletonList(player), this.scheduler.getExecutedPlayers());
+        assertTrue(this.openedBooks.isEmpty());
+    }
+}
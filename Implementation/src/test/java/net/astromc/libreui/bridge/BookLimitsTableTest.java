@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.bridge;
+
+import net.astromc.libreui.api.book.BookLimits;
+import net.astromc.libreui.utils.version.Version;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BookLimitsTableTest {
+
+    @Test
+    public void pagesAreNotCappedUnlessRequested() {
+        assertEquals(BookLimits.UNLIMITED_PAGES,
+                BookLimitsTable.forVersion(Version.from(1, 8, 8), false).getMaximumPages());
+        assertEquals(BookLimits.UNLIMITED_PAGES,
+                BookLimitsTable.forVersion(Version.from(1, 16, 5), false).getMaximumPages());
+    }
+
+    @Test
+    public void cappedPagesFollowWritableBookLimits() {
+        assertEquals(50, BookLimitsTable.forVersion(Version.from(1, 8, 8), true).getMaximumPages());
+        assertEquals(50, BookLimitsTable.forVersion(Version.from(1, 13, 2), true).getMaximumPages());
+        assertEquals(100, BookLimitsTable.forVersion(Version.from(1, 14, 0), true).getMaximumPages());
+    }
+
+    @Test
+    public void versionsOlderThanTableAreNotCapped() {
+        assertEquals(BookLimits.UNLIMITED_PAGES,
+                BookLimitsTable.forVersion(Version.from(1, 6, 4), true).getMaximumPages());
+    }
+
+    @Test
+    public void sizeLimitsAreVersionIndependent() {
+        BookLimits limits = BookLimitsTable.forVersion(Version.from(1, 12, 2), true);
+
+        assertEquals(32767, limits.getMaximumPageBytes());
+        assertEquals(2097152, limits.getMaximumBookBytes());
+    }
+
+    @Test
+    public void nbtDataIsAccountedFromTheTable() {
+        BookLimits.NbtAccounting accounting = BookLimitsTable.forVersion(Version.from(1, 8, 8), false).getNbtAccounting();
+
+        assertEquals(2097152, accounting.getMaximumBytes());
+        assertEquals(512 + 40 + 2 * 100, accounting.getChargedBytes(1, 100));
+        assertSame(BookLimits.NbtAccounting.NONE,
+                BookLimitsTable.forVersion(Version.from(1, 6, 4), false).getNbtAccounting());
+    }
+}
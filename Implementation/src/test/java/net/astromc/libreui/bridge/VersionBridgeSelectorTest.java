@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.bridge;
+
+import net.astromc.libreui.LibreUIPlugin;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.utils.version.Version;
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VersionBridgeSelectorTest {
+    private static final Version VERSION = Version.from(1, 12, 2);
+
+    private final VersionBridgeSelector selector =
+            new VersionBridgeSelector(Logger.getLogger(VersionBridgeSelectorTest.class.getName()));
+
+    private static VersionBridge workingBridge() {
+        return (player, book, plugin) -> {
+        };
+    }
+
+    private static VersionBridge brokenBridge() {
+        return new VersionBridge() {
+            @Override
+            public void openBook(Player player, Book book, LibreUIPlugin plugin) {
+            }
+
+            @Override
+            public void prepareBook(Book book) {
+                throw new IllegalStateException("broken");
+            }
+        };
+    }
+
+    private static VersionBridgeProvider unsupportedProvider() {
+        return version -> {
+            throw new UnsupportedVersionException("unsupported", version);
+        };
+    }
+
+    @Test
+    public void selectsTheFirstProviderInPriorityOrder() throws UnsupportedVersionException {
+        VersionBridge nativeBridge = workingBridge();
+        VersionBridge packetBridge = workingBridge();
+        Map<String, VersionBridgeProvider> providers = new LinkedHashMap<>();
+        providers.put("packet", version -> packetBridge);
+        providers.put("native", version -> nativeBridge);
+
+        assertSame(nativeBridge, this.selector.select(providers, Arrays.asList("native", "packet"), VERSION));
+        assertSame(packetBridge, this.selector.select(providers, Arrays.asList("Packet", "native"), VERSION));
+    }
+
+    @Test
+    public void skipsUnregisteredUnsupportedAndBrokenProviders() throws UnsupportedVersionException {
+        VersionBridge versatileBridge = workingBridge();
+        Map<String, VersionBridgeProvider> providers = new LinkedHashMap<>();
+        providers.put("native", unsupportedProvider());
+        providers.put("packet", version -> brokenBridge());
+        providers.put("versatile", version -> versatileBridge);
+
+        assertSame(versatileBridge, this.selector.select(providers,
+                Arrays.asList("missing", "native", "packet", "versatile"), VERSION));
+    }
+
+    @Test
+    public void failsWhenNoProviderWorks() {
+        Map<String, VersionBridgeProvider> providers = new LinkedHashMap<>();
+        providers.put("native", unsupportedProvider());
+        providers.put("versatile", version -> workingBridge());
+
+        try {
+            this.selector.select(providers, Collections.singletonList("native"), VERSION);
+            fail("Expected no provider to be selected");
+        } catch (UnsupportedVersionException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrequencySketchTest {
+
+    @Test
+    public void neverUnderestimatesFrequencies() {
+        FrequencySketch sketch = new FrequencySketch(64);
+
+        for (int key = 0; key < 100; key++) {
+            for (int i = 0; i <= key % 5; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (int key = 0; key < 100; key++) {
+            assertTrue(sketch.frequency(key) >= key % 5 + 1);
+        }
+    }
+
+    @Test
+    public void countersSaturate() {
+        FrequencySketch sketch = new FrequencySketch(64);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("key");
+        }
+
+        assertEquals(15, sketch.frequency("key"));
+    }
+
+    @Test
+    public void unseenKeyHasNoFrequency() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        sketch.increment("seen");
+
+        assertEquals(0, sketch.frequency("unseen"));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PayloadCacheTest {
+
+    /**
+     * Creates a cache with a window of weight 1, and a main
+     * segment of weight 100, whose payloads weigh their value.
+     */
+    private static PayloadCache<String, Integer> newCache() {
+        return new PayloadCache<>(101, (key, value) -> value);
+    }
+
+    private static void access(PayloadCache<String, Integer> cache, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            cache.getIfPresent(key);
+        }
+    }
+
+    @Test
+    public void admitsWhileMainSegmentHasRoom() {
+        PayloadCache<String, Integer> cache = newCache();
+        cache.put("a", 50);
+        cache.put("b", 50);
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(100, statistics.getWeightedSize());
+        assertEquals(0, statistics.getEvictionCount());
+    }
+
+    @Test
+    public void rejectedCandidateEvictsNothing() {
+        PayloadCache<String, Integer> cache = newCache();
+        cache.put("a", 50);
+        cache.put("b", 50);
+
+        // "b" is protected and more popular than the candidate, "a" is not
+        access(cache, "b", 3);
+        access(cache, "c", 2);
+
+        cache.put("c", 60);
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(100, statistics.getWeightedSize());
+        assertEquals(1, statistics.getEvictionCount());
+
+        assertNull(cache.getIfPresent("c"));
+        assertNotNull(cache.getIfPresent("a"));
+        assertNotNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void admittedCandidateEvictsAllVictims() {
+        PayloadCache<String, Integer> cache = newCache();
+        cache.put("a", 50);
+        cache.put("b", 50);
+
+        access(cache, "b", 3);
+        access(cache, "c", 5);
+
+        cache.put("c", 60);
+
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getEntryCount());
+        assertEquals(60, statistics.getWeightedSize());
+        assertEquals(2, statistics.getEvictionCount());
+
+        assertNotNull(cache.getIfPresent("c"));
+        assertNull(cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void candidateHeavierThanMainSegmentIsRejected() {
+        PayloadCache<String, Integer> cache = newCache();
+        cache.put("a", 50);
+
+        access(cache, "c", 15);
+        cache.put("c", 101);
+
+        assertNull(cache.getIfPresent("c"));
+        assertNotNull(cache.getIfPresent("a"));
+    }
+
+    @Test
+    public void heavierThanMaximumWeightIsNotCached() {
+        PayloadCache<String, Integer> cache = newCache();
+        cache.put("a", 102);
+
+        assertEquals(0, cache.getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void loaderResultIsCached() {
+        PayloadCache<String, Integer> cache = newCache();
+
+        assertEquals(Integer.valueOf(10), cache.get("a", key -> 10));
+        assertEquals(Integer.valueOf(10), cache.get("a", key -> 20));
+        assertEquals(1, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void offerKeepsCachedPayloadAndSkipsLoadListener() {
+        PayloadCache<String, Integer> cache = newCache();
+        StringBuilder loaded = new StringBuilder();
+        cache.setLoadListener((key, value) -> loaded.append(key));
+
+        assertEquals(Integer.valueOf(1), cache.get("a", key -> 1));
+        assertFalse(cache.offer("a", 2));
+        assertTrue(cache.offer("b", 3));
+
+        assertEquals(Integer.valueOf(1), cache.getIfPresent("a"));
+        assertEquals(Integer.valueOf(3), cache.getIfPresent("b"));
+        assertEquals("a", loaded.toString());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.cache.remote;
+
+import net.astromc.libreui.api.cache.RemotePayloadStore;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+import net.astromc.libreui.cache.PayloadCache;
+import net.astromc.libreui.cache.PayloadKey;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RemotePayloadTierTest {
+
+    private static final PayloadKey KEY = PayloadKey.of(42, 100);
+
+    private static final Logger LOGGER = Logger.getLogger(RemotePayloadTierTest.class.getName());
+
+    private static PayloadCodec<String> codec(String format) {
+        return new PayloadCodec<String>() {
+            @Override
+            public String getFormat() {
+                return format;
+            }
+
+            @Override
+            public byte[] encode(String payload) {
+                return payload.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] encodedPayload) {
+                return new String(encodedPayload, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    private static RemotePayloadTier<String> tier(RemotePayloadStore store, String format,
+                                                  PayloadCache<PayloadKey, String> cache, long timeoutMillis) {
+        return new RemotePayloadTier<>(store, false, ProtocolFamily.OPEN_BOOK_PACKET, codec(format),
+                cache, Runnable::run, timeoutMillis, LOGGER);
+    }
+
+    private static PayloadCache<PayloadKey, String> newCache() {
+        return new PayloadCache<>(1 << 20, (key, value) -> value.length());
+    }
+
+    @Test
+    public void loadedPayloadIsPreloadedElsewhereWithoutRendering() throws Exception {
+        RemotePayloadStore store = new InMemoryRemotePayloadStore(1 << 20);
+        PayloadCache<PayloadKey, String> renderingCache = newCache();
+        RemotePayloadTier<String> renderingTier = tier(store, "test", renderingCache, 1000);
+        renderingCache.setLoadListener(renderingTier::publish);
+
+        assertEquals("rendered", renderingCache.get(KEY, key -> "rendered"));
+
+        PayloadCache<PayloadKey, String> cache = newCache();
+        RemotePayloadTier<String> tier = tier(store, "test", cache, 1000);
+        AtomicInteger localRenders = new AtomicInteger();
+
+        tier.preload(KEY, localRenders::incrementAndGet);
+
+        assertEquals(0, localRenders.get());
+        assertEquals(1, tier.getHitCount());
+        assertEquals("rendered", cache.getIfPresent(KEY));
+
+        renderingTier.close();
+        tier.close();
+    }
+
+    @Test
+    public void incompatiblePayloadIsRenderedLocally() throws Exception {
+        RemotePayloadStore store = new InMemoryRemotePayloadStore(1 << 20);
+        RemotePayloadTier<String> otherTier = tier(store, "other", newCache(), 1000);
+        otherTier.publish(KEY, "rendered");
+        otherTier.publish(PayloadKey.of(7, 100), "rendered");
+
+        PayloadCache<PayloadKey, String> cache = newCache();
+        RemotePayloadTier<String> tier = tier(store, "test", cache, 1000);
+        AtomicInteger localRenders = new AtomicInteger();
+
+        tier.preload(KEY, localRenders::incrementAndGet);
+
+        assertEquals(1, localRenders.get());
+        assertEquals(1, tier.getMissCount());
+        assertFalse(cache.containsKey(KEY));
+
+        otherTier.close();
+        tier.close();
+    }
+
+    @Test
+    public void slowStoreIsRenderedLocallyAfterTimeout() throws Exception {
+        RemotePayloadStore store = new RemotePayloadStore() {
+            @Override
+            public CompletionStage<Optional<byte[]>> get(long contentHash, ProtocolFamily family) {
+                return new CompletableFuture<>();
+            }
+
+            @Override
+            public CompletionStage<Void> put(long contentHash, ProtocolFamily family, byte[] payload) {
+                return new CompletableFuture<>();
+            }
+        };
+        RemotePayloadTier<String> tier = tier(store, "test", newCache(), 10);
+        CountDownLatch localRender = new CountDownLatch(1);
+
+        tier.preload(KEY, localRender::countDown);
+
+        assertTrue(localRender.await(5, TimeUnit.SECONDS));
+        tier.close();
+    }
+
+    @Test
+    public void cachedPayloadIsNotLookedUp() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        RemotePayloadStore store = new RemotePayloadStore() {
+            @Override
+            public CompletionStage<Optional<byte[]>> get(long contentHash, ProtocolFamily family) {
+                lookups.incrementAndGet();
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+
+            @Override
+            public CompletionStage<Void> put(long contentHash, ProtocolFamily family, byte[] payload) {
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        PayloadCache<PayloadKey, String> cache = newCache();
+        cache.put(KEY, "cached");
+
+        RemotePayloadTier<String> tier = tier(store, "test", cache, 1000);
+        tier.preload(KEY, () -> {
+            throw new AssertionError("cached payload was rendered");
+        });
+
+        assertEquals(0, lookups.get());
+        tier.close();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PlayerTaskScheduler} running every task directly on the
+ * calling thread, which is considered to own every player. The players
+ * the tasks were executed for are recorded, so tests may check how
+ * player interactions are routed.
+ */
+public final class DirectPlayerTaskScheduler implements PlayerTaskScheduler {
+    private final List<Player> executedPlayers = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public boolean isOwningThread(Player player) {
+        return true;
+    }
+
+    @Override
+    public void execute(Player player, Runnable task) {
+        this.executedPlayers.add(player);
+        task.run();
+    }
+
+    @Override
+    public void runAsyncRepeating(Runnable task, long delay, long period, TimeUnit unit) {
+        task.run();
+    }
+
+    @Override
+    public void runGlobalLater(Runnable task, long delay, TimeUnit unit) {
+        task.run();
+    }
+
+    /**
+     * Returns the players tasks were executed for, in order.
+     *
+     * @return the players tasks were executed for
+     */
+    public List<Player> getExecutedPlayers() {
+        return new ArrayList<>(this.executedPlayers);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.scheduling;
+
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TickBudgetExecutorTest {
+
+    /**
+     * A scheduler queuing the global tasks, which are only run when
+     * the test ticks it.
+     */
+    private static final class TickingScheduler implements PlayerTaskScheduler {
+        private final List<Runnable> globalTasks = new ArrayList<>();
+
+        @Override
+        public boolean isOwningThread(Player player) {
+            return true;
+        }
+
+        @Override
+        public void execute(Player player, Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void runAsyncRepeating(Runnable task, long delay, long period, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void runGlobalLater(Runnable task, long delay, TimeUnit unit) {
+            this.globalTasks.add(task);
+        }
+
+        private void tick() {
+            List<Runnable> tasks = new ArrayList<>(this.globalTasks);
+            this.globalTasks.clear();
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    private static TickBudgetExecutor newExecutor(TickingScheduler scheduler, long budgetMillis) {
+        return new TickBudgetExecutor(scheduler, budgetMillis, TimeUnit.MILLISECONDS,
+                Logger.getLogger(TickBudgetExecutorTest.class.getName()));
+    }
+
+    @Test
+    public void runsNothingBeforeTheNextTick() {
+        TickingScheduler scheduler = new TickingScheduler();
+        TickBudgetExecutor executor = newExecutor(scheduler, 0);
+        List<Integer> ran = new ArrayList<>();
+
+        executor.execute(() -> ran.add(0));
+        executor.execute(() -> ran.add(1));
+
+        assertTrue(ran.isEmpty());
+        assertEquals(1, scheduler.globalTasks.size());
+    }
+
+    @Test
+    public void spentBudgetDefersTheRemainingTasks() {
+        TickingScheduler scheduler = new TickingScheduler();
+        TickBudgetExecutor executor = newExecutor(scheduler, 0);
+        List<Integer> ran = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            int task = i;
+            executor.execute(() -> ran.add(task));
+        }
+
+        for (int tick = 1; tick <= 3; tick++) {
+            scheduler.tick();
+            assertEquals(tick, ran.size());
+        }
+
+        assertEquals(0, executor.getQueuedTaskCount());
+        assertTrue(scheduler.globalTasks.isEmpty());
+    }
+
+    @Test
+    public void runsTasksInSubmissionOrderWithinBudget() {
+        TickingScheduler scheduler = new TickingScheduler();
+        TickBudgetExecutor executor = newExecutor(scheduler, TimeUnit.MINUTES.toMillis(1));
+        List<Integer> ran = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            executor.execute(() -> ran.add(task));
+        }
+
+        scheduler.tick();
+
+        assertEquals(5, ran.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, (int) ran.get(i));
+        }
+    }
+
+    @Test
+    public void failingTaskDoesNotStopTheFollowingTasks() {
+        TickingScheduler scheduler = new TickingScheduler();
+        TickBudgetExecutor executor = newExecutor(scheduler, TimeUnit.MINUTES.toMillis(1));
+        List<Integer> ran = new ArrayList<>();
+
+        executor.execute(() -> {
+            throw new IllegalStateException("failing task");
+        });
+        executor.execute(() -> ran.add(1));
+
+        scheduler.tick();
+
+        assertEquals(1, ran.size());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shutdownDiscardsAndRejectsTasks() {
+        TickingScheduler scheduler = new TickingScheduler();
+        TickBudgetExecutor executor = newExecutor(scheduler, 0);
+
+        executor.execute(() -> {
+            throw new AssertionError("discarded task ran");
+        });
+        executor.shutdown();
+        scheduler.tick();
+
+        assertEquals(0, executor.getQueuedTaskCount());
+        executor.execute(() -> {
+        });
+    }
+}
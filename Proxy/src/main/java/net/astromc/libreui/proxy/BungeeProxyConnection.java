@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.connection.Server;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * A {@link ProxyConnection} of a BungeeCord player. Packets are written
+ * to the netty channel of the player, as raw buffers holding the packet
+ * id and body, which pass the packet encoder of the pipeline untouched,
+ * and are framed, compressed and encrypted like any other packet. The
+ * channel is not part of the BungeeCord API, hence it is accessed
+ * through handles resolved from the player implementation, once.
+ */
+final class BungeeProxyConnection implements ProxyConnection {
+    /**
+     * <tt>(Object)Object</tt> handles of the channel wrapper getter of
+     * the player, the channel getter of the wrapper, the buffer factory
+     * and the write method of the channel, resolved on the first write.
+     */
+    private static volatile MethodHandle[] channelAccessors;
+
+    private final ProxiedPlayer player;
+    private final int heldSlot;
+
+    BungeeProxyConnection(ProxiedPlayer player, int heldSlot) {
+        this.player = Objects.requireNonNull(player, "player");
+        this.heldSlot = heldSlot;
+    }
+
+    @Override
+    public int getProtocolVersion() {
+        return this.player.getPendingConnection().getVersion();
+    }
+
+    @Override
+    public int getHeldSlot() {
+        return heldSlot;
+    }
+
+    @Override
+    public void sendPacket(int packetId, byte[] body) {
+        ByteArrayOutputStream packet = new ByteArrayOutputStream(5 + body.length);
+
+        while ((packetId & ~0x7F) != 0) {
+            packet.write((packetId & 0x7F) | 0x80);
+            packetId >>>= 7;
+        }
+
+        packet.write(packetId);
+        packet.write(body, 0, body.length);
+
+        MethodHandle[] accessors = resolveChannelAccessors(this.player);
+
+        try {
+            Object channel = accessors[1].invoke(accessors[0].invoke(this.player));
+            accessors[3].invoke(channel, accessors[2].invoke(packet.toByteArray()));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Unable to send packet to " + this.player.getName(), e);
+        }
+    }
+
+    @Override
+    public void sendPluginMessage(String channel, byte[] data) {
+        this.player.sendData(channel, data);
+    }
+
+    @Override
+    public void sendToServer(String channel, byte[] data) {
+        Server server = this.player.getServer();
+
+        if (server != null) {
+            server.sendData(channel, data);
+        }
+    }
+
+    private static MethodHandle[] resolveChannelAccessors(ProxiedPlayer player) {
+        MethodHandle[] accessors = channelAccessors;
+
+        if (accessors == null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                ClassLoader classLoader = player.getClass().getClassLoader();
+
+                Method channelWrapperGetter = player.getClass().getMethod("getCh");
+                Method channelGetter = channelWrapperGetter.getReturnType().getMethod("getHandle");
+                Class<?> byteBufClass = Class.forName("io.netty.buffer.ByteBuf", false, classLoader);
+                Class<?> unpooledClass = Class.forName("io.netty.buffer.Unpooled", false, classLoader);
+                Class<?> outboundInvokerClass = Class.forName("io.netty.channel.ChannelOutboundInvoker", false, classLoader);
+
+                accessors = new MethodHandle[] {
+                        lookup.unreflect(channelWrapperGetter),
+                        lookup.unreflect(channelGetter),
+                        lookup.findStatic(unpooledClass, "wrappedBuffer", MethodType.methodType(byteBufClass, byte[].class)),
+                        lookup.findVirtual(outboundInvokerClass, "writeAndFlush",
+                                MethodType.methodType(Class.forName("io.netty.channel.ChannelFuture", false, classLoader), Object.class))
+                };
+            } catch (ReflectiveOperationException e) {
+                throw new UnsupportedOperationException("Unable to access the channel of " + player.getClass().getName(), e);
+            }
+
+            channelAccessors = accessors;
+        }
+
+        return accessors;
+    }
+}
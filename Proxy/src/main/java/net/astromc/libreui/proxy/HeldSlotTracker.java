@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import net.astromc.libreui.api.protocol.ProxyChannel;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.connection.Server;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.event.PluginMessageEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.event.EventHandler;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the held hotbar slot of every player, as reported by the
+ * servers through the {@link ProxyChannel}. Messages on the channel
+ * are never forwarded, so clients can neither see nor forge them.
+ */
+public final class HeldSlotTracker implements Listener {
+    private final Map<UUID, Integer> heldSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the held hotbar slot of the <tt>player</tt>, or the
+     * first slot, if it has not been reported yet.
+     *
+     * @param player the player
+     * @return the held hotbar slot, from 0 to 8
+     */
+    public int getHeldSlot(ProxiedPlayer player) {
+        return this.heldSlots.getOrDefault(player.getUniqueId(), 0);
+    }
+
+    @EventHandler
+    public void onPluginMessage(PluginMessageEvent event) {
+        if (!event.getTag().equals(ProxyChannel.NAME)) {
+            return;
+        }
+
+        event.setCancelled(true);
+
+        if (!(event.getSender() instanceof Server) || !(event.getReceiver() instanceof ProxiedPlayer)) {
+            return;
+        }
+
+        byte[] data = event.getData();
+
+        if (data.length == 2 && data[0] == ProxyChannel.HELD_SLOT_MESSAGE && data[1] >= 0 && data[1] <= 8) {
+            this.heldSlots.put(((ProxiedPlayer) event.getReceiver()).getUniqueId(), (int) data[1]);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+        this.heldSlots.remove(event.getPlayer().getUniqueId());
+    }
+}
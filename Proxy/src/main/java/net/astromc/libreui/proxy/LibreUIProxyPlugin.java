@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.protocol.ProxyChannel;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.plugin.Plugin;
+
+import java.util.logging.Level;
+
+/**
+ * The BungeeCord plugin of LibreUI, opening books to players directly
+ * from the proxy. Rendered books are cached on the proxy, so network
+ * wide books, such as server selectors and announcements, are neither
+ * forwarded to, nor rendered by the servers. The servers behind the
+ * proxy must run LibreUI with <tt>proxy.enabled</tt> set, to report
+ * the held slots, and restore the inventories after books are opened.
+ * <p/>
+ *
+ * Other plugins retrieve the instance through the plugin manager of
+ * the proxy, by the name of this plugin.
+ */
+public final class LibreUIProxyPlugin extends Plugin {
+    /**
+     * The maximum total size of the cached rendered books, in bytes.
+     */
+    private static final long RENDERED_BOOKS_MAXIMUM_WEIGHT = 16 * 1024 * 1024;
+
+    private HeldSlotTracker heldSlotTracker;
+
+    private ProxyBookOpener bookOpener;
+
+    @Override
+    public void onEnable() {
+        this.heldSlotTracker = new HeldSlotTracker();
+        this.bookOpener = new ProxyBookOpener(new ProxyBookRenderer(RENDERED_BOOKS_MAXIMUM_WEIGHT));
+
+        this.getProxy().registerChannel(ProxyChannel.NAME);
+        this.getProxy().getPluginManager().registerListener(this, this.heldSlotTracker);
+    }
+
+    /**
+     * Returns whether books can be opened from the proxy to the
+     * <tt>player</tt>. Books for other players are opened by a server.
+     *
+     * @param player the player being checked
+     * @return true if books can be opened to the player
+     */
+    public boolean canOpenBook(ProxiedPlayer player) {
+        return ProxyBookOpener.isSupported(player.getPendingConnection().getVersion());
+    }
+
+    /**
+     * Opens the <tt>book</tt> to the <tt>player</tt>. If the book has
+     * pending pages, the book is opened once they have been fetched.
+     *
+     * @param player the player opening the book to
+     * @param book the book being opened
+     * @throws UnsupportedOperationException if books cannot be opened
+     * from the proxy to the player, as checked by {@link #canOpenBook(ProxiedPlayer)}
+     */
+    public void openBook(ProxiedPlayer player, Book book) throws UnsupportedOperationException {
+        if (!this.canOpenBook(player)) {
+            throw new UnsupportedOperationException(
+                    "Books cannot be opened from the proxy to " + player.getName());
+        }
+
+        if (book.hasPendingPages()) {
+            book.fetchPendingPages().thenAccept(fetchedBook -> {
+                if (player.isConnected()) {
+                    this.openBookNow(player, fetchedBook);
+                }
+            });
+            return;
+        }
+
+        this.openBookNow(player, book);
+    }
+
+    private void openBookNow(ProxiedPlayer player, Book book) {
+        try {
+            this.bookOpener.openBook(new BungeeProxyConnection(player, this.heldSlotTracker.getHeldSlot(player)), book);
+        } catch (RuntimeException e) {
+            this.getLogger().log(Level.WARNING, "Unable to open book to " + player.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ProxyConnection} stand-in, which records everything sent
+ * through it, rather than sending it to a client. Used to exercise
+ * the {@link ProxyBookOpener} without a running proxy.
+ */
+public final class LocalProxyConnection implements ProxyConnection {
+    private final int protocolVersion;
+    private final int heldSlot;
+
+    private final List<Message> sentMessages = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Constructs a new <tt>LocalProxyConnection</tt>.
+     *
+     * @param protocolVersion the protocol version of the simulated client
+     * @param heldSlot the held hotbar slot of the simulated client
+     */
+    public LocalProxyConnection(int protocolVersion, int heldSlot) {
+        this.protocolVersion = protocolVersion;
+        this.heldSlot = heldSlot;
+    }
+
+    @Override
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    @Override
+    public int getHeldSlot() {
+        return heldSlot;
+    }
+
+    @Override
+    public void sendPacket(int packetId, byte[] body) {
+        this.sentMessages.add(new Message(Message.Target.CLIENT, "packet:" + packetId, body));
+    }
+
+    @Override
+    public void sendPluginMessage(String channel, byte[] data) {
+        this.sentMessages.add(new Message(Message.Target.CLIENT, channel, data));
+    }
+
+    @Override
+    public void sendToServer(String channel, byte[] data) {
+        this.sentMessages.add(new Message(Message.Target.SERVER, channel, data));
+    }
+
+    /**
+     * Returns the messages sent through this connection, in the
+     * order they were sent.
+     *
+     * @return a copy of the sent messages
+     */
+    public List<Message> getSentMessages() {
+        synchronized (this.sentMessages) {
+            return new ArrayList<>(this.sentMessages);
+        }
+    }
+
+    /**
+     * A packet or plugin message sent through a {@link LocalProxyConnection}.
+     * Packets are recorded on the <tt>packet:&lt;id&gt;</tt> channel.
+     */
+    public static final class Message {
+        /**
+         * The side of the connection a message is sent to.
+         */
+        public enum Target {
+            CLIENT,
+            SERVER
+        }
+
+        private final Target target;
+        private final String channel;
+        private final byte[] data;
+
+        private Message(Target target, String channel, byte[] data) {
+            this.target = target;
+            this.channel = channel;
+            this.data = data.clone();
+        }
+
+        public Target getTarget() {
+            return target;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public byte[] getData() {
+            return data.clone();
+        }
+
+        @Override
+        public String toString() {
+            return this.target + " " + this.channel + " (" + this.data.length + " bytes)";
+        }
+    }
+}
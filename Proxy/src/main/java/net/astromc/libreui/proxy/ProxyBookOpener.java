@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.protocol.ProtocolFamily;
+import net.astromc.libreui.api.protocol.ProxyChannel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Opens books to clients from the proxy, without involving the
+ * LibreUI service of a server. The book is rendered by a {@link
+ * ProxyBookRenderer}, and sent to the held slot of the client in a
+ * <tt>SetSlot</tt> packet, after which the client is told to open
+ * the book in its hand, as described by its {@link ProtocolFamily}.
+ * The server is then requested to send the inventory again, which
+ * restores the original item of the held slot.
+ */
+public final class ProxyBookOpener {
+    /**
+     * The id of the player inventory window.
+     */
+    private static final int PLAYER_INVENTORY_WINDOW_ID = 0;
+
+    private static final byte[] RESYNC_INVENTORY_MESSAGE = new byte[] {ProxyChannel.RESYNC_INVENTORY_MESSAGE};
+
+    private final ProxyBookRenderer renderer;
+
+    /**
+     * Constructs a new <tt>ProxyBookOpener</tt>.
+     *
+     * @param renderer the renderer of the books
+     */
+    public ProxyBookOpener(ProxyBookRenderer renderer) {
+        this.renderer = Objects.requireNonNull(renderer, "renderer");
+    }
+
+    /**
+     * Returns whether books can be opened from the proxy, to
+     * clients of the <tt>protocolVersion</tt>.
+     *
+     * @param protocolVersion the client protocol version
+     * @return true if books can be opened to the clients
+     */
+    public static boolean isSupported(int protocolVersion) {
+        return ProxyPacketFormat.forProtocolVersion(protocolVersion).isPresent();
+    }
+
+    /**
+     * Opens the <tt>book</tt> through the <tt>connection</tt>. The book
+     * must not have pending pages.
+     *
+     * @param connection the connection of the client
+     * @param book the book being opened
+     * @throws UnsupportedOperationException if books cannot be opened
+     * to clients of the connection protocol version
+     * @throws IllegalStateException if the book cannot be rendered
+     */
+    public void openBook(ProxyConnection connection, Book book)
+            throws UnsupportedOperationException, IllegalStateException {
+        int protocolVersion = connection.getProtocolVersion();
+        ProxyPacketFormat format = ProxyPacketFormat.forProtocolVersion(protocolVersion)
+                .orElseThrow(() -> new UnsupportedOperationException(
+                        "Books cannot be opened from the proxy to protocol version " + protocolVersion));
+        ProtocolFamily family = ProtocolFamily.fromProtocolVersion(protocolVersion);
+
+        connection.sendPacket(format.getSetSlotPacketId(),
+                encodeSetSlot(ProxyPacketFormat.FIRST_HOTBAR_SLOT + connection.getHeldSlot(), this.renderer.render(book)));
+        String openBookChannel = family.getOpenBookChannel()
+                .orElseThrow(() -> new IllegalStateException(family + " has no open book channel"));
+
+        connection.sendPluginMessage(openBookChannel, family.getOpenBookMessage());
+        connection.sendToServer(ProxyChannel.NAME, RESYNC_INVENTORY_MESSAGE);
+    }
+
+    private static byte[] encodeSetSlot(int slot, byte[] itemStack) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(3 + itemStack.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeByte(PLAYER_INVENTORY_WINDOW_ID);
+            out.writeShort(slot);
+            out.write(itemStack);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+}
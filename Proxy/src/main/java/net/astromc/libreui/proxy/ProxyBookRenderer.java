@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.gson.JsonParser;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.Page;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Renders books to the encoded written book item stacks sent to the
+ * clients, and caches them by the JSON representation of the book,
+ * weighted by their encoded size. The item stack is encoded directly,
+ * including its NBT data, in the format shared by all supported
+ * {@link ProxyPacketFormat}s.
+ */
+public final class ProxyBookRenderer {
+    private static final byte TAG_END = 0;
+    private static final byte TAG_BYTE = 1;
+    private static final byte TAG_STRING = 8;
+    private static final byte TAG_LIST = 9;
+    private static final byte TAG_COMPOUND = 10;
+
+    private final Cache<String, byte[]> itemStacks;
+
+    /**
+     * Constructs a new <tt>ProxyBookRenderer</tt>.
+     *
+     * @param maximumWeight the maximum total size of the cached item stacks, in bytes
+     */
+    public ProxyBookRenderer(long maximumWeight) {
+        this.itemStacks = CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String jsonRepresentation, byte[] itemStack) -> itemStack.length)
+                .build();
+    }
+
+    /**
+     * Returns the encoded written book item stack of the <tt>book</tt>,
+     * rendering it, if it is not cached.
+     *
+     * @param book the book being rendered
+     * @return the encoded item stack, which must not be modified
+     * @throws IllegalStateException if the book cannot be encoded
+     */
+    public byte[] render(Book book) throws IllegalStateException {
+        try {
+            return this.itemStacks.get(book.getJsonRepresentation(), () -> encodeItemStack(book));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IllegalStateException) {
+                throw (IllegalStateException) cause;
+            }
+
+            throw new IllegalStateException("Unable to render book", cause);
+        }
+    }
+
+    /**
+     * Discards all cached item stacks.
+     */
+    public void invalidateAll() {
+        this.itemStacks.invalidateAll();
+    }
+
+    /**
+     * Encodes the written book item stack of the <tt>book</tt>, as a
+     * legacy numeric item id, a count, a damage value, and the NBT
+     * compound holding the pages of the book.
+     */
+    private static byte[] encodeItemStack(Book book) {
+        List<String> pages = book.getPagesAsStream()
+                .map(ProxyBookRenderer::toComponentJson)
+                .collect(Collectors.toList());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        try {
+            out.writeShort(ProxyPacketFormat.WRITTEN_BOOK_ITEM_ID);
+            out.writeByte(1);
+            out.writeShort(0);
+
+            out.writeByte(TAG_COMPOUND);
+            out.writeUTF("");
+
+            out.writeByte(TAG_LIST);
+            out.writeUTF("pages");
+            out.writeByte(TAG_STRING);
+            out.writeInt(pages.size());
+
+            for (String page : pages) {
+                out.writeUTF(page);
+            }
+
+            out.writeByte(TAG_STRING);
+            out.writeUTF("author");
+            out.writeUTF("");
+
+            out.writeByte(TAG_STRING);
+            out.writeUTF("title");
+            out.writeUTF("");
+
+            out.writeByte(TAG_BYTE);
+            out.writeUTF("resolved");
+            out.writeByte(1);
+
+            out.writeByte(TAG_END);
+        } catch (UTFDataFormatException e) {
+            throw new IllegalStateException("Page is too long to be encoded", e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the component JSON of the <tt>page</tt>, as its JSON
+     * representation is a JSON string holding the component JSON.
+     */
+    private static String toComponentJson(Page page) {
+        return new JsonParser().parse(page.getJsonRepresentation()).getAsString();
+    }
+}
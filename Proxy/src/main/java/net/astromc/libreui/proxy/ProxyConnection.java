@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+/**
+ * A client connection on the proxy, through which books are opened.
+ * The connection is abstracted from the proxy implementation, so the
+ * {@link ProxyBookOpener} can be used with a {@link LocalProxyConnection}
+ * stand-in, without a running proxy.
+ */
+public interface ProxyConnection {
+    /**
+     * Returns the protocol version spoken by the client.
+     *
+     * @return the client protocol version
+     */
+    int getProtocolVersion();
+
+    /**
+     * Returns the held hotbar slot of the client, from 0 to 8,
+     * as last reported by the server.
+     *
+     * @return the held hotbar slot
+     */
+    int getHeldSlot();
+
+    /**
+     * Sends a packet to the client. The packet is framed, compressed
+     * and encrypted by the connection, like any other packet.
+     *
+     * @param packetId the id of the packet, in the client protocol
+     * @param body the encoded fields of the packet
+     */
+    void sendPacket(int packetId, byte[] body);
+
+    /**
+     * Sends a plugin message to the client.
+     *
+     * @param channel the channel of the message
+     * @param data the message
+     */
+    void sendPluginMessage(String channel, byte[] data);
+
+    /**
+     * Sends a plugin message to the server the client is connected to.
+     *
+     * @param channel the channel of the message
+     * @param data the message
+     */
+    void sendToServer(String channel, byte[] data);
+}
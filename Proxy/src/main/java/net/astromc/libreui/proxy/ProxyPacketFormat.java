@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.astromc.libreui.proxy;
+
+import java.util.Optional;
+
+/**
+ * The client protocol versions, for which the {@link ProxyBookOpener}
+ * knows the encoding of the packets it sends. From protocol version 393
+ * (Minecraft 1.13) items are identified by registry ids, which change
+ * with every release, so books for newer clients are opened by a server.
+ */
+enum ProxyPacketFormat {
+    /**
+     * Minecraft 1.8 to 1.8.9.
+     */
+    V1_8(47, 0x2F),
+    /**
+     * Minecraft 1.9 to 1.12.2.
+     */
+    V1_9(107, 0x16);
+
+    /**
+     * The first protocol version without a packet format.
+     */
+    private static final int FIRST_UNSUPPORTED_PROTOCOL_VERSION = 393;
+
+    /**
+     * The legacy numeric id of the written book item.
+     */
+    static final short WRITTEN_BOOK_ITEM_ID = 387;
+
+    /**
+     * The slot index of the first hotbar slot, in the player
+     * inventory window.
+     */
+    static final int FIRST_HOTBAR_SLOT = 36;
+
+    private final int minimumProtocolVersion;
+    private final int setSlotPacketId;
+
+    ProxyPacketFormat(int minimumProtocolVersion, int setSlotPacketId) {
+        this.minimumProtocolVersion = minimumProtocolVersion;
+        this.setSlotPacketId = setSlotPacketId;
+    }
+
+    /**
+     * Returns the id of the clientbound <tt>SetSlot</tt> packet.
+     *
+     * @return the set slot packet id
+     */
+    int getSetSlotPacketId() {
+        return setSlotPacketId;
+    }
+
+    /**
+     * Returns the packet format of the <tt>protocolVersion</tt>, or an
+     * empty {@link Optional} if the protocol version is not supported.
+     *
+     * @param protocolVersion the client protocol version
+     * @return the packet format, if supported
+     */
+    static Optional<ProxyPacketFormat> forProtocolVersion(int protocolVersion) {
+        if (protocolVersion >= FIRST_UNSUPPORTED_PROTOCOL_VERSION) {
+            return Optional.empty();
+        }
+
+        ProxyPacketFormat[] formats = values();
+
+        for (int i = formats.length - 1; i >= 0; i--) {
+            if (protocolVersion >= formats[i].minimumProtocolVersion) {
+                return Optional.of(formats[i]);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
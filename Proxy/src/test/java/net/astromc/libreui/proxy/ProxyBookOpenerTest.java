@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 Abstraction
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package net.astromc.libreui.proxy;
+
+import com.google.gson.JsonParser;
+import net.astromc.libreui.api.book.Book;
+import net.astromc.libreui.api.book.page.Page;
+import net.astromc.libreui.api.book.page.PageWriter;
+import net.astromc.libreui.api.protocol.ProxyChannel;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProxyBookOpenerTest {
+    private static final int HELD_SLOT = 3;
+
+    private final ProxyBookOpener opener = new ProxyBookOpener(new ProxyBookRenderer(1 << 20));
+
+    private static Page page(String text) {
+        return new PageWriter().text(text).build();
+    }
+
+    private static Book book() {
+        return new Book.Builder(page("first page"))
+                .addPage(page("second page, with \"quotes\" and é"))
+                .build();
+    }
+
+    /**
+     * Encodes the body of the <tt>SetSlot</tt> packet expected for the
+     * <tt>book</tt>, as the window id, the slot and the written book item
+     * stack with its NBT compound.
+     */
+    private static byte[] expectedSetSlot(Book book, int slot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(0);
+        out.writeShort(slot);
+
+        out.writeShort(387);
+        out.writeByte(1);
+        out.writeShort(0);
+
+        out.writeByte(10);
+        out.writeUTF("");
+
+        out.writeByte(9);
+        out.writeUTF("pages");
+        out.writeByte(8);
+        out.writeInt(book.getPageCount());
+
+        for (int index = 0; index < book.getPageCount(); index++) {
+            out.writeUTF(new JsonParser().parse(book.getPage(index).getJsonRepresentation()).getAsString());
+        }
+
+        out.writeByte(8);
+        out.writeUTF("author");
+        out.writeUTF("");
+
+        out.writeByte(8);
+        out.writeUTF("title");
+        out.writeUTF("");
+
+        out.writeByte(1);
+        out.writeUTF("resolved");
+        out.writeByte(1);
+
+        out.writeByte(0);
+        return bytes.toByteArray();
+    }
+
+    private static void assertMessage(LocalProxyConnection.Message message, LocalProxyConnection.Message.Target target,
+                                      String channel, byte[] data) {
+        assertEquals(target, message.getTarget());
+        assertEquals(channel, message.getChannel());
+        assertArrayEquals(data, message.getData());
+    }
+
+    private List<LocalProxyConnection.Message> openBook(int protocolVersion) {
+        LocalProxyConnection connection = new LocalProxyConnection(protocolVersion, HELD_SLOT);
+        this.opener.openBook(connection, book());
+        return connection.getSentMessages();
+    }
+
+    @Test
+    public void opensBookToLegacyClients() throws IOException {
+        List<LocalProxyConnection.Message> messages = this.openBook(47);
+
+        assertEquals(3, messages.size());
+        assertMessage(messages.get(0), LocalProxyConnection.Message.Target.CLIENT,
+                "packet:" + 0x2F, expectedSetSlot(book(), 36 + HELD_SLOT));
+        assertMessage(messages.get(1), LocalProxyConnection.Message.Target.CLIENT,
+                "MC|BOpen", new byte[0]);
+        assertMessage(messages.get(2), LocalProxyConnection.Message.Target.SERVER,
+                ProxyChannel.NAME, new byte[] {ProxyChannel.RESYNC_INVENTORY_MESSAGE});
+    }
+
+    @Test
+    public void opensBookToDualWieldingClients() throws IOException {
+        byte[] setSlot = expectedSetSlot(book(), 36 + HELD_SLOT);
+
+        for (int protocolVersion = 107; protocolVersion <= 340; protocolVersion++) {
+            List<LocalProxyConnection.Message> messages = this.openBook(protocolVersion);
+
+            assertEquals(3, messages.size());
+            assertMessage(messages.get(0), LocalProxyConnection.Message.Target.CLIENT,
+                    "packet:" + 0x16, setSlot);
+            assertMessage(messages.get(1), LocalProxyConnection.Message.Target.CLIENT,
+                    "MC|BOpen", new byte[] {0});
+            assertMessage(messages.get(2), LocalProxyConnection.Message.Target.SERVER,
+                    ProxyChannel.NAME, new byte[] {ProxyChannel.RESYNC_INVENTORY_MESSAGE});
+        }
+    }
+
+    @Test
+    public void sendsBookToHeldSlot() throws IOException {
+        for (int heldSlot = 0; heldSlot < 9; heldSlot++) {
+            LocalProxyConnection connection = new LocalProxyConnection(47, heldSlot);
+            this.opener.openBook(connection, book());
+
+            assertArrayEquals(expectedSetSlot(book(), 36 + heldSlot), connection.getSentMessages().get(0).getData());
+        }
+    }
+
+    @Test
+    public void rejectsUnsupportedClientsWithoutSending() {
+        for (int protocolVersion : new int[] {5, 46, 393, 498}) {
+            LocalProxyConnection connection = new LocalProxyConnection(protocolVersion, HELD_SLOT);
+
+            try {
+                this.opener.openBook(connection, book());
+                fail("Expected protocol version " + protocolVersion + " to be unsupported");
+            } catch (UnsupportedOperationException expected) {
+                // expected
+            }
+
+            assertTrue(connection.getSentMessages().isEmpty());
+        }
+    }
+}